@@ -0,0 +1,85 @@
+package com.hadoken.framework.redis.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * 二级缓存的失效广播，基于 Redis 发布/订阅。
+ * <p>
+ * 任一节点写入或删除缓存后广播失效消息，其他节点收到后丢弃本地一级缓存中的对应条目；
+ * 节点忽略自己发出的消息。发布/订阅不保证送达，订阅断开期间错过的失效由一级缓存的 TTL 兜底。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/20 10:10
+ */
+@Slf4j
+public class CacheInvalidationBus implements DisposableBean {
+
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChannelTopic topic;
+    private final RedisMessageListenerContainer container;
+    /**
+     * 本节点标识，用于忽略自己发出的消息
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.topic = new ChannelTopic(channel);
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        this.container.afterPropertiesSet();
+        this.container.start();
+    }
+
+    /**
+     * 广播失效消息。发布失败只记录日志：二级缓存已经写入，其他节点的一级缓存最迟在 TTL 到期后失效。
+     *
+     * @param cacheName 缓存名
+     * @param key       一级缓存的 key，为 null 时表示清空整个缓存
+     */
+    public void publish(String cacheName, String key) {
+        String body = nodeId + '\n' + cacheName + '\n' + (key == null ? CLEAR : EVICT + key);
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), body);
+        } catch (Exception e) {
+            log.warn("广播缓存失效消息失败，cache: [{}], key: [{}]", cacheName, key, e);
+        }
+    }
+
+    /**
+     * 订阅其他节点发出的失效消息。
+     *
+     * @param listener 参数依次为缓存名和 key，key 为 null 表示清空整个缓存
+     */
+    public void subscribe(BiConsumer<String, String> listener) {
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            String[] parts = body.split("\n", 3);
+            if (parts.length < 3 || nodeId.equals(parts[0]) || parts[2].isEmpty()) {
+                return;
+            }
+            try {
+                listener.accept(parts[1], parts[2].startsWith(EVICT) ? parts[2].substring(1) : null);
+            } catch (Exception e) {
+                log.warn("处理缓存失效消息失败: {}", body, e);
+            }
+        }, topic);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+}
@@ -0,0 +1,36 @@
+package com.hadoken.framework.redis.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * 为 {@code @Cacheable} / {@code @CachePut} 写入的缓存条目单独指定 TTL，优先于 hadoken.redis.key-ttl 和默认配置。
+ * <p>
+ * 与缓存注解标注在同一个方法上，例如：
+ * <pre>
+ * &#64;Cacheable("user:detail")
+ * &#64;CacheTtl(expression = "#result.vip ? 'PT1H' : 'PT5M'")
+ * public UserDTO getUser(Long id) { ... }
+ * </pre>
+ * 两个属性都为空或计算结果为空时使用缓存本身的 TTL。只对同步返回的方法生效。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/21 10:15
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheTtl {
+
+    /**
+     * 固定的 TTL，如 "10m"、"PT30S"，0 表示永不过期。
+     */
+    String value() default "";
+
+    /**
+     * 计算 TTL 的 SpEL 表达式，优先于 {@link #value()}。
+     * 可以引用方法参数（按参数名、#p0 或 #a0）以及返回值 #result；
+     * 结果可以是 {@link java.time.Duration}、数字（秒）或时长字符串。
+     */
+    String expression() default "";
+}
@@ -0,0 +1,43 @@
+package com.hadoken.framework.redis.cache;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+
+import java.lang.reflect.Method;
+
+/**
+ * 记录缓存注解方法的调用，供 {@link CacheTtlResolver} 在写入缓存时计算 {@link CacheTtl}。
+ * 必须位于缓存拦截器的外层（优先级更高），这样缓存写入发生在本切面的调用范围之内。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/21 10:35
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheTtlAspect {
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable) " +
+            "|| @annotation(org.springframework.cache.annotation.CachePut) " +
+            "|| @annotation(com.hadoken.framework.redis.cache.CacheTtl)")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object target = joinPoint.getTarget();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (target != null) {
+            method = AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(target));
+        }
+        CacheTtlResolver.enter(target, method, joinPoint.getArgs(),
+                AnnotatedElementUtils.findMergedAnnotation(method, CacheTtl.class));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CacheTtlResolver.exit();
+        }
+    }
+}
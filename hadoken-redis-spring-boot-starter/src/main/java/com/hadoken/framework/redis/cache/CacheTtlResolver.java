@@ -0,0 +1,123 @@
+package com.hadoken.framework.redis.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按 {@link CacheTtl} 计算单个缓存条目的 TTL。
+ * <p>
+ * {@link CacheTtlAspect} 在缓存注解方法外层记录当前调用（方法、参数、注解），
+ * RedisCache 写入时在同一线程上调用 {@link #ttlFunction(RedisCacheWriter.TtlFunction)} 返回的函数，
+ * 此时缓存值就是方法的返回值，据此计算 TTL。嵌套的缓存方法各自入栈，写入时只看栈顶的调用。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/21 10:25
+ */
+@Slf4j
+public final class CacheTtlResolver {
+
+    private static final ThreadLocal<Deque<Invocation>> INVOCATIONS = new ThreadLocal<>();
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+    private static final Map<String, Expression> EXPRESSIONS = new ConcurrentHashMap<>();
+    private static final Map<String, Duration> DURATIONS = new ConcurrentHashMap<>();
+
+    private CacheTtlResolver() {
+    }
+
+    /**
+     * 包装缓存原有的 TTL 函数：当前调用标注了 {@link CacheTtl} 且得到有效结果时使用它，否则回退到原函数。
+     */
+    public static RedisCacheWriter.TtlFunction ttlFunction(RedisCacheWriter.TtlFunction fallback) {
+        return (key, value) -> {
+            Duration ttl = resolve(value);
+            return ttl != null ? ttl : fallback.getTimeToLive(key, value);
+        };
+    }
+
+    /**
+     * 进入一次缓存方法调用。
+     *
+     * @param annotation 方法上的 {@link CacheTtl}，没有时为 null（同样需要入栈，以免误用外层调用的设置）
+     */
+    static void enter(Object target, Method method, Object[] args, CacheTtl annotation) {
+        Deque<Invocation> invocations = INVOCATIONS.get();
+        if (invocations == null) {
+            invocations = new ArrayDeque<>(4);
+            INVOCATIONS.set(invocations);
+        }
+        invocations.push(new Invocation(target, method, args, annotation));
+    }
+
+    static void exit() {
+        Deque<Invocation> invocations = INVOCATIONS.get();
+        if (invocations == null) {
+            return;
+        }
+        invocations.poll();
+        if (invocations.isEmpty()) {
+            INVOCATIONS.remove();
+        }
+    }
+
+    /**
+     * @return 计算失败、没有设置或结果无效时返回 null
+     */
+    static Duration resolve(Object result) {
+        Deque<Invocation> invocations = INVOCATIONS.get();
+        Invocation invocation = invocations != null ? invocations.peek() : null;
+        if (invocation == null || invocation.annotation() == null) {
+            return null;
+        }
+        CacheTtl annotation = invocation.annotation();
+        try {
+            if (StringUtils.hasText(annotation.expression())) {
+                MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(invocation.target(),
+                        invocation.method(), invocation.args(), PARAMETER_NAMES);
+                context.setVariable("result", result);
+                Object value = EXPRESSIONS.computeIfAbsent(annotation.expression(), PARSER::parseExpression)
+                        .getValue(context);
+                return toDuration(value);
+            }
+            if (StringUtils.hasText(annotation.value())) {
+                return DURATIONS.computeIfAbsent(annotation.value(), DurationStyle::detectAndParse);
+            }
+        } catch (RuntimeException e) {
+            log.warn("计算缓存 TTL 失败，使用缓存默认 TTL，method: [{}]", invocation.method(), e);
+        }
+        return null;
+    }
+
+    private static Duration toDuration(Object value) {
+        Duration ttl;
+        if (value instanceof Duration duration) {
+            ttl = duration;
+        } else if (value instanceof Number seconds) {
+            ttl = Duration.ofSeconds(seconds.longValue());
+        } else if (value instanceof CharSequence text && StringUtils.hasText(text)) {
+            ttl = DurationStyle.detectAndParse(text.toString());
+        } else {
+            return null;
+        }
+        return ttl.isNegative() ? null : ttl;
+    }
+
+    private record Invocation(Object target, Method method, Object[] args, CacheTtl annotation) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.hadoken.framework.redis.cache;
+
+import cn.hutool.json.JSONUtil;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.MethodClassKey;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 缓存 key 生成策略，key 形如 类名:方法名:参数摘要。
+ * <p>
+ * 类名:方法名 前缀按 (目标类, 方法) 缓存，只在首次调用时拼接；参数直接写入 128 位 murmur3 哈希，
+ * 字符串、数字、枚举、时间、数组、集合等常见类型不经过任何中间序列化，只有其他对象（如查询条件 DTO）按 JSON 写入。
+ * 每个值前都写入类型标记和长度，避免 "1" 与 1、("ab", "c") 与 ("a", "bc") 这类参数得到相同的摘要。
+ * 目标类的全限定名也写入摘要，不同包下的同名类即使共用一个缓存也不会得到相同的 key。
+ * <p>
+ * 调试时可开启 hadoken.redis.readable-cache-key，直接以参数的字符串形式作为 key 的后缀。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/21 15:20
+ */
+public class HashingKeyGenerator implements KeyGenerator {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private static final byte NULL = 0;
+    private static final byte TEXT = 1;
+    private static final byte INTEGRAL = 2;
+    private static final byte DECIMAL = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte CHAR = 5;
+    private static final byte ENUM = 6;
+    private static final byte BYTES = 7;
+    private static final byte ARRAY = 8;
+    private static final byte COLLECTION = 9;
+    private static final byte MAP = 10;
+    private static final byte OBJECT = 11;
+
+    private final ConcurrentMap<MethodClassKey, KeyPrefix> prefixCache = new ConcurrentHashMap<>();
+    private final boolean readable;
+
+    /**
+     * @param readable 是否生成可读的 key（参数原样拼接，不做哈希）
+     */
+    public HashingKeyGenerator(boolean readable) {
+        this.readable = readable;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Class<?> targetClass = ClassUtils.getUserClass(target);
+        KeyPrefix prefix = prefixCache.computeIfAbsent(new MethodClassKey(method, targetClass),
+                k -> new KeyPrefix(targetClass.getSimpleName() + ':' + method.getName() + ':', targetClass.getName()));
+        if (readable) {
+            StringBuilder key = new StringBuilder(prefix.value());
+            for (int i = 0; i < params.length; i++) {
+                if (i > 0) {
+                    key.append(',');
+                }
+                key.append(ObjectUtils.nullSafeToString(params[i]));
+            }
+            return key.toString();
+        }
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        putText(hasher, prefix.className());
+        hasher.putInt(params.length);
+        for (Object param : params) {
+            put(hasher, param);
+        }
+        return prefix.value() + hasher.hash();
+    }
+
+    private static void put(Hasher hasher, Object value) {
+        if (value == null) {
+            hasher.putByte(NULL);
+        } else if (value instanceof CharSequence text) {
+            putText(hasher, text);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            hasher.putByte(INTEGRAL).putLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            hasher.putByte(DECIMAL).putDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean bool) {
+            hasher.putByte(BOOLEAN).putBoolean(bool);
+        } else if (value instanceof Character character) {
+            hasher.putByte(CHAR).putChar(character);
+        } else if (value instanceof Enum<?> constant) {
+            hasher.putByte(ENUM).putInt(constant.name().length()).putUnencodedChars(constant.name());
+        } else if (value instanceof Number || value instanceof TemporalAccessor || value instanceof UUID) {
+            // BigDecimal、BigInteger、日期时间等以规范字符串区分
+            putText(hasher, value.toString());
+        } else if (value instanceof byte[] bytes) {
+            hasher.putByte(BYTES).putInt(bytes.length).putBytes(bytes);
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            hasher.putByte(ARRAY).putInt(length);
+            for (int i = 0; i < length; i++) {
+                put(hasher, Array.get(value, i));
+            }
+        } else if (value instanceof Collection<?> collection) {
+            hasher.putByte(COLLECTION).putInt(collection.size());
+            for (Object element : collection) {
+                put(hasher, element);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            hasher.putByte(MAP).putInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                put(hasher, entry.getKey());
+                put(hasher, entry.getValue());
+            }
+        } else {
+            String json = JSONUtil.toJsonStr(value);
+            hasher.putByte(OBJECT).putInt(json.length()).putUnencodedChars(json);
+        }
+    }
+
+    private static void putText(Hasher hasher, CharSequence text) {
+        hasher.putByte(TEXT).putInt(text.length()).putUnencodedChars(text);
+    }
+
+    /**
+     * @param value     key 前缀，形如 类名:方法名:
+     * @param className 目标类的全限定名
+     */
+    private record KeyPrefix(String value, String className) {
+    }
+}
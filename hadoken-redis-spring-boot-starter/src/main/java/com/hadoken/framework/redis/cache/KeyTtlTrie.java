@@ -0,0 +1,81 @@
+package com.hadoken.framework.redis.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 缓存名到 TTL 的匹配前缀树，由 hadoken.redis.key-ttl 在启动时一次性构建，之后只读、线程安全。
+ * <p>
+ * 以 * 结尾的模式（如 user:*）按前缀匹配，其余模式按缓存名精确匹配；多个模式都匹配时最长的优先，
+ * 长度相同时精确匹配优先。单独的 * 匹配所有缓存名。一次查询只沿缓存名走一遍，耗时与名称长度成正比，与模式数量无关。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/21 10:05
+ */
+@Slf4j
+public final class KeyTtlTrie {
+
+    private static final char WILDCARD = '*';
+
+    private final Node root = new Node();
+
+    private KeyTtlTrie() {
+    }
+
+    /**
+     * 构建前缀树。只支持末尾的通配符，模式中间出现的 * 按普通字符处理。
+     */
+    public static KeyTtlTrie compile(Map<String, Duration> patterns) {
+        KeyTtlTrie trie = new KeyTtlTrie();
+        patterns.forEach((pattern, ttl) -> {
+            if (pattern == null || ttl == null) {
+                return;
+            }
+            boolean prefix = !pattern.isEmpty() && pattern.charAt(pattern.length() - 1) == WILDCARD;
+            String literal = prefix ? pattern.substring(0, pattern.length() - 1) : pattern;
+            if (literal.indexOf(WILDCARD) >= 0) {
+                log.warn("key-ttl 模式 [{}] 中间的 * 不作为通配符，仅支持末尾的 *", pattern);
+            }
+            Node node = trie.root;
+            for (int i = 0; i < literal.length(); i++) {
+                node = node.children.computeIfAbsent(literal.charAt(i), c -> new Node());
+            }
+            if (prefix) {
+                node.prefixTtl = ttl;
+            } else {
+                node.exactTtl = ttl;
+            }
+        });
+        return trie;
+    }
+
+    /**
+     * 解析缓存名的 TTL。
+     *
+     * @return 没有任何模式匹配时返回 null
+     */
+    public Duration resolve(String name) {
+        Node node = root;
+        Duration matched = node.prefixTtl;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.children.get(name.charAt(i));
+            if (node == null) {
+                return matched;
+            }
+            if (node.prefixTtl != null) {
+                matched = node.prefixTtl;
+            }
+        }
+        return node.exactTtl != null ? node.exactTtl : matched;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Duration exactTtl;
+        private Duration prefixTtl;
+    }
+}
@@ -0,0 +1,41 @@
+package com.hadoken.framework.redis.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+
+/**
+ * 按缓存名解析 TTL 的 Redis 缓存管理器。
+ * <p>
+ * 每个缓存在首次创建时通过 {@link KeyTtlTrie} 查出匹配的 TTL（包括运行时才出现的缓存名），
+ * 没有匹配时沿用缓存配置本身的 TTL；写入时若方法标注了 {@link CacheTtl}，则以条目级 TTL 为准。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/21 10:45
+ */
+public class TtlResolvingRedisCacheManager extends RedisCacheManager {
+
+    private final RedisCacheConfiguration defaultCacheConfiguration;
+    private final KeyTtlTrie keyTtlTrie;
+
+    public TtlResolvingRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+                                         KeyTtlTrie keyTtlTrie) {
+        super(cacheWriter, defaultCacheConfiguration);
+        this.defaultCacheConfiguration = defaultCacheConfiguration;
+        this.keyTtlTrie = keyTtlTrie;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        RedisCacheConfiguration configuration = cacheConfiguration != null ? cacheConfiguration : defaultCacheConfiguration;
+        Duration ttl = keyTtlTrie.resolve(name);
+        if (ttl != null) {
+            configuration = configuration.entryTtl(ttl);
+        }
+        return super.createRedisCache(name, configuration.entryTtl(CacheTtlResolver.ttlFunction(configuration.getTtlFunction())));
+    }
+}
@@ -0,0 +1,205 @@
+package com.hadoken.framework.redis.cache;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 二级缓存：进程内的一级缓存（有容量上限和写入后过期）在前，Redis 缓存在后。
+ * <p>
+ * 读取先查一级缓存，未命中再查 Redis 并回填一级缓存，热点数据的读取不再需要网络往返和反序列化；
+ * 写入和删除先作用于 Redis，再更新本地一级缓存并广播失效消息，其他节点随即丢弃自己的一级缓存条目。
+ * 一级缓存以 key 的字符串形式为键，与 RedisCache 把 key 转换为字符串的方式一致。
+ * <p>
+ * 失效广播是异步的：其他节点在收到消息前可能短暂读到旧值，最长不超过一级缓存的 TTL。
+ * 因此只建议对读多写少、能容忍秒级不一致的缓存开启一级缓存。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/20 10:20
+ */
+public class TwoLevelCache implements Cache {
+
+    /**
+     * 一级缓存不支持 null 值，用占位对象表示缓存的 null
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    private final String name;
+    private final Cache l2;
+    private final com.google.common.cache.Cache<String, Object> l1;
+    /**
+     * 失效广播，为 null 时只在本节点生效
+     */
+    private final CacheInvalidationBus invalidationBus;
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+
+    public TwoLevelCache(String name, Cache l2, long maximumSize, Duration ttl, CacheInvalidationBus invalidationBus) {
+        this.name = name;
+        this.l2 = l2;
+        this.invalidationBus = invalidationBus;
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(1L, maximumSize))
+                .recordStats();
+        if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+            builder.expireAfterWrite(ttl);
+        }
+        this.l1 = builder.build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = toLocalKey(key);
+        Object cached = l1.getIfPresent(localKey);
+        if (cached != null) {
+            return new SimpleValueWrapper(fromLocal(cached));
+        }
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        l1.put(localKey, toLocal(wrapper.get()));
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = toLocalKey(key);
+        Object cached = l1.getIfPresent(localKey);
+        if (cached != null) {
+            return (T) fromLocal(cached);
+        }
+        // 由 Redis 缓存负责加载与回写，通过包装加载器区分命中与未命中
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = l2.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        if (loaded.get()) {
+            l2Misses.increment();
+        } else {
+            l2Hits.increment();
+        }
+        l1.put(localKey, toLocal(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        String localKey = toLocalKey(key);
+        l1.put(localKey, toLocal(value));
+        publish(localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = l2.putIfAbsent(key, value);
+        String localKey = toLocalKey(key);
+        l1.invalidate(localKey);
+        if (existing == null) {
+            publish(localKey);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        String localKey = toLocalKey(key);
+        l1.invalidate(localKey);
+        publish(localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = l2.evictIfPresent(key);
+        String localKey = toLocalKey(key);
+        l1.invalidate(localKey);
+        publish(localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        publish(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = l2.invalidate();
+        l1.invalidateAll();
+        publish(null);
+        return invalidated;
+    }
+
+    /**
+     * 处理其他节点的失效消息，只作用于本地一级缓存。
+     *
+     * @param localKey 一级缓存的 key，为 null 时清空
+     */
+    void invalidateLocal(String localKey) {
+        if (localKey == null) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(localKey);
+        }
+    }
+
+    public TwoLevelCacheStatistics getStatistics() {
+        CacheStats stats = l1.stats();
+        return new TwoLevelCacheStatistics(name, l1.size(), stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                l2Hits.sum(), l2Misses.sum());
+    }
+
+    private void publish(String localKey) {
+        if (invalidationBus != null) {
+            invalidationBus.publish(name, localKey);
+        }
+    }
+
+    private static String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static Object toLocal(Object value) {
+        return value != null ? value : NULL_VALUE;
+    }
+
+    private static Object fromLocal(Object value) {
+        return value == NULL_VALUE ? null : value;
+    }
+}
@@ -0,0 +1,85 @@
+package com.hadoken.framework.redis.cache;
+
+import com.hadoken.framework.redis.config.HadokenRedisProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 二级缓存管理器：在 Redis 缓存管理器之前为指定的缓存加一层进程内缓存。
+ * <p>
+ * 只有在 hadoken.redis.two-level.caches 中配置过的缓存才会启用一级缓存，其余缓存直接返回 Redis 缓存，行为不变。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/20 10:40
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager l2CacheManager;
+    private final HadokenRedisProperties.TwoLevel properties;
+    private final CacheInvalidationBus invalidationBus;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param l2CacheManager  二级（Redis）缓存管理器
+     * @param properties      一级缓存配置
+     * @param invalidationBus 失效广播，为 null 时一级缓存只在本节点失效（仅适用于单节点部署）
+     */
+    public TwoLevelCacheManager(CacheManager l2CacheManager, HadokenRedisProperties.TwoLevel properties,
+                                CacheInvalidationBus invalidationBus) {
+        this.l2CacheManager = l2CacheManager;
+        this.properties = properties;
+        this.invalidationBus = invalidationBus;
+        if (invalidationBus != null) {
+            invalidationBus.subscribe(this::onInvalidation);
+        }
+        log.info("TwoLevelCacheManager has been configured, L1 caches: {}", properties.getCaches().keySet());
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        HadokenRedisProperties.TwoLevel.L1 l1 = properties.getCaches().get(name);
+        if (l1 == null) {
+            return l2CacheManager.getCache(name);
+        }
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache l2 = l2CacheManager.getCache(cacheName);
+            if (l2 == null) {
+                return null;
+            }
+            long maximumSize = l1.getMaximumSize() != null ? l1.getMaximumSize() : properties.getDefaultMaximumSize();
+            Duration ttl = l1.getTtl() != null ? l1.getTtl() : properties.getDefaultTtl();
+            return new TwoLevelCache(cacheName, l2, maximumSize, ttl, invalidationBus);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return l2CacheManager.getCacheNames();
+    }
+
+    /**
+     * 各个启用了一级缓存的缓存的命中统计，只包含已被使用过的缓存。
+     */
+    public Map<String, TwoLevelCacheStatistics> getStatistics() {
+        Map<String, TwoLevelCacheStatistics> statistics = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> statistics.put(name, cache.getStatistics()));
+        return statistics;
+    }
+
+    private void onInvalidation(String cacheName, String localKey) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.invalidateLocal(localKey);
+        }
+    }
+}
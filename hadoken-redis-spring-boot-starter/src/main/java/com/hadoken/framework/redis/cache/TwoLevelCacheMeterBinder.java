@@ -0,0 +1,62 @@
+package com.hadoken.framework.redis.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.Cache;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 把二级缓存的命中统计注册到 Micrometer：
+ * <ul>
+ *   <li>hadoken.cache.gets{cache, level=l1|l2, result=hit|miss}：各级缓存的命中/未命中次数；</li>
+ *   <li>hadoken.cache.l1.size / hadoken.cache.l1.evictions：一级缓存的条目数与淘汰数。</li>
+ * </ul>
+ * 命中率可由 hit / (hit + miss) 计算。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/20 11:00
+ */
+public class TwoLevelCacheMeterBinder implements MeterBinder {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final Iterable<String> cacheNames;
+
+    public TwoLevelCacheMeterBinder(TwoLevelCacheManager cacheManager, Iterable<String> cacheNames) {
+        this.cacheManager = cacheManager;
+        this.cacheNames = cacheNames;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : cacheNames) {
+            Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof TwoLevelCache twoLevelCache)) {
+                continue;
+            }
+            gets(registry, twoLevelCache, name, "l1", "hit", s -> s.getStatistics().l1Hits());
+            gets(registry, twoLevelCache, name, "l1", "miss", s -> s.getStatistics().l1Misses());
+            gets(registry, twoLevelCache, name, "l2", "hit", s -> s.getStatistics().l2Hits());
+            gets(registry, twoLevelCache, name, "l2", "miss", s -> s.getStatistics().l2Misses());
+            Gauge.builder("hadoken.cache.l1.size", twoLevelCache, c -> c.getStatistics().l1Size())
+                    .tag("cache", name)
+                    .description("一级缓存条目数")
+                    .register(registry);
+            FunctionCounter.builder("hadoken.cache.l1.evictions", twoLevelCache, c -> c.getStatistics().l1Evictions())
+                    .tag("cache", name)
+                    .description("一级缓存因容量或过期淘汰的条目数")
+                    .register(registry);
+        }
+    }
+
+    private static void gets(MeterRegistry registry, TwoLevelCache cache, String name, String level, String result,
+                             ToDoubleFunction<TwoLevelCache> count) {
+        FunctionCounter.builder("hadoken.cache.gets", cache, count)
+                .tags("cache", name, "level", level, "result", result)
+                .description("二级缓存各级的命中/未命中次数")
+                .register(registry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.hadoken.framework.redis.cache;
+
+/**
+ * 二级缓存的命中统计（自启动以来累计）。
+ *
+ * @param cacheName   缓存名
+ * @param l1Size      一级缓存当前条目数（近似值）
+ * @param l1Hits      一级缓存命中次数
+ * @param l1Misses    一级缓存未命中次数
+ * @param l1Evictions 一级缓存因容量或过期被淘汰的条目数
+ * @param l2Hits      一级未命中后二级缓存（Redis）命中次数
+ * @param l2Misses    二级缓存未命中次数
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/20 10:15
+ */
+public record TwoLevelCacheStatistics(String cacheName, long l1Size, long l1Hits, long l1Misses, long l1Evictions,
+                                      long l2Hits, long l2Misses) {
+
+    public double l1HitRatio() {
+        return ratio(l1Hits, l1Hits + l1Misses);
+    }
+
+    public double l2HitRatio() {
+        return ratio(l2Hits, l2Hits + l2Misses);
+    }
+
+    /**
+     * 两级合计的命中率：任一级命中都算命中。
+     */
+    public double overallHitRatio() {
+        return ratio(l1Hits + l2Hits, l1Hits + l1Misses);
+    }
+
+    private static double ratio(long hits, long total) {
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -1,16 +1,20 @@
 package com.hadoken.framework.redis.config;
 
-import cn.hutool.core.util.CharUtil;
-import cn.hutool.json.JSONUtil;
+import com.hadoken.framework.redis.cache.CacheInvalidationBus;
+import com.hadoken.framework.redis.cache.CacheTtlAspect;
+import com.hadoken.framework.redis.cache.HashingKeyGenerator;
+import com.hadoken.framework.redis.cache.KeyTtlTrie;
+import com.hadoken.framework.redis.cache.TtlResolvingRedisCacheManager;
+import com.hadoken.framework.redis.cache.TwoLevelCacheManager;
 import com.hadoken.framework.redis.util.RedisUtils;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.redisson.spring.data.connection.RedissonConnectionFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.Cache;
@@ -20,15 +24,16 @@ import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Redis 配置类
@@ -42,31 +47,67 @@ import java.util.Map;
 @EnableCaching
 @AutoConfigureAfter(RedisAutoConfiguration.class)
 @EnableConfigurationProperties(HadokenRedisProperties.class)
+@Import(HadokenRedisCacheMetricsConfiguration.class)
 public class HadokenRedisAutoConfiguration {
 
     /**
-     * 配置 key 过期时间
+     * 配置 key 过期时间：hadoken.redis.key-ttl 在启动时编译为前缀树，
+     * 每个缓存（包括运行时才出现的缓存名）首次创建时按最长匹配解析 TTL
      */
     @Bean
     @ConditionalOnBean({RedisCacheConfiguration.class})
     public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
                                                RedisCacheConfiguration redisCacheConfiguration,
                                                HadokenRedisProperties properties) {
+        log.info("RedisCacheManager has been configured");
+        return ttlResolvingCacheManager(connectionFactory, redisCacheConfiguration, properties);
+    }
 
-        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+    /**
+     * 支持 @CacheTtl 按条目设置 TTL
+     */
+    @Bean
+    public CacheTtlAspect cacheTtlAspect() {
+        return new CacheTtlAspect();
+    }
 
-        // 将 key-ttl 映射为缓存名规则（支持前缀匹配）
-        properties.getKeyTtl().forEach((pattern, ttl) -> {
-            RedisCacheConfiguration conf = redisCacheConfiguration.entryTtl(ttl);
-            // 使用通配符生成缓存名规则，如 user:* -> userCache
-            cacheConfigurations.put(pattern.replace("*", ""), conf);
+    /**
+     * 二级缓存：为 hadoken.redis.two-level.caches 中的缓存在 Redis 之前加一层进程内缓存，
+     * 作为首选的 CacheManager 供 @Cacheable 使用；未配置 RedisCacheConfiguration 时以默认配置创建 Redis 缓存管理器，
+     * 同样按 hadoken.redis.key-ttl 解析每个缓存的 TTL。
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "hadoken.redis.two-level.enabled", havingValue = "true")
+    public TwoLevelCacheManager twoLevelCacheManager(ObjectProvider<RedisCacheManager> redisCacheManagerProvider,
+                                                     RedisConnectionFactory connectionFactory,
+                                                     CacheInvalidationBus cacheInvalidationBus,
+                                                     HadokenRedisProperties properties) {
+        RedisCacheManager l2 = redisCacheManagerProvider.getIfAvailable(() -> {
+            TtlResolvingRedisCacheManager fallback = ttlResolvingCacheManager(connectionFactory,
+                    RedisCacheConfiguration.defaultCacheConfig(), properties);
+            // 不是容器管理的 Bean，需要手动初始化
+            fallback.afterPropertiesSet();
+            return fallback;
         });
+        return new TwoLevelCacheManager(l2, properties.getTwoLevel(), cacheInvalidationBus);
+    }
 
-        log.info("RedisCacheManager has been configured");
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(redisCacheConfiguration)
-                .withInitialCacheConfigurations(cacheConfigurations)
-                .build();
+    private static TtlResolvingRedisCacheManager ttlResolvingCacheManager(RedisConnectionFactory connectionFactory,
+                                                                          RedisCacheConfiguration cacheConfiguration,
+                                                                          HadokenRedisProperties properties) {
+        return new TtlResolvingRedisCacheManager(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                cacheConfiguration, KeyTtlTrie.compile(properties.getKeyTtl()));
+    }
+
+    /**
+     * 二级缓存的失效广播，各节点据此丢弃本地一级缓存中已被修改的条目
+     */
+    @Bean
+    @ConditionalOnProperty(name = "hadoken.redis.two-level.enabled", havingValue = "true")
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate,
+                                                     HadokenRedisProperties properties) {
+        return new CacheInvalidationBus(stringRedisTemplate, properties.getTwoLevel().getInvalidationChannel());
     }
 
     @Bean
@@ -119,30 +160,9 @@ public class HadokenRedisAutoConfiguration {
      * 自定义缓存 key 生成策略，默认将使用该策略
      */
     @Bean
-    public KeyGenerator keyGenerator() {
+    public KeyGenerator keyGenerator(HadokenRedisProperties properties) {
         log.info("keyGenerator has been configured");
-        return (target, method, params) -> {
-            Map<String, Object> container = new HashMap<>(3);
-            Class<?> targetClassClass = target.getClass();
-            // 类地址
-            container.put("class", targetClassClass.toGenericString());
-            // 方法名称
-            container.put("methodName", method.getName());
-            // 包名称
-            container.put("package", targetClassClass.getPackage());
-            // 参数列表
-            for (int i = 0; i < params.length; i++) {
-                container.put(String.valueOf(i), params[i]);
-            }
-            // 转为JSON字符串
-            String jsonString = JSONUtil.toJsonStr(container);
-            // 做SHA256 Hash计算，得到一个SHA256摘要作为Key
-            return targetClassClass.getSimpleName()
-                    + CharUtil.COLON
-                    + method.getName()
-                    + CharUtil.COLON
-                    + DigestUtils.sha256Hex(jsonString);
-        };
+        return new HashingKeyGenerator(properties.isReadableCacheKey());
     }
 
 
@@ -0,0 +1,32 @@
+package com.hadoken.framework.redis.config;
+
+import com.hadoken.framework.redis.cache.TwoLevelCacheManager;
+import com.hadoken.framework.redis.cache.TwoLevelCacheMeterBinder;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 二级缓存的 Micrometer 指标配置。
+ * 仅当 classpath 中存在 Micrometer 且启用了二级缓存时生效，注册的 MeterBinder 会被 Spring Boot Actuator 自动绑定到 MeterRegistry。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/20 11:05
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(MeterBinder.class)
+@ConditionalOnProperty(name = "hadoken.redis.two-level.enabled", havingValue = "true")
+public class HadokenRedisCacheMetricsConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TwoLevelCacheMeterBinder twoLevelCacheMeterBinder(ObjectProvider<TwoLevelCacheManager> cacheManager,
+                                                             HadokenRedisProperties properties) {
+        return new TwoLevelCacheMeterBinder(cacheManager.getObject(), properties.getTwoLevel().getCaches().keySet());
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -22,11 +23,16 @@ public class HadokenRedisProperties {
     private boolean enabled = true;
 
     /**
-     * 支持按 key 或 key 前缀设置 TTL
-     * 支持通配符 *，如 user:*、product:detail:*
+     * 按缓存名或缓存名前缀设置 TTL
+     * 以 * 结尾表示前缀匹配，如 user:*、product:detail:*，否则精确匹配；多个模式匹配时最长的优先
      */
     private final Map<String, Duration> keyTtl = new HashMap<>();
 
+    /**
+     * 缓存 key 是否使用可读形式（类名:方法名:参数原文），默认为 false，即参数部分使用哈希摘要，仅建议调试时开启
+     */
+    private boolean readableCacheKey = false;
+
     /**
      * redisTemplate key 的序列化方式
      */
@@ -44,4 +50,48 @@ public class HadokenRedisProperties {
      */
     private RedisSerializer hashValueSerializer = RedisSerializer.json();
 
+    /**
+     * 二级缓存（进程内一级缓存 + Redis）配置
+     */
+    private TwoLevel twoLevel = new TwoLevel();
+
+    @Data
+    public static class TwoLevel {
+        /**
+         * 是否启用二级缓存，默认为 false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 一级缓存失效消息的发布/订阅频道
+         */
+        private String invalidationChannel = "hadoken:cache:invalidation";
+
+        /**
+         * 一级缓存默认的最大条目数
+         */
+        private long defaultMaximumSize = 10_000;
+
+        /**
+         * 一级缓存默认的写入后过期时间，也是节点间最长的不一致时间，应小于 Redis 中的过期时间
+         */
+        private Duration defaultTtl = Duration.ofSeconds(60);
+
+        /**
+         * 启用一级缓存的缓存名及其配置，未配置的缓存只使用 Redis
+         */
+        private Map<String, L1> caches = new LinkedHashMap<>();
+
+        @Data
+        public static class L1 {
+            /**
+             * 最大条目数，为空时使用 defaultMaximumSize
+             */
+            private Long maximumSize;
+            /**
+             * 写入后过期时间，为空时使用 defaultTtl
+             */
+            private Duration ttl;
+        }
+    }
 }
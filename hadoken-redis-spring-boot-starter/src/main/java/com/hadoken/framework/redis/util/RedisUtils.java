@@ -1,15 +1,23 @@
 package com.hadoken.framework.redis.util;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Redis 工具类
@@ -20,6 +28,21 @@ import java.util.concurrent.TimeUnit;
 @SuppressWarnings({"unchecked", "all"})
 public class RedisUtils {
 
+    /**
+     * 默认每次 SCAN 的 COUNT
+     */
+    public static final int DEFAULT_SCAN_COUNT = 1000;
+    /**
+     * scanPage 单页最多发送的 SCAN 次数
+     */
+    private static final int MAX_SCAN_ROUNDS_PER_PAGE = 10;
+    private static final String SCAN_START = "0";
+    /**
+     * 从指定游标执行一次 SCAN，返回 {下一个游标, 本批 key}；RedisTemplate 的 Cursor 只能从头开始，续扫需要显式传入游标
+     */
+    private static final RedisScript<List> SCAN_SCRIPT = new DefaultRedisScript<>(
+            "return redis.call('SCAN', ARGV[1], 'MATCH', ARGV[2], 'COUNT', ARGV[3])", List.class);
+
     private RedisTemplate<String, Object> redisTemplate;
     private StringRedisTemplate stringRedisTemplate;
 
@@ -73,62 +96,157 @@ public class RedisUtils {
 
     /**
      * 查找匹配指定 pattern 的所有 key
+     * <p>
+     * 结果全部加载到内存，key 数量可能很大时请使用 {@link #scanStream(String, int)} 或 {@link #scanPage(String, String, int)}
      *
      * @param pattern key 的匹配模式，例如 "user:*"
      * @return 匹配到的 key 列表
      */
     public List<String> scan(String pattern) {
-        // 使用 execute 方法，让 Spring 自动管理 RedisConnection
-        return stringRedisTemplate.execute((RedisConnection connection) -> {
-            List<String> keys = new ArrayList<>();
-            // 创建 ScanOptions，可以指定匹配模式和每次扫描的数量
-            // 设置 count 是为了优化每次扫描的网络往返，推荐使用
-            ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
-            // 使用 try-with-resources 确保 Cursor 资源被正确关闭
-            try (Cursor<byte[]> cursor = connection.scan(options)) {
-                while (cursor.hasNext()) {
-                    // 将 byte[] 转换为 String
-                    keys.add(new String(cursor.next(), StandardCharsets.UTF_8));
-                }
-            } catch (Exception e) {
-                // 打印错误日志，而不是手动释放连接
-                // 在实际项目中，可以使用更完善的日志框架
-                System.err.println("Error while scanning Redis keys: " + e.getMessage());
+        try (Stream<String> keys = scanStream(pattern, DEFAULT_SCAN_COUNT)) {
+            return keys.collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("扫描 key 失败: {}", pattern, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 惰性扫描匹配 pattern 的 key
+     * <p>
+     * 每当已取出的 key 消费完才发送下一次 SCAN，内存中最多只有一批（约 count 个）key，
+     * 下游处理得慢，扫描也随之放慢。流占用一个连接，必须关闭，建议使用 try-with-resources：
+     * <pre>
+     * try (Stream&lt;String&gt; keys = redisUtils.scanStream("user:*", 1000)) {
+     *     keys.forEach(...);
+     * }
+     * </pre>
+     *
+     * @param pattern key 的匹配模式，例如 "user:*"
+     * @param count   每次 SCAN 的 COUNT，越大往返越少，但单次阻塞 Redis 的时间越长
+     * @return key 流
+     */
+    public Stream<String> scanStream(String pattern, int count) {
+        return stringRedisTemplate.scan(scanOptions(pattern, count)).stream();
+    }
+
+    /**
+     * 按页扫描匹配 pattern 的 key，每次 SCAN 的 COUNT 为 {@value #DEFAULT_SCAN_COUNT}，见 {@link #scanPage(String, String, int, int)}
+     */
+    public ScanPage scanPage(String pattern, String cursorToken, int size) {
+        return scanPage(pattern, cursorToken, size, DEFAULT_SCAN_COUNT);
+    }
+
+    /**
+     * 按页扫描匹配 pattern 的 key，返回的令牌用于继续扫描下一页。
+     * <p>
+     * 每页从上一页停下的 SCAN 游标处继续，逐批发送 SCAN，凑满 size 个 key 后在当前批次结束处停止，
+     * 令牌就是 Redis 返回的游标本身，续扫时不会重新执行已扫描过的批次，代价与页大小成正比而与 key 总数无关。
+     * 因为总在批次边界停止，一页可能多于 size 个（最多多出一批）；匹配稀疏时每页最多发送
+     * {@value #MAX_SCAN_ROUNDS_PER_PAGE} 次 SCAN，此时本页可能不满（甚至为空），只要令牌不为空就还有后续。
+     * 与 SCAN 的语义一致：扫描期间一直存在的 key 至少返回一次，扫描期间增删的 key 可能返回也可能不返回，偶尔可能重复。
+     * <p>
+     * SCAN 游标只在单个节点上有效，Redis Cluster 下不支持按页续扫，请使用 {@link #scanStream(String, int)}
+     * （由连接依次扫描所有主节点）。Redis 异常直接抛出。
+     *
+     * @param pattern     key 的匹配模式，例如 "user:*"
+     * @param cursorToken 上一页返回的令牌，第一页传 null
+     * @param size        每页期望的数目
+     * @param count       每次 SCAN 的 COUNT，越大往返越少，但单次阻塞 Redis 的时间越长
+     * @return 当前页
+     */
+    public ScanPage scanPage(String pattern, String cursorToken, int size, int count) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size 必须大于 0");
+        }
+        if (cursorToken != null && (cursorToken.isEmpty() || !cursorToken.chars().allMatch(Character::isDigit))) {
+            throw new IllegalArgumentException("无效的扫描令牌: " + cursorToken);
+        }
+        if (stringRedisTemplate.execute((RedisCallback<Boolean>) connection -> connection instanceof RedisClusterConnection)) {
+            throw new UnsupportedOperationException("Redis Cluster 下 SCAN 游标只在单个节点有效，不支持按页续扫，请使用 scanStream");
+        }
+        String match = pattern != null ? pattern : "*";
+        String batchCount = String.valueOf(count > 0 ? count : DEFAULT_SCAN_COUNT);
+        String cursor = cursorToken != null ? cursorToken : SCAN_START;
+        List<String> keys = new ArrayList<>(size);
+        for (int round = 0; round < MAX_SCAN_ROUNDS_PER_PAGE && keys.size() < size; round++) {
+            List<Object> reply = stringRedisTemplate.execute(SCAN_SCRIPT, Collections.emptyList(), cursor, match, batchCount);
+            cursor = String.valueOf(reply.get(0));
+            keys.addAll((List<String>) reply.get(1));
+            if (SCAN_START.equals(cursor)) {
+                return new ScanPage(keys, null);
             }
-            return keys;
-        });
+        }
+        return new ScanPage(keys, cursor);
+    }
+
+    /**
+     * 惰性扫描哈希表的字段（HSCAN），用法同 {@link #scanStream(String, int)}，流必须关闭
+     *
+     * @param key     键
+     * @param pattern 字段的匹配模式，null 表示全部
+     * @param count   每次 HSCAN 的 COUNT
+     * @return 字段与值的流
+     */
+    public <K, V> Stream<Map.Entry<K, V>> hashScanStream(String key, String pattern, int count) {
+        Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash().scan(key, scanOptions(pattern, count));
+        return cursor.stream().map(entry -> (Map.Entry<K, V>) (Map.Entry) entry);
+    }
+
+    /**
+     * 惰性扫描 set 的成员（SSCAN），用法同 {@link #scanStream(String, int)}，流必须关闭
+     *
+     * @param key     键
+     * @param pattern 成员的匹配模式，null 表示全部
+     * @param count   每次 SSCAN 的 COUNT
+     * @return 成员流
+     */
+    public <T> Stream<T> setScanStream(String key, String pattern, int count) {
+        return redisTemplate.opsForSet().scan(key, scanOptions(pattern, count)).stream().map(member -> (T) member);
+    }
+
+    /**
+     * 惰性扫描 zset 的成员及分数（ZSCAN），用法同 {@link #scanStream(String, int)}，流必须关闭
+     *
+     * @param key     键
+     * @param pattern 成员的匹配模式，null 表示全部
+     * @param count   每次 ZSCAN 的 COUNT
+     * @return 成员及分数的流
+     */
+    public Stream<ZSetOperations.TypedTuple<Object>> zSetScanStream(String key, String pattern, int count) {
+        return redisTemplate.opsForZSet().scan(key, scanOptions(pattern, count)).stream();
+    }
+
+    private static ScanOptions scanOptions(String pattern, int count) {
+        ScanOptions.ScanOptionsBuilder builder = ScanOptions.scanOptions().count(count > 0 ? count : DEFAULT_SCAN_COUNT);
+        if (pattern != null) {
+            builder.match(pattern);
+        }
+        return builder.build();
     }
 
     /**
      * 分页查询匹配 pattern 的 key
      * <p>
      * 注意：Redis 的 SCAN 命令不适合用于传统的分页（即直接跳到第 N 页）。
-     * 此方法会一次性扫描出所有匹配的 key，然后在内存中进行分页。
-     * 当匹配的 key 数量非常大时，可能会有性能问题或内存消耗过大。
-     * * @param patternKey key 的匹配模式，例如 "user:*"
+     * 此方法从头扫描并跳过前面各页，扫描到当前页为止即停止，代价随页码线性增长；
+     * 逐页浏览请使用 {@link #scanPage(String, String, int)}。
      *
-     * @param page 页码 (从 0 开始)
-     * @param size 每页数目
+     * @param patternKey key 的匹配模式，例如 "user:*"
+     * @param page       页码 (从 0 开始)
+     * @param size       每页数目
      * @return 当前页的 key 列表
      */
     public List<String> findKeysForPage(String patternKey, int page, int size) {
         if (page < 0 || size <= 0) {
             return Collections.emptyList();
         }
-
-        // 使用之前实现的 scan 方法，获取所有匹配的 key
-        List<String> allKeys = scan(patternKey);
-
-        int fromIndex = page * size;
-        int toIndex = Math.min(fromIndex + size, allKeys.size());
-
-        // 检查索引是否有效，避免抛出异常
-        if (fromIndex >= allKeys.size() || fromIndex < 0) {
+        try (Stream<String> keys = scanStream(patternKey, DEFAULT_SCAN_COUNT)) {
+            return keys.skip((long) page * size).limit(size).collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("分页扫描 key 失败: {}", patternKey, e);
             return Collections.emptyList();
         }
-
-        // 使用 List 的 subList 方法高效地获取指定页的数据
-        return allKeys.subList(fromIndex, toIndex);
     }
 
     /**
@@ -311,6 +429,151 @@ public class RedisUtils {
         }
     }
 
+    // ================================ 批量操作 =================================
+
+    /**
+     * 批量获取对象值（MGET，一次往返）
+     *
+     * @param keys 键
+     * @param <T>  对象的类型
+     * @return 键到值的映射，按 keys 的顺序排列，不存在的键不包含在内
+     */
+    public <T> Map<String, T> multiGetObjects(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            List<String> keyList = keys instanceof List ? (List<String>) keys : new ArrayList<>(keys);
+            List<Object> values = redisTemplate.opsForValue().multiGet(keyList);
+            if (values == null) {
+                return Map.of();
+            }
+            Map<String, T> result = new LinkedHashMap<>(keyList.size() * 4 / 3 + 1);
+            for (int i = 0; i < keyList.size(); i++) {
+                Object value = values.get(i);
+                if (value != null) {
+                    result.put(keyList.get(i), (T) value);
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("批量获取对象失败: {}", keys, e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * 批量设置对象值
+     *
+     * @param values 键值对
+     * @param time   过期时间（秒），0或负数代表永久有效
+     * @param <T>    对象的类型
+     * @return true 成功 false 失败
+     */
+    public <T> boolean multiSetObjects(Map<String, T> values, long time) {
+        return multiSetObjects(values, time, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 批量设置对象值
+     * <p>
+     * 永久有效时使用一条 MSET；设置过期时间时每个键一条 SET PX（写值和过期时间原子生效），所有命令在一次往返中流水线发送
+     *
+     * @param values   键值对
+     * @param time     过期时间，0或负数代表永久有效
+     * @param timeUnit 时间单位
+     * @param <T>      对象的类型
+     * @return true 成功 false 失败
+     */
+    public <T> boolean multiSetObjects(Map<String, T> values, long time, TimeUnit timeUnit) {
+        if (values == null || values.isEmpty()) {
+            return true;
+        }
+        try {
+            if (time > 0) {
+                pipeline(operations -> values.forEach((key, value) -> operations.opsForValue().set(key, value, time, timeUnit)));
+            } else {
+                redisTemplate.opsForValue().multiSet(values);
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("批量设置对象值失败: {}", values.keySet(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 批量获取多张哈希表的所有键值对（流水线 HGETALL，一次往返）
+     *
+     * @param keys 键
+     * @return 键到哈希表内容的映射，按 keys 的顺序排列，不存在的键对应空 Map
+     */
+    public <K, V> Map<String, Map<K, V>> hashGetAll(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            List<String> keyList = keys instanceof List ? (List<String>) keys : new ArrayList<>(keys);
+            List<Object> results = pipeline(operations -> keyList.forEach(key -> operations.opsForHash().entries(key)));
+            Map<String, Map<K, V>> result = new LinkedHashMap<>(keyList.size() * 4 / 3 + 1);
+            for (int i = 0; i < keyList.size(); i++) {
+                Object entries = i < results.size() ? results.get(i) : null;
+                result.put(keyList.get(i), entries instanceof Map ? (Map<K, V>) entries : Map.of());
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("批量获取哈希表失败: keys={}", keys, e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * 在一次往返中流水线执行任意命令，例如：
+     * <pre>
+     * redisUtils.pipeline(ops -> {
+     *     ops.opsForValue().set("a", 1);
+     *     ops.opsForHash().entries("b");
+     *     ops.expire("c", Duration.ofMinutes(5));
+     * });
+     * </pre>
+     * 回调中各命令的返回值均为 null，实际结果按命令顺序在返回的列表中给出（已按 RedisTemplate 的序列化方式反序列化）。
+     * 异常直接抛出，由调用方处理。
+     *
+     * @param commands 要执行的命令
+     * @return 每条命令的结果
+     */
+    public List<Object> pipeline(Consumer<RedisOperations<String, Object>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 在一个 MULTI/EXEC 事务中执行写命令并设置过期时间，事务随流水线一次发送：
+     * 数据与过期时间同时生效，不会留下没有过期时间的键，也只需一次往返
+     *
+     * @return writes 中第一条命令的结果
+     */
+    private Object executeWithExpire(String key, long time, TimeUnit timeUnit,
+                                     Consumer<RedisOperations<String, Object>> writes) {
+        List<Object> results = pipeline(operations -> {
+            operations.multi();
+            writes.accept(operations);
+            operations.expire(key, time, timeUnit);
+            operations.exec();
+        });
+        Object first = results.isEmpty() ? null : results.get(0);
+        // 视驱动而定，事务内命令的结果可能直接列出，也可能作为 EXEC 的结果整体返回
+        if (first instanceof List<?> transaction) {
+            first = transaction.isEmpty() ? null : transaction.get(0);
+        }
+        return first;
+    }
+
     // ================================ Hash 操作 =================================
 
     /**
@@ -387,9 +650,10 @@ public class RedisUtils {
      */
     public <T> boolean hashMultiSet(String key, Map<String, T> map, long time, TimeUnit timeUnit) {
         try {
-            redisTemplate.opsForHash().putAll(key, map);
             if (time > 0) {
-                expire(key, time, timeUnit);
+                executeWithExpire(key, time, timeUnit, operations -> operations.opsForHash().putAll(key, map));
+            } else {
+                redisTemplate.opsForHash().putAll(key, map);
             }
             return true;
         } catch (Exception e) {
@@ -435,9 +699,10 @@ public class RedisUtils {
      */
     public <T> boolean hashSet(String key, String item, T value, long time, TimeUnit timeUnit) {
         try {
-            redisTemplate.opsForHash().put(key, item, value);
             if (time > 0) {
-                return expire(key, time, timeUnit);
+                executeWithExpire(key, time, timeUnit, operations -> operations.opsForHash().put(key, item, value));
+            } else {
+                redisTemplate.opsForHash().put(key, item, value);
             }
             return true;
         } catch (Exception e) {
@@ -574,11 +839,11 @@ public class RedisUtils {
      */
     public long setSetExpire(String key, long time, TimeUnit timeUnit, Object... values) {
         try {
-            long count = redisTemplate.opsForSet().add(key, values);
             if (time > 0) {
-                expire(key, time, timeUnit);
+                Object count = executeWithExpire(key, time, timeUnit, operations -> operations.opsForSet().add(key, values));
+                return count instanceof Number number ? number.longValue() : 0L;
             }
-            return count;
+            return redisTemplate.opsForSet().add(key, values);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
             return 0L;
@@ -710,9 +975,10 @@ public class RedisUtils {
      */
     public boolean leftPush(String key, Object value, long time, TimeUnit timeUnit) {
         try {
-            redisTemplate.opsForList().leftPush(key, value);
             if (time > 0) {
-                expire(key, time, timeUnit);
+                executeWithExpire(key, time, timeUnit, operations -> operations.opsForList().leftPush(key, value));
+            } else {
+                redisTemplate.opsForList().leftPush(key, value);
             }
             return true;
         } catch (Exception e) {
@@ -755,9 +1021,10 @@ public class RedisUtils {
      */
     public boolean leftPushAll(String key, List<Object> values, long time, TimeUnit timeUnit) {
         try {
-            redisTemplate.opsForList().leftPushAll(key, values);
             if (time > 0) {
-                expire(key, time, timeUnit);
+                executeWithExpire(key, time, timeUnit, operations -> operations.opsForList().leftPushAll(key, values));
+            } else {
+                redisTemplate.opsForList().leftPushAll(key, values);
             }
             return true;
         } catch (Exception e) {
@@ -800,9 +1067,10 @@ public class RedisUtils {
      */
     public boolean rightPush(String key, Object value, long time, TimeUnit timeUnit) {
         try {
-            redisTemplate.opsForList().rightPush(key, value);
             if (time > 0) {
-                expire(key, time, timeUnit);
+                executeWithExpire(key, time, timeUnit, operations -> operations.opsForList().rightPush(key, value));
+            } else {
+                redisTemplate.opsForList().rightPush(key, value);
             }
             return true;
         } catch (Exception e) {
@@ -844,9 +1112,10 @@ public class RedisUtils {
      */
     public boolean rightPushAll(String key, List<Object> values, long time, TimeUnit timeUnit) {
         try {
-            redisTemplate.opsForList().rightPushAll(key, values);
             if (time > 0) {
-                expire(key, time, timeUnit);
+                executeWithExpire(key, time, timeUnit, operations -> operations.opsForList().rightPushAll(key, values));
+            } else {
+                redisTemplate.opsForList().rightPushAll(key, values);
             }
             return true;
         } catch (Exception e) {
@@ -0,0 +1,20 @@
+package com.hadoken.framework.redis.util;
+
+import java.util.List;
+
+/**
+ * 基于游标的一页扫描结果
+ *
+ * @param keys      本页的 key。每页在 SCAN 批次边界结束，可能多于请求的数量（最多多出一批），
+ *                  也可能少于（匹配稀疏时单页的扫描量有上限），但只要 nextToken 不为空就还有后续
+ * @param nextToken 下一页的续扫令牌，即 Redis 返回的 SCAN 游标，为 null 表示已扫描完毕；原样传回即可
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/22 09:40
+ */
+public record ScanPage(List<String> keys, String nextToken) {
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
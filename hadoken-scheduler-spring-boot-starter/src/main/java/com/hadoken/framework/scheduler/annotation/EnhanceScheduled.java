@@ -1,5 +1,6 @@
 package com.hadoken.framework.scheduler.annotation;
 
+import com.hadoken.framework.scheduler.enums.MisfirePolicy;
 import org.springframework.core.annotation.AliasFor;
 import org.springframework.scheduling.annotation.Scheduled;
 
@@ -91,4 +92,47 @@ public @interface EnhanceScheduled {
      * 如果设置了此项，则该任务会尝试获取分布式锁。
      */
     String lockAtMostForString() default "";
+
+    /**
+     * 同一任务在本实例内允许同时执行的最大次数，默认为1（上一次未执行完时跳过本次调度）。
+     * 仅在 hadoken.scheduler.execution.mode=DISPATCH 时大于1才有意义，INLINE 模式下调度线程本身就会串行执行。
+     */
+    int maxConcurrency() default 1;
+
+    /**
+     * 分片数，默认为1（不分片）。大于1时每次触发都会把任务拆分为对应数量的分片并行执行，
+     * 集群模式下分片按一致性哈希分散到各个实例；方法内通过
+     * {@link com.hadoken.framework.scheduler.model.ShardContext#current()} 获取当前分片。
+     * 只有本次触发的所有分片都成功，本次执行才记为成功。
+     */
+    int shards() default 1;
+
+    /**
+     * 上游任务ID。非空时任务改为依赖触发：所有上游任务成功完成后立即执行，不再按时间调度。
+     * 由于 @Scheduled 要求必须声明一种触发方式，依赖触发的任务需同时设置 {@code cron = "-"}
+     * （{@link Scheduled#CRON_DISABLED}），且不能配置其他触发方式。
+     */
+    String[] dependsOn() default {};
+
+    /**
+     * 单次执行的超时时间，格式同 {@link #lockAtMostForString()}，如 "PT5M"、"30s"，默认不限制。
+     * 超时后框架会中断执行线程（业务代码需响应中断才能真正停止）、提前释放分布式锁，
+     * 并将本次执行记为失败，下一次调度不再因本次执行未结束而被跳过。
+     */
+    String timeout() default "";
+
+    /**
+     * 错过触发后的补偿策略，默认不补偿。
+     * 应用重启时会根据持久化的最近触发时间检测停机期间错过的执行（cron / fixedRate），
+     * 运行期间 cron 任务因线程池饱和严重延迟而错过的执行也会被检测到。
+     * 补偿执行在独立的有界线程池上进行，不会挤占正常调度。
+     */
+    MisfirePolicy misfirePolicy() default MisfirePolicy.SKIP;
+
+    /**
+     * 触发抖动窗口，格式同 {@link #timeout()}，如 "10s"，默认不抖动。
+     * 每次触发会在计划时间后延迟一个固定偏移，偏移由任务ID（及 hadoken.scheduler.engine.jitter-node-name）的哈希决定、
+     * 落在窗口内且重启后不变，使大量同一 cron 的任务不会在同一瞬间触发。窗口应小于触发周期。
+     */
+    String jitter() default "";
 }
\ No newline at end of file
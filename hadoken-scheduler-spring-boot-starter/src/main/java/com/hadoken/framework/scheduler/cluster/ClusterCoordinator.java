@@ -0,0 +1,126 @@
+package com.hadoken.framework.scheduler.cluster;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 集群协调器：定期上报心跳、维护存活成员，并据此通过一致性哈希决定每个任务由哪个实例负责调度。
+ * <p>
+ * 成员变化时会回调 TaskManager 重新平衡：新归属本实例的任务开始调度，迁出的任务取消调度。
+ * 成员收敛期间（如滚动发布）短时间内可能有两个实例同时认为自己负责某个任务，
+ * 因此仍建议为任务配置分布式锁作为兜底，集群模式的作用是让非负责实例根本不去抢锁。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/10 10:40
+ */
+@Slf4j
+public class ClusterCoordinator implements DisposableBean {
+
+    private final ClusterMembership membership;
+    private final HadokenSchedulerProperties.Cluster properties;
+    private final ScheduledExecutorService heartbeatExecutor;
+    private volatile String instanceId;
+    private volatile Set<String> members = Set.of();
+    private volatile ConsistentHashRing ring;
+    private volatile Runnable membershipChangedCallback = () -> {
+    };
+
+    public ClusterCoordinator(ClusterMembership membership, HadokenSchedulerProperties.Cluster properties) {
+        this.membership = membership;
+        this.properties = properties;
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("hadoken-cluster-heartbeat-"));
+    }
+
+    /**
+     * 加入集群：同步上报一次心跳以获得初始成员，然后开始定期心跳。
+     *
+     * @param instanceId                本实例ID
+     * @param membershipChangedCallback 成员变化后的回调（在心跳线程上执行）
+     */
+    public synchronized void join(String instanceId, Runnable membershipChangedCallback) {
+        if (this.instanceId != null) {
+            throw new IllegalStateException("实例 '" + this.instanceId + "' 已加入集群。");
+        }
+        this.instanceId = instanceId;
+        this.membershipChangedCallback = membershipChangedCallback;
+        this.members = Set.of(instanceId);
+        this.ring = new ConsistentHashRing(this.members, properties.getVirtualNodes());
+        refreshMembers(false);
+        long intervalMillis = properties.getHeartbeatInterval().toMillis();
+        heartbeatExecutor.scheduleWithFixedDelay(() -> refreshMembers(true), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info(">>> 实例 {} 已加入调度集群，当前成员: {}", instanceId, members);
+    }
+
+    /**
+     * 判断任务是否由本实例负责调度。未加入集群时始终返回 true。
+     */
+    public boolean isOwner(String taskId) {
+        String self = this.instanceId;
+        return self == null || self.equals(ownerOf(taskId));
+    }
+
+    /**
+     * 任务的负责实例ID。
+     */
+    public String ownerOf(String taskId) {
+        ConsistentHashRing current = this.ring;
+        return current != null ? current.ownerOf(taskId) : this.instanceId;
+    }
+
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private void refreshMembers(boolean notify) {
+        Set<String> alive;
+        try {
+            alive = membership.heartbeat(instanceId, properties.getInstanceTtl());
+        } catch (Exception e) {
+            // 存储不可用时保留上一次的成员视图，避免因网络抖动引发大规模任务迁移
+            log.warn("上报集群心跳失败，沿用当前成员视图 {}。", members, e);
+            return;
+        }
+        if (!alive.contains(instanceId)) {
+            alive = new HashSet<>(alive);
+            alive.add(instanceId);
+        }
+        if (alive.equals(members)) {
+            return;
+        }
+        log.info("调度集群成员变化: {} -> {}", members, alive);
+        this.members = Set.copyOf(alive);
+        this.ring = new ConsistentHashRing(this.members, properties.getVirtualNodes());
+        if (notify) {
+            try {
+                membershipChangedCallback.run();
+            } catch (Exception e) {
+                log.error("集群成员变化后重新平衡任务失败。", e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        heartbeatExecutor.shutdownNow();
+        if (instanceId != null) {
+            try {
+                membership.leave(instanceId);
+            } catch (Exception e) {
+                log.warn("退出调度集群失败，其他实例将在心跳过期后接管任务。", e);
+            }
+        }
+    }
+}
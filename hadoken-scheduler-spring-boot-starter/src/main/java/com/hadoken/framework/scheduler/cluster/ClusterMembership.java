@@ -0,0 +1,30 @@
+package com.hadoken.framework.scheduler.cluster;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 集群成员注册表，基于心跳判定实例存活。
+ * 每种存储类型（内存 / Redis / JDBC）各有一个实现，与任务定义使用同一个存储。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/10 10:05
+ */
+public interface ClusterMembership {
+
+    /**
+     * 上报本实例心跳，并返回当前所有存活实例（包括自己）。
+     * 实现应尽量在一次往返内完成上报与查询。
+     *
+     * @param instanceId 本实例ID
+     * @param ttl        心跳有效期，超过该时间未上报的实例视为下线
+     * @return 存活实例ID集合
+     */
+    Set<String> heartbeat(String instanceId, Duration ttl);
+
+    /**
+     * 主动退出集群，使其他实例尽快接管本实例负责的任务。
+     */
+    void leave(String instanceId);
+}
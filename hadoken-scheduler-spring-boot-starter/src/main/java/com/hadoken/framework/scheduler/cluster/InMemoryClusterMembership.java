@@ -0,0 +1,32 @@
+package com.hadoken.framework.scheduler.cluster;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 内存实现，仅在同一个JVM内共享成员信息，适用于内存存储和测试。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/10 10:08
+ */
+public class InMemoryClusterMembership implements ClusterMembership {
+
+    private final Map<String, Long> expiryByInstance = new ConcurrentHashMap<>();
+
+    @Override
+    public Set<String> heartbeat(String instanceId, Duration ttl) {
+        long now = System.currentTimeMillis();
+        expiryByInstance.put(instanceId, now + ttl.toMillis());
+        expiryByInstance.values().removeIf(expiry -> expiry <= now);
+        return expiryByInstance.keySet().stream().collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public void leave(String instanceId) {
+        expiryByInstance.remove(instanceId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.hadoken.framework.scheduler.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 内存实现，仅在同一个JVM内广播，适用于内存存储和测试。事件在发布线程上同步分发。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/16 10:10
+ */
+@Slf4j
+public class InMemoryTaskChangeBus implements TaskChangeBus {
+
+    private final List<Consumer<TaskChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(TaskChangeEvent event) {
+        for (Consumer<TaskChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                log.warn("处理任务变更事件 {} 失败。", event, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<TaskChangeEvent> listener) {
+        listeners.add(listener);
+    }
+}
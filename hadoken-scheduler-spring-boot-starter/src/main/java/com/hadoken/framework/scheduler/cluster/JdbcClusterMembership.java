@@ -0,0 +1,55 @@
+package com.hadoken.framework.scheduler.cluster;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 基于数据库表的成员注册表，MYBATIS 与 JDBC 存储共用（两者都会提供 JdbcTemplate）。
+ * 表结构：instance_id（主键）、heartbeat_millis（心跳过期时间戳）。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/10 10:20
+ */
+public class JdbcClusterMembership implements ClusterMembership {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String heartbeatUpdateSql;
+    private final String heartbeatInsertSql;
+    private final String findAliveSql;
+    private final String deleteExpiredSql;
+    private final String deleteSql;
+
+    public JdbcClusterMembership(JdbcTemplate jdbcTemplate, HadokenSchedulerProperties.JdbcStoreProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        String table = properties.getInstanceTableName();
+        HadokenSchedulerProperties.JdbcStoreProperties.Sql sql = properties.getSql();
+        this.heartbeatUpdateSql = String.format(sql.getInstanceHeartbeatUpdate(), table);
+        this.heartbeatInsertSql = String.format(sql.getInstanceHeartbeatInsert(), table);
+        this.findAliveSql = String.format(sql.getInstanceFindAlive(), table);
+        this.deleteExpiredSql = String.format(sql.getInstanceDeleteExpired(), table);
+        this.deleteSql = String.format(sql.getInstanceDelete(), table);
+    }
+
+    @Override
+    public Set<String> heartbeat(String instanceId, Duration ttl) {
+        long now = System.currentTimeMillis();
+        long expireAt = now + ttl.toMillis();
+        if (jdbcTemplate.update(heartbeatUpdateSql, expireAt, instanceId) == 0) {
+            jdbcTemplate.update(heartbeatInsertSql, instanceId, expireAt);
+        }
+        jdbcTemplate.update(deleteExpiredSql, now);
+        Set<String> members = new HashSet<>(jdbcTemplate.queryForList(findAliveSql, String.class, now));
+        members.add(instanceId);
+        return members;
+    }
+
+    @Override
+    public void leave(String instanceId) {
+        jdbcTemplate.update(deleteSql, instanceId);
+    }
+}
@@ -0,0 +1,120 @@
+package com.hadoken.framework.scheduler.cluster;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.enums.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 基于变更表的通知，MYBATIS 与 JDBC 存储共用。
+ * 表结构：seq（自增主键）、task_id、change_type、status、instance_id、created_millis。
+ * <p>
+ * 每个实例记住已读到的最大 seq，由后台线程按固定间隔查询 seq 更大的记录，
+ * 每次轮询只是一次主键范围查询，与任务数量无关；过期的记录由各实例顺带清理。
+ * 并发事务可能以与 seq 不同的顺序提交，极少数情况下会漏掉一条通知，
+ * 这类变更由任务管理器按 cluster.resync-interval 定期从存储同步时补上。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/16 10:20
+ */
+@Slf4j
+public class JdbcTaskChangeBus implements TaskChangeBus, DisposableBean {
+
+    private static final int MAX_EVENTS_PER_POLL = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertSql;
+    private final String findAfterSql;
+    private final String deleteExpiredSql;
+    private final Duration retention;
+    private final List<Consumer<TaskChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService poller;
+    private long lastSeq;
+    private long nextCleanupMillis;
+
+    public JdbcTaskChangeBus(JdbcTemplate jdbcTemplate, HadokenSchedulerProperties.JdbcStoreProperties properties,
+                             Duration pollInterval, Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        String table = properties.getChangeTableName();
+        HadokenSchedulerProperties.JdbcStoreProperties.Sql sql = properties.getSql();
+        this.insertSql = String.format(sql.getChangeInsert(), table);
+        this.findAfterSql = String.format(sql.getChangeFindAfter(), table);
+        this.deleteExpiredSql = String.format(sql.getChangeDeleteExpired(), table);
+        this.retention = retention;
+        // 只关心启动之后的变更，启动前的状态已从存储中加载
+        Long maxSeq = jdbcTemplate.queryForObject(String.format(sql.getChangeMaxSeq(), table), Long.class);
+        this.lastSeq = maxSeq != null ? maxSeq : 0L;
+        this.poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("hadoken-task-change-poller-"));
+        long intervalMillis = pollInterval.toMillis();
+        poller.scheduleWithFixedDelay(this::poll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(TaskChangeEvent event) {
+        jdbcTemplate.update(insertSql, event.taskId(), event.type().name(),
+                event.status() != null ? event.status().name() : null, event.instanceId(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void subscribe(Consumer<TaskChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    private void poll() {
+        try {
+            List<Row> rows;
+            do {
+                rows = jdbcTemplate.query(findAfterSql, (rs, rowNum) -> new Row(rs.getLong("seq"), new TaskChangeEvent(
+                        TaskChangeEvent.Type.valueOf(rs.getString("change_type")),
+                        rs.getString("task_id"),
+                        rs.getString("status") != null ? TaskStatus.valueOf(rs.getString("status")) : null,
+                        rs.getString("instance_id"))), lastSeq, MAX_EVENTS_PER_POLL);
+                for (Row row : rows) {
+                    lastSeq = row.seq();
+                    dispatch(row.event());
+                }
+            } while (rows.size() == MAX_EVENTS_PER_POLL);
+            cleanupIfDue();
+        } catch (Exception e) {
+            log.warn("轮询任务变更记录失败。", e);
+        }
+    }
+
+    private void dispatch(TaskChangeEvent event) {
+        for (Consumer<TaskChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                log.warn("处理任务变更事件 {} 失败。", event, e);
+            }
+        }
+    }
+
+    private void cleanupIfDue() {
+        long now = System.currentTimeMillis();
+        if (now < nextCleanupMillis) {
+            return;
+        }
+        nextCleanupMillis = now + retention.toMillis();
+        jdbcTemplate.update(deleteExpiredSql, now - retention.toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        poller.shutdownNow();
+    }
+
+    private record Row(long seq, TaskChangeEvent event) {
+    }
+}
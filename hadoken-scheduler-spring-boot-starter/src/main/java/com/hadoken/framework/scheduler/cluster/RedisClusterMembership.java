@@ -0,0 +1,51 @@
+package com.hadoken.framework.scheduler.cluster;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于 Redis 有序集合的成员注册表：成员为实例ID，分值为心跳过期时间戳。
+ * 上报心跳、清理过期实例、查询存活实例在一个 Lua 脚本中完成，每次心跳只需一次往返。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/10 10:12
+ */
+public class RedisClusterMembership implements ClusterMembership {
+
+    /**
+     * KEYS[1]=成员集合Key, ARGV[1]=实例ID, ARGV[2]=当前时间戳, ARGV[3]=过期时间戳。
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> HEARTBEAT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1]) " +
+                    "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[2]) " +
+                    "return redis.call('ZRANGE', KEYS[1], 0, -1)", List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String membersKey;
+
+    public RedisClusterMembership(StringRedisTemplate redisTemplate, String membersKey) {
+        this.redisTemplate = redisTemplate;
+        this.membersKey = membersKey;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<String> heartbeat(String instanceId, Duration ttl) {
+        long now = System.currentTimeMillis();
+        List<String> members = redisTemplate.execute(HEARTBEAT_SCRIPT, List.of(membersKey),
+                instanceId, String.valueOf(now), String.valueOf(now + ttl.toMillis()));
+        return members != null ? Set.copyOf(members) : Set.of(instanceId);
+    }
+
+    @Override
+    public void leave(String instanceId) {
+        redisTemplate.opsForZSet().remove(membersKey, instanceId);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hadoken.framework.scheduler.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * 基于 Redis 发布/订阅的变更通知，事件在毫秒级送达所有在线实例。
+ * 发布/订阅不保证送达（订阅连接断开期间的事件会丢失），
+ * 断线期间错过的变更由任务管理器按 cluster.resync-interval 定期从存储同步时补上。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/16 10:15
+ */
+@Slf4j
+public class RedisTaskChangeBus implements TaskChangeBus, DisposableBean {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChannelTopic topic;
+    private final RedisMessageListenerContainer container;
+
+    public RedisTaskChangeBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.topic = new ChannelTopic(channel);
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        this.container.afterPropertiesSet();
+        this.container.start();
+    }
+
+    @Override
+    public void publish(TaskChangeEvent event) {
+        redisTemplate.convertAndSend(topic.getTopic(), event.encode());
+    }
+
+    @Override
+    public void subscribe(Consumer<TaskChangeEvent> listener) {
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                listener.accept(TaskChangeEvent.decode(body));
+            } catch (Exception e) {
+                log.warn("处理任务变更事件 '{}' 失败。", body, e);
+            }
+        }, topic);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+}
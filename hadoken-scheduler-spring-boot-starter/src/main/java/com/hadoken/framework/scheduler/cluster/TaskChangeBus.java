@@ -0,0 +1,25 @@
+package com.hadoken.framework.scheduler.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 任务变更通知通道，用于把某个实例上的启停、创建、删除操作及时同步到所有实例的运行时任务。
+ * 每种存储类型各有一个实现：Redis 为发布/订阅，JDBC / MYBATIS 为按自增序号轮询变更表，内存为进程内广播。
+ * 通知只是“去看一下”的提示，状态以存储为准，因此重复或乱序的通知都是无害的。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/16 10:00
+ */
+public interface TaskChangeBus {
+
+    /**
+     * 广播一个变更事件。发送方自己也可能收到，由订阅方按实例ID过滤。
+     */
+    void publish(TaskChangeEvent event);
+
+    /**
+     * 订阅变更事件，回调在通知通道自己的线程上执行。
+     */
+    void subscribe(Consumer<TaskChangeEvent> listener);
+}
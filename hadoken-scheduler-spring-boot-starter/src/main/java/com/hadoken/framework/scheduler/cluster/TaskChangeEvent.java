@@ -0,0 +1,53 @@
+package com.hadoken.framework.scheduler.cluster;
+
+import com.hadoken.framework.scheduler.enums.TaskStatus;
+
+/**
+ * 任务变更事件，由发生变更的实例在写入存储后广播给其他实例。
+ *
+ * @param type       变更类型
+ * @param taskId     任务ID
+ * @param status     变更后的状态，仅 STATUS 事件有值
+ * @param instanceId 发出事件的实例ID，实例据此忽略自己发出的事件
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/16 10:05
+ */
+public record TaskChangeEvent(Type type, String taskId, TaskStatus status, String instanceId) {
+
+    public enum Type {
+        /**
+         * 启动或停止
+         */
+        STATUS,
+        /**
+         * 任务定义新增或变更，接收方需从存储中重新加载
+         */
+        DEFINITION,
+        /**
+         * 任务被删除
+         */
+        DELETED
+    }
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 编码为单行文本：类型|状态|实例ID|任务ID。任务ID放在最后，允许其中包含分隔符。
+     */
+    public String encode() {
+        return type.name() + SEPARATOR + (status != null ? status.name() : "") + SEPARATOR + instanceId + SEPARATOR + taskId;
+    }
+
+    /**
+     * @throws IllegalArgumentException 文本格式不正确
+     */
+    public static TaskChangeEvent decode(String text) {
+        String[] parts = text.split("\\|", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("无法解析任务变更事件: " + text);
+        }
+        return new TaskChangeEvent(Type.valueOf(parts[0]), parts[3],
+                parts[1].isEmpty() ? null : TaskStatus.valueOf(parts[1]), parts[2]);
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * 集群模式：实例心跳、成员管理、基于一致性哈希的任务归属，以及实例间的任务变更通知
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/10 10:00
+ */
+package com.hadoken.framework.scheduler.cluster;
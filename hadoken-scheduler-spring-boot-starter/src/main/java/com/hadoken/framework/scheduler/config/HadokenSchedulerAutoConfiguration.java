@@ -1,23 +1,53 @@
 package com.hadoken.framework.scheduler.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hadoken.framework.scheduler.cluster.ClusterCoordinator;
+import com.hadoken.framework.scheduler.cluster.ClusterMembership;
+import com.hadoken.framework.scheduler.cluster.InMemoryClusterMembership;
+import com.hadoken.framework.scheduler.cluster.InMemoryTaskChangeBus;
+import com.hadoken.framework.scheduler.cluster.JdbcClusterMembership;
+import com.hadoken.framework.scheduler.cluster.JdbcTaskChangeBus;
+import com.hadoken.framework.scheduler.cluster.RedisClusterMembership;
+import com.hadoken.framework.scheduler.cluster.RedisTaskChangeBus;
+import com.hadoken.framework.scheduler.cluster.TaskChangeBus;
+import com.hadoken.framework.scheduler.engine.TaskDispatcher;
+import com.hadoken.framework.scheduler.engine.TaskSchedulerTriggerEngine;
+import com.hadoken.framework.scheduler.engine.TimingWheelTriggerEngine;
+import com.hadoken.framework.scheduler.engine.TriggerEngine;
 import com.hadoken.framework.scheduler.endpoint.SchedulerController;
 import com.hadoken.framework.scheduler.endpoint.SchedulerLogController;
+import com.hadoken.framework.scheduler.endpoint.SchedulerStatsController;
+import com.hadoken.framework.scheduler.endpoint.TaskEventBroadcaster;
+import com.hadoken.framework.scheduler.listener.TaskLifecycleListener;
 import com.hadoken.framework.scheduler.lock.DistributedLockProvider;
+import com.hadoken.framework.scheduler.lock.InProcessLockProvider;
+import com.hadoken.framework.scheduler.lock.RedisLeaseLockProvider;
+import com.hadoken.framework.scheduler.manager.MisfireHandler;
 import com.hadoken.framework.scheduler.manager.TaskManager;
 import com.hadoken.framework.scheduler.manager.TaskManagerImpl;
+import com.hadoken.framework.scheduler.stats.TaskStatsAggregator;
 import com.hadoken.framework.scheduler.store.TaskLogStore;
+import com.hadoken.framework.scheduler.store.TaskStatsStore;
 import com.hadoken.framework.scheduler.store.TaskStore;
+import com.hadoken.framework.scheduler.store.batch.BatchingTaskLogStore;
+import com.hadoken.framework.scheduler.store.jdbc.JdbcTaskLogStore;
+import com.hadoken.framework.scheduler.store.jdbc.JdbcTaskStatsStore;
+import com.hadoken.framework.scheduler.store.jdbc.JdbcTaskStore;
 import com.hadoken.framework.scheduler.store.memory.InMemoryTaskLogStore;
+import com.hadoken.framework.scheduler.store.memory.InMemoryTaskStatsStore;
 import com.hadoken.framework.scheduler.store.memory.InMemoryTaskStore;
 import com.hadoken.framework.scheduler.store.mybatis.MybatisTaskLogStore;
 import com.hadoken.framework.scheduler.store.mybatis.MybatisTaskStore;
 import com.hadoken.framework.scheduler.store.mybatis.TaskDefinitionMapper;
 import com.hadoken.framework.scheduler.store.mybatis.TaskLogMapper;
 import com.hadoken.framework.scheduler.store.redis.RedisTaskLogStore;
+import com.hadoken.framework.scheduler.store.redis.RedisTaskStatsStore;
 import com.hadoken.framework.scheduler.store.redis.RedisTaskStore;
+import com.hadoken.framework.scheduler.store.retention.MysqlLogPartitionManager;
+import com.hadoken.framework.scheduler.store.retention.TaskLogRetention;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -25,8 +55,10 @@ import org.springframework.boot.autoconfigure.task.TaskSchedulingProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
@@ -42,7 +74,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 @EnableScheduling
 @ConditionalOnProperty(name = "hadoken.scheduler.enabled", havingValue = "true", matchIfMissing = true)
 @EnableConfigurationProperties({HadokenSchedulerProperties.class, TaskSchedulingProperties.class})
-@Import({HadokenSchedulerConfigurer.class})
+@Import({HadokenSchedulerConfigurer.class, HadokenSchedulerMetricsConfiguration.class})
 public class HadokenSchedulerAutoConfiguration {
 
     private final HadokenSchedulerProperties properties;
@@ -60,6 +92,7 @@ public class HadokenSchedulerAutoConfiguration {
     public TaskStore taskStore(
             HadokenSchedulerProperties properties,
             ObjectProvider<TaskDefinitionMapper> mybatisMapperProvider,
+            ObjectProvider<JdbcTemplate> jdbcTemplateProvider,
             ObjectProvider<StringRedisTemplate> redisTemplateProvider,
             ObjectProvider<ObjectMapper> objectMapperProvider
     ) {
@@ -67,6 +100,7 @@ public class HadokenSchedulerAutoConfiguration {
         log.info(">>> 使用 {} 方式配置定时任务存储", type);
         return switch (type) {
             case MYBATIS -> new MybatisTaskStore(mybatisMapperProvider.getIfAvailable());
+            case JDBC -> new JdbcTaskStore(jdbcTemplateProvider.getObject(), properties.getStore().getJdbc());
             case REDIS -> new RedisTaskStore(
                     redisTemplateProvider.getIfAvailable(),
                     properties.getStore().getRedis(),
@@ -87,44 +121,227 @@ public class HadokenSchedulerAutoConfiguration {
     public TaskLogStore taskLogStore(
             HadokenSchedulerProperties properties,
             ObjectProvider<TaskLogMapper> mybatisLogMapperProvider,
+            ObjectProvider<JdbcTemplate> jdbcTemplateProvider,
             ObjectProvider<StringRedisTemplate> redisTemplateProvider,
             ObjectProvider<ObjectMapper> objectMapperProvider
     ) {
         HadokenSchedulerProperties.Store.Type type = properties.getStore().getType();
         log.info(">>> 使用 {} 方式配置 日志存储", type);
-        return switch (type) {
+        TaskLogStore taskLogStore = switch (type) {
             case MYBATIS -> new MybatisTaskLogStore(mybatisLogMapperProvider.getIfAvailable());
+            case JDBC -> new JdbcTaskLogStore(jdbcTemplateProvider.getObject(), properties.getStore().getJdbc());
             case REDIS -> new RedisTaskLogStore(
                     redisTemplateProvider.getIfAvailable(),
                     properties.getStore().getRedis(),
                     objectMapperProvider.getIfAvailable(ObjectMapper::new));
             case MEMORY -> {
                 log.warn(">>> 任务管理器正在使用内存做为日志存储方式.");
-                yield new InMemoryTaskLogStore();
+                yield new InMemoryTaskLogStore(properties.getLogRetentionSize());
             }
         };
+        if (properties.getLogWriteBehind().isEnabled()) {
+            return new BatchingTaskLogStore(taskLogStore, properties.getLogWriteBehind());
+        }
+        return taskLogStore;
     }
 
     /**
-     * 定义核心的 TaskManager。
-     * 它依赖于 Spring 容器中已经存在的全局 TaskScheduler 和我们定义的 TaskStore
+     * 根据 hadoken.scheduler.lock.provider 创建内置的锁实现；用户自行注册了 DistributedLockProvider 时不生效。
+     */
+    @Bean
+    @ConditionalOnMissingBean(DistributedLockProvider.class)
+    @ConditionalOnProperty(name = "hadoken.scheduler.lock.provider")
+    public DistributedLockProvider distributedLockProvider(ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        HadokenSchedulerProperties.Lock lock = properties.getLock();
+        log.info(">>> 使用内置 {} 分布式锁", lock.getProvider());
+        return switch (lock.getProvider()) {
+            case REDIS -> new RedisLeaseLockProvider(
+                    redisTemplateProvider.getObject(),
+                    lock.getKeyPrefix(),
+                    lock.getLeaseTime()
+            );
+            case IN_PROCESS -> new InProcessLockProvider();
+        };
+    }
+
+    /**
+     * 根据配置创建任务触发引擎。
      * 注意：我们直接注入 ThreadPoolTaskScheduler，这是 Spring Boot 在 TaskSchedulingAutoConfiguration 中
      * 默认创建的Bean。我们复用它，而不是创建新的，以保证配置统一。
+     * 时间轮引擎不注册为 TaskScheduler，避免影响 Spring Boot 对默认调度器的自动配置。
+     */
+    @Bean
+    @ConditionalOnMissingBean(TriggerEngine.class)
+    public TriggerEngine triggerEngine(ThreadPoolTaskScheduler taskScheduler) {
+        HadokenSchedulerProperties.Engine engine = properties.getEngine();
+        log.info(">>> 使用 {} 作为定时任务触发引擎", engine.getType());
+        return switch (engine.getType()) {
+            case SCHEDULER -> new TaskSchedulerTriggerEngine(taskScheduler);
+            case TIMING_WHEEL -> new TimingWheelTriggerEngine(
+                    engine.getTickDuration(),
+                    engine.getWheelSize(),
+                    engine.getLevels(),
+                    engine.getWorkerPoolSize()
+            );
+        };
+    }
+
+    /**
+     * 定义核心的 TaskManager。
+     * 它依赖于触发引擎和我们定义的 TaskStore。
      */
     @Bean
     @ConditionalOnMissingBean(TaskManager.class)
-    public TaskManager taskManager(ThreadPoolTaskScheduler taskScheduler, TaskStore taskStore, TaskLogStore taskLogStore,
+    public TaskManager taskManager(TriggerEngine triggerEngine, TaskStore taskStore, TaskLogStore taskLogStore,
                                    ApplicationContext applicationContext,
-                                   ObjectProvider<DistributedLockProvider> lockProvider) {
-        return new TaskManagerImpl(taskScheduler, taskStore, taskLogStore, this.properties, applicationContext, lockProvider);
+                                   ObjectProvider<DistributedLockProvider> lockProvider,
+                                   TaskDispatcher taskDispatcher,
+                                   ObjectProvider<TaskLifecycleListener> lifecycleListeners,
+                                   ObjectProvider<ClusterCoordinator> clusterCoordinator,
+                                   MisfireHandler misfireHandler,
+                                   ObjectProvider<TaskChangeBus> changeBus) {
+        return new TaskManagerImpl(triggerEngine, taskStore, taskLogStore, this.properties, applicationContext,
+                lockProvider, taskDispatcher, lifecycleListeners, clusterCoordinator, misfireHandler, changeBus);
     }
 
+    /**
+     * 错过触发的检测与补偿，补偿执行使用独立的有界线程池。
+     */
+    @Bean
+    @ConditionalOnMissingBean(MisfireHandler.class)
+    public MisfireHandler misfireHandler(TaskStore taskStore) {
+        return new MisfireHandler(taskStore, properties.getMisfire());
+    }
+
+    /**
+     * 集群成员注册表，与任务定义使用同一种存储。
+     */
+    @Bean
+    @ConditionalOnMissingBean(ClusterMembership.class)
+    @ConditionalOnProperty(name = "hadoken.scheduler.cluster.enabled", havingValue = "true")
+    public ClusterMembership clusterMembership(ObjectProvider<JdbcTemplate> jdbcTemplateProvider,
+                                               ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        HadokenSchedulerProperties.Store.Type type = properties.getStore().getType();
+        log.info(">>> 使用 {} 方式维护调度集群成员", type);
+        return switch (type) {
+            case MYBATIS, JDBC -> new JdbcClusterMembership(jdbcTemplateProvider.getObject(), properties.getStore().getJdbc());
+            case REDIS -> new RedisClusterMembership(redisTemplateProvider.getObject(),
+                    properties.getStore().getRedis().getClusterMembersKey());
+            case MEMORY -> {
+                log.warn(">>> 内存存储无法跨进程共享集群成员，集群模式仅在单个JVM内生效.");
+                yield new InMemoryClusterMembership();
+            }
+        };
+    }
+
+    /**
+     * 实例间的任务变更通知，与任务定义使用同一种存储。
+     * 集群模式下总是启用：非负责实例上的启停只写入存储，需要通过通知交给负责实例执行。
+     */
+    @Bean
+    @ConditionalOnMissingBean(TaskChangeBus.class)
+    @Conditional(OnTaskChangeEventsCondition.class)
+    public TaskChangeBus taskChangeBus(ObjectProvider<JdbcTemplate> jdbcTemplateProvider,
+                                       ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        HadokenSchedulerProperties.Store.Type type = properties.getStore().getType();
+        log.info(">>> 使用 {} 方式广播任务变更", type);
+        HadokenSchedulerProperties.Cluster cluster = properties.getCluster();
+        return switch (type) {
+            case MYBATIS, JDBC -> new JdbcTaskChangeBus(jdbcTemplateProvider.getObject(), properties.getStore().getJdbc(),
+                    cluster.getChangePollInterval(), cluster.getChangeRetention());
+            case REDIS -> new RedisTaskChangeBus(redisTemplateProvider.getObject(),
+                    properties.getStore().getRedis().getChangeChannel());
+            case MEMORY -> {
+                log.warn(">>> 内存存储无法跨进程广播任务变更，仅在单个JVM内生效.");
+                yield new InMemoryTaskChangeBus();
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ClusterCoordinator.class)
+    @ConditionalOnProperty(name = "hadoken.scheduler.cluster.enabled", havingValue = "true")
+    public ClusterCoordinator clusterCoordinator(ClusterMembership clusterMembership) {
+        return new ClusterCoordinator(clusterMembership, properties.getCluster());
+    }
+
+    /**
+     * 任务分发器：INLINE 模式下直接在调度线程执行，DISPATCH 模式下交给虚拟线程（或回退线程池）执行。
+     */
+    @Bean
+    @ConditionalOnMissingBean(TaskDispatcher.class)
+    public TaskDispatcher taskDispatcher() {
+        log.info(">>> 定时任务执行方式: {}", properties.getExecution().getMode());
+        return TaskDispatcher.create(properties.getExecution());
+    }
+
+    /**
+     * 执行日志保留：定期分批清理过期日志，可选维护 MySQL 按天分区。
+     */
+    @Bean
+    @ConditionalOnMissingBean(TaskLogRetention.class)
+    @ConditionalOnProperty(name = "hadoken.scheduler.log-retention.enabled", havingValue = "true")
+    public TaskLogRetention taskLogRetention(TaskLogStore taskLogStore, ObjectProvider<JdbcTemplate> jdbcTemplateProvider) {
+        HadokenSchedulerProperties.LogRetention retention = properties.getLogRetention();
+        MysqlLogPartitionManager partitionManager = null;
+        if (retention.isMysqlPartitioning()) {
+            HadokenSchedulerProperties.Store.Type type = properties.getStore().getType();
+            JdbcTemplate jdbcTemplate = jdbcTemplateProvider.getIfAvailable();
+            if ((type == HadokenSchedulerProperties.Store.Type.JDBC || type == HadokenSchedulerProperties.Store.Type.MYBATIS)
+                    && jdbcTemplate != null) {
+                partitionManager = new MysqlLogPartitionManager(jdbcTemplate, properties.getStore().getJdbc().getLogTableName());
+            } else {
+                log.warn(">>> 日志分区维护仅支持 JDBC / MYBATIS 存储且需要 JdbcTemplate，已忽略.");
+            }
+        }
+        return new TaskLogRetention(taskLogStore, retention, partitionManager);
+    }
+
+    /**
+     * 按分钟预聚合的执行统计存储，与任务定义使用同一种存储。
+     */
+    @Bean
+    @ConditionalOnMissingBean(TaskStatsStore.class)
+    @ConditionalOnProperty(name = "hadoken.scheduler.stats.enabled", havingValue = "true")
+    public TaskStatsStore taskStatsStore(ObjectProvider<JdbcTemplate> jdbcTemplateProvider,
+                                         ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        HadokenSchedulerProperties.Store.Type type = properties.getStore().getType();
+        log.info(">>> 使用 {} 方式存储执行统计", type);
+        return switch (type) {
+            case MYBATIS, JDBC -> new JdbcTaskStatsStore(jdbcTemplateProvider.getObject(), properties.getStore().getJdbc());
+            case REDIS -> new RedisTaskStatsStore(redisTemplateProvider.getObject(), properties.getStore().getRedis(),
+                    properties.getStats().getRetainFor());
+            case MEMORY -> new InMemoryTaskStatsStore();
+        };
+    }
+
+    /**
+     * 执行统计聚合器，作为 {@link TaskLifecycleListener} 被 TaskManager 收集。
+     */
+    @Bean
+    @ConditionalOnMissingBean(TaskStatsAggregator.class)
+    @ConditionalOnProperty(name = "hadoken.scheduler.stats.enabled", havingValue = "true")
+    public TaskStatsAggregator taskStatsAggregator(TaskStatsStore taskStatsStore) {
+        return new TaskStatsAggregator(taskStatsStore, properties.getStats());
+    }
+
+    /**
+     * 任务事件推送，作为 {@link TaskLifecycleListener} 被 TaskManager 收集，没有客户端连接时不做任何工作。
+     */
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     @ConditionalOnProperty(name = "hadoken.scheduler.endpoint.enabled", havingValue = "true")
-    public SchedulerController schedulerController(TaskManager taskManager) {
-        return new SchedulerController(taskManager);
+    public TaskEventBroadcaster taskEventBroadcaster() {
+        return new TaskEventBroadcaster(properties.getEndpoint());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "hadoken.scheduler.endpoint.enabled", havingValue = "true")
+    public SchedulerController schedulerController(TaskManager taskManager, TaskEventBroadcaster taskEventBroadcaster) {
+        return new SchedulerController(taskManager, taskEventBroadcaster);
     }
 
     @Bean
@@ -134,4 +351,30 @@ public class HadokenSchedulerAutoConfiguration {
     public SchedulerLogController schedulerLogController(TaskLogStore taskLogStore, HadokenSchedulerProperties properties) {
         return new SchedulerLogController(taskLogStore, properties);
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = {"hadoken.scheduler.endpoint.enabled", "hadoken.scheduler.stats.enabled"}, havingValue = "true")
+    public SchedulerStatsController schedulerStatsController(TaskStatsStore taskStatsStore, HadokenSchedulerProperties properties) {
+        return new SchedulerStatsController(taskStatsStore, properties);
+    }
+
+    /**
+     * 启用了集群模式或显式启用了变更通知时满足。
+     */
+    static class OnTaskChangeEventsCondition extends AnyNestedCondition {
+
+        OnTaskChangeEventsCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(name = "hadoken.scheduler.cluster.enabled", havingValue = "true")
+        static class ClusterEnabled {
+        }
+
+        @ConditionalOnProperty(name = "hadoken.scheduler.cluster.change-events-enabled", havingValue = "true")
+        static class ChangeEventsEnabled {
+        }
+    }
 }
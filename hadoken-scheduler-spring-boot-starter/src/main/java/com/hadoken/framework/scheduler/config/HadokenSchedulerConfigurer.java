@@ -11,8 +11,10 @@ import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.config.IntervalTask;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
@@ -20,6 +22,7 @@ import org.springframework.scheduling.config.TriggerTask;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.scheduling.support.PeriodicTrigger;
 import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -86,6 +89,8 @@ public class HadokenSchedulerConfigurer implements SchedulingConfigurer {
         allTasks.addAll(taskRegistrar.getTriggerTaskList().stream().map(TaskHolder::new).toList());
         allTasks.addAll(taskRegistrar.getFixedRateTaskList().stream().map(t -> new TaskHolder(t, true)).toList());
         allTasks.addAll(taskRegistrar.getFixedDelayTaskList().stream().map(t -> new TaskHolder(t, false)).toList());
+        // cron = "-" 的任务不会被Spring注册，依赖触发的任务需要自行发现
+        allTasks.addAll(findDependencyTasks());
         // 【核心修正】: 增加ID唯一性校验
         validateTaskIds(allTasks);
 
@@ -96,15 +101,18 @@ public class HadokenSchedulerConfigurer implements SchedulingConfigurer {
         // 我们通过反射访问并清空底层的可修改列表，以防止任务被重复调度。
         clearTasksFromRegistrar(taskRegistrar);
 
+        // 先收集全部任务，再交给 TaskManager 一次性与存储同步，避免每个任务单独读写存储
+        List<TaskManager.AnnotatedTask> annotatedTasks = new ArrayList<>(allTasks.size());
         allTasks.forEach(taskHolder -> {
             if (shouldProcess(taskHolder.getRunnable(), processedMethods)) {
-                taskManager.processAnnotatedTask(
+                annotatedTasks.add(new TaskManager.AnnotatedTask(
                         buildTaskDefinition(taskHolder.getRunnable(), taskHolder.getTrigger()),
                         taskHolder.getRunnable(),
                         taskHolder.getTrigger()
-                );
+                ));
             }
         });
+        taskManager.processAnnotatedTasks(annotatedTasks);
     }
 
     /**
@@ -134,6 +142,33 @@ public class HadokenSchedulerConfigurer implements SchedulingConfigurer {
         }
     }
 
+    /**
+     * 发现所有声明了 dependsOn 且 cron = "-" 的 @EnhanceScheduled 方法。
+     * 此时所有单例Bean均已创建完毕，这里只按类型扫描，仅对包含此类方法的Bean调用 getBean。
+     */
+    private List<TaskHolder> findDependencyTasks() {
+        List<TaskHolder> result = new ArrayList<>();
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> beanType = applicationContext.getType(beanName, false);
+            if (beanType == null || !AnnotationUtils.isCandidateClass(beanType, EnhanceScheduled.class)) {
+                continue;
+            }
+            Map<Method, EnhanceScheduled> methods = MethodIntrospector.selectMethods(ClassUtils.getUserClass(beanType),
+                    (MethodIntrospector.MetadataLookup<EnhanceScheduled>) method -> {
+                        EnhanceScheduled ann = AnnotationUtils.findAnnotation(method, EnhanceScheduled.class);
+                        return ann != null && ann.dependsOn().length > 0 && Scheduled.CRON_DISABLED.equals(ann.cron())
+                                ? ann : null;
+                    });
+            if (methods.isEmpty()) {
+                continue;
+            }
+            Object bean = applicationContext.getBean(beanName);
+            methods.keySet().forEach(method -> result.add(new TaskHolder(
+                    new ScheduledMethodRunnable(bean, AopUtils.selectInvocableMethod(method, bean.getClass())), null)));
+        }
+        return result;
+    }
+
     private boolean shouldProcess(Runnable runnable, Set<Method> processedMethods) {
         if (runnable instanceof ScheduledMethodRunnable smr) {
             // 如果方法已经被处理过，则跳过
@@ -151,7 +186,20 @@ public class HadokenSchedulerConfigurer implements SchedulingConfigurer {
             builder.beanName(beanName).methodName(method.getName());
             EnhanceScheduled ann = AnnotationUtils.findAnnotation(method, EnhanceScheduled.class);
             if (ann != null) {
-                builder.id(ann.id()).description(ann.description());
+                builder.id(ann.id()).description(ann.description()).maxConcurrency(ann.maxConcurrency()).shards(ann.shards())
+                        .misfirePolicy(ann.misfirePolicy());
+                if (StringUtils.hasText(ann.timeout())) {
+                    builder.timeout(ann.timeout());
+                }
+                if (StringUtils.hasText(ann.jitter())) {
+                    builder.jitter(ann.jitter());
+                }
+                if (ann.dependsOn().length > 0) {
+                    if (trigger != null) {
+                        throw new IllegalStateException("任务 '" + ann.id() + "' 声明了 dependsOn，必须设置 cron = \"-\" 且不能配置其他触发方式。");
+                    }
+                    builder.triggerType(TriggerType.DEPENDENCY).triggerValue(String.join(",", ann.dependsOn()));
+                }
 
                 if (StringUtils.hasText(ann.lockAtMostForString())) {
                     builder.lockAtMostForString(ann.lockAtMostForString());
@@ -231,6 +279,11 @@ public class HadokenSchedulerConfigurer implements SchedulingConfigurer {
             this.trigger = triggerTask.getTrigger();
         }
 
+        TaskHolder(Runnable runnable, Trigger trigger) {
+            this.runnable = runnable;
+            this.trigger = trigger;
+        }
+
         TaskHolder(IntervalTask intervalTask, boolean isFixedRate) {
             this.runnable = intervalTask.getRunnable();
             PeriodicTrigger periodicTrigger = new PeriodicTrigger(intervalTask.getIntervalDuration());
@@ -0,0 +1,31 @@
+package com.hadoken.framework.scheduler.config;
+
+import com.hadoken.framework.scheduler.metrics.HadokenSchedulerMeterBinder;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 调度器的 Micrometer 指标配置。
+ * 仅当 classpath 中存在 Micrometer 时生效，注册的 MeterBinder 会被 Spring Boot Actuator 自动绑定到 MeterRegistry。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/7 10:40
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(MeterBinder.class)
+@ConditionalOnProperty(name = "hadoken.scheduler.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class HadokenSchedulerMetricsConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public HadokenSchedulerMeterBinder hadokenSchedulerMeterBinder(ObjectProvider<ThreadPoolTaskScheduler> taskScheduler) {
+        return new HadokenSchedulerMeterBinder(taskScheduler);
+    }
+}
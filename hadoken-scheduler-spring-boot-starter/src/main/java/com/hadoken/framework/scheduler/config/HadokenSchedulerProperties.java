@@ -3,6 +3,8 @@ package com.hadoken.framework.scheduler.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * spring 增强定时任务配置文件
  *
@@ -33,6 +35,38 @@ public class HadokenSchedulerProperties {
      * 新增分布式锁的全局配置
      */
     private Lock lock = new Lock();
+    /**
+     * 任务触发引擎配置
+     */
+    private Engine engine = new Engine();
+    /**
+     * 执行日志异步批量写入配置
+     */
+    private LogWriteBehind logWriteBehind = new LogWriteBehind();
+    /**
+     * 任务执行方式配置
+     */
+    private Execution execution = new Execution();
+    /**
+     * Micrometer 指标配置
+     */
+    private Metrics metrics = new Metrics();
+    /**
+     * 集群模式配置
+     */
+    private Cluster cluster = new Cluster();
+    /**
+     * 执行日志保留配置
+     */
+    private LogRetention logRetention = new LogRetention();
+    /**
+     * 错过触发检测与补偿配置
+     */
+    private Misfire misfire = new Misfire();
+    /**
+     * 执行统计预聚合配置
+     */
+    private Stats stats = new Stats();
 
     @Data
     public static class Endpoint {
@@ -44,11 +78,31 @@ public class HadokenSchedulerProperties {
          * 端点URL前缀
          */
         private String prefix = "/api/scheduler";
+        /**
+         * 执行事件推送（SSE）的最大客户端数
+         */
+        private int eventMaxClients = 64;
+        /**
+         * 每个客户端待发送事件队列的容量，队列满时断开该客户端
+         */
+        private int eventQueueCapacity = 256;
+        /**
+         * 单个SSE连接的最长保持时间，到期后由客户端重连
+         */
+        private Duration eventTimeout = Duration.ofMinutes(30);
+        /**
+         * 没有事件时发送心跳的间隔，用于及时发现已断开的连接
+         */
+        private Duration eventHeartbeatInterval = Duration.ofSeconds(15);
+        /**
+         * 发送事件的线程数
+         */
+        private int eventSenderThreads = 2;
     }
 
     @Data
     public static class Store {
-        public enum Type {MEMORY, MYBATIS, REDIS}
+        public enum Type {MEMORY, MYBATIS, JDBC, REDIS}
 
         /**
          * 存储类型，默认为内存
@@ -74,6 +128,294 @@ public class HadokenSchedulerProperties {
          * 当任务注解中未指定 lockAtMostForString 时，此配置生效。
          */
         private String defaultAtMostFor = "PT5M"; // 默认5分钟
+
+        public enum Provider {REDIS, IN_PROCESS}
+
+        /**
+         * 内置锁实现。不配置时不创建，由用户自行注册 DistributedLockProvider Bean。
+         * REDIS 为基于 StringRedisTemplate 的租约锁，IN_PROCESS 为进程内锁（单节点或测试使用）。
+         */
+        private Provider provider;
+
+        /**
+         * 内置 Redis 锁的Key前缀
+         */
+        private String keyPrefix = "hadoken:scheduler:lock:";
+
+        /**
+         * 内置 Redis 锁的租约时长，执行期间由看门狗每隔 1/3 租约续期一次
+         */
+        private Duration leaseTime = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Engine {
+        public enum Type {SCHEDULER, TIMING_WHEEL}
+
+        /**
+         * 触发引擎类型，默认直接使用 Spring 的 ThreadPoolTaskScheduler。
+         * 任务数量很大（上万）时可切换为 TIMING_WHEEL，由分层时间轮统一触发。
+         */
+        private Type type = Type.SCHEDULER;
+
+        /**
+         * 时间轮每个 tick 的时长，也是时间轮的触发精度
+         */
+        private Duration tickDuration = Duration.ofMillis(100);
+
+        /**
+         * 每层时间轮的槽数，会向上取整为2的幂
+         */
+        private int wheelSize = 512;
+
+        /**
+         * 时间轮层数
+         */
+        private int levels = 4;
+
+        /**
+         * 执行到期任务的 worker 线程数
+         */
+        private int workerPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+
+        /**
+         * 参与抖动偏移计算的节点名，应在重启后保持不变（如主机名、StatefulSet 的 Pod 名）。
+         * 为空时偏移只由任务ID决定；未启用集群模式、多个实例调度同一任务时，配置不同的节点名才能把各实例的触发错开
+         */
+        private String jitterNodeName;
+    }
+
+    @Data
+    public static class Cluster {
+        /**
+         * 是否启用集群模式。启用后各实例通过存储上报心跳，每个任务按一致性哈希只由一个实例调度，默认为 false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 心跳上报间隔
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(5);
+
+        /**
+         * 心跳有效期，超过该时间未上报的实例视为下线，其任务由其他实例接管
+         */
+        private Duration instanceTtl = Duration.ofSeconds(15);
+
+        /**
+         * 每个实例在哈希环上的虚拟节点数
+         */
+        private int virtualNodes = 160;
+
+        /**
+         * 是否在实例间广播任务的启停、创建与删除，使所有实例的运行时任务立即生效，默认为 false。
+         * 启用集群模式时总是启用，与此配置无关；未启用集群模式、各实例都调度同一任务时也可单独启用。
+         * Redis 存储使用发布/订阅，JDBC / MYBATIS 存储需要变更表（见 jdbc.change-table-name）。
+         */
+        private boolean changeEventsEnabled = false;
+
+        /**
+         * JDBC / MYBATIS 存储轮询变更表的间隔
+         */
+        private Duration changePollInterval = Duration.ofMillis(200);
+
+        /**
+         * JDBC / MYBATIS 存储变更记录的保留时长
+         */
+        private Duration changeRetention = Duration.ofMinutes(10);
+
+        /**
+         * 启用变更通知时，定期从存储全量同步任务定义与状态的间隔，用于兜底漏掉的变更通知；为 0 时不同步
+         */
+        private Duration resyncInterval = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class LogRetention {
+        /**
+         * 是否定期清理过期的执行日志（JDBC / MyBatis 存储），默认为 false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 日志保留时长，早于该时长的日志会被清理
+         */
+        private Duration retainFor = Duration.ofDays(30);
+
+        /**
+         * 清理间隔
+         */
+        private Duration purgeInterval = Duration.ofHours(1);
+
+        /**
+         * 每批删除的最大行数
+         */
+        private int batchSize = 1000;
+
+        /**
+         * 两批删除之间的停顿，给正常写入让出锁和IO
+         */
+        private Duration batchPause = Duration.ofMillis(100);
+
+        /**
+         * 单次清理最多执行的批数，剩余的留到下一次
+         */
+        private int maxBatchesPerRun = 1000;
+
+        /**
+         * 是否维护 MySQL 按天分区（需日志表已按 RANGE (TO_DAYS(start_time)) 分区），
+         * 启用后每次清理会预建未来的分区并直接删除整天过期的分区
+         */
+        private boolean mysqlPartitioning = false;
+
+        /**
+         * 预建未来多少天的分区
+         */
+        private int partitionDaysAhead = 3;
+    }
+
+    @Data
+    public static class Misfire {
+        /**
+         * 实际触发时间晚于计划触发时间超过该阈值时，才检测期间错过的触发
+         */
+        private Duration threshold = Duration.ofSeconds(5);
+
+        /**
+         * FIRE_ALL_BOUNDED 策略下单次最多补偿的执行次数
+         */
+        private int maxCatchUp = 10;
+
+        /**
+         * 执行补偿的独立线程池大小
+         */
+        private int catchUpPoolSize = 2;
+
+        /**
+         * 补偿线程池的等待队列容量，队列满时新的补偿请求被丢弃
+         */
+        private int catchUpQueueCapacity = 100;
+
+        /**
+         * 最近触发时间先记录在内存中，按该间隔批量写入存储。
+         * 实例异常退出时最多丢失这段时间内的记录，重启后可能把其中已执行的触发误判为错过
+         */
+        private Duration flushInterval = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Stats {
+        /**
+         * 是否按任务、按分钟预聚合执行统计，并提供 /stats/{taskId} 查询端点，默认为 false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 内存中的统计刷写到存储的间隔，也是查询结果的最大延迟
+         */
+        private Duration flushInterval = Duration.ofSeconds(10);
+
+        /**
+         * 统计的保留时长
+         */
+        private Duration retainFor = Duration.ofDays(30);
+
+        /**
+         * 单次查询允许的最大时间范围
+         */
+        private Duration maxQueryRange = Duration.ofDays(7);
+    }
+
+    @Data
+    public static class Metrics {
+        /**
+         * classpath 中存在 Micrometer 时是否注册调度器指标，默认为 true
+         */
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class Execution {
+        public enum Mode {
+            /**
+             * 直接在调度线程上执行业务逻辑
+             */
+            INLINE,
+            /**
+             * 调度线程只负责分发，业务逻辑在虚拟线程（JDK 21+）或有界线程池（JDK 17）上执行
+             */
+            DISPATCH
+        }
+
+        /**
+         * 执行方式，默认为 INLINE
+         */
+        private Mode mode = Mode.INLINE;
+
+        /**
+         * 不支持虚拟线程时，回退线程池的线程数
+         */
+        private int fallbackPoolSize = 64;
+
+        /**
+         * 不支持虚拟线程时，回退线程池的等待队列容量，队列满时本次执行将被跳过
+         */
+        private int fallbackQueueCapacity = 1024;
+
+        /**
+         * 不支持虚拟线程时，并行执行分片的线程数；线程用尽时剩余分片在触发线程上执行
+         */
+        private int shardPoolSize = 16;
+
+        /**
+         * 全局每秒最多开始执行的任务数，超出的执行会被延后而不是丢弃，用于平滑整点等时刻的触发洪峰；
+         * 0 表示不限制
+         */
+        private int maxStartsPerSecond = 0;
+
+        /**
+         * 限速时允许的瞬时突发数
+         */
+        private int startBurst = 10;
+    }
+
+    @Data
+    public static class LogWriteBehind {
+        public enum OverflowPolicy {
+            /**
+             * 队列满时丢弃最早的一条日志
+             */
+            DROP_OLDEST,
+            /**
+             * 队列满时阻塞调度线程，直到后台线程腾出空间
+             */
+            BLOCK
+        }
+
+        /**
+         * 是否启用执行日志的异步批量写入，默认为 false（同步写入）
+         */
+        private boolean enabled = false;
+
+        /**
+         * 环形队列容量，会向上取整为2的幂
+         */
+        private int bufferSize = 8192;
+
+        /**
+         * 每批写入的最大日志条数
+         */
+        private int batchSize = 200;
+
+        /**
+         * 未凑满一批时的刷新间隔
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * 队列满时的处理策略
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
     }
 
     @Data
@@ -86,17 +428,52 @@ public class HadokenSchedulerProperties {
          * 任务调度日志表名
          */
         private String logTableName = "t_schedule_task_log";
+        /**
+         * 集群实例心跳表名
+         */
+        private String instanceTableName = "t_schedule_instance";
+        /**
+         * 任务变更通知表名
+         */
+        private String changeTableName = "t_schedule_task_change";
+        /**
+         * 执行统计（按分钟预聚合）表名
+         */
+        private String statsTableName = "t_schedule_task_stats";
 
         private Sql sql = new Sql();
 
         @Data
         public static class Sql {
-            private String save = "INSERT INTO %s (id, description, source_type, bean_name, method_name, trigger_type, trigger_value, status, lock_at_most_for_string) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-            private String update = "UPDATE %s SET description = ?, source_type = ?, bean_name = ?, method_name = ?, trigger_type = ?, trigger_value = ?, status = ?, lock_at_most_for_string = ? WHERE id = ?";
+            private String save = "INSERT INTO %s (id, description, source_type, bean_name, method_name, trigger_type, trigger_value, status, lock_at_most_for_string, max_concurrency, shards, timeout, misfire_policy, jitter, last_fire_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+            private String update = "UPDATE %s SET description = ?, source_type = ?, bean_name = ?, method_name = ?, trigger_type = ?, trigger_value = ?, status = ?, lock_at_most_for_string = ?, max_concurrency = ?, shards = ?, timeout = ?, misfire_policy = ?, jitter = ? WHERE id = ?";
             private String updateStatus = "UPDATE %s SET status = ? WHERE id = ?";
+            private String updateLastFireTime = "UPDATE %s SET last_fire_time = ? WHERE id = ?";
             private String findById = "SELECT * FROM %s WHERE id = ?";
             private String findAll = "SELECT * FROM %s";
             private String deleteById = "DELETE FROM %s WHERE id = ?";
+            private String logSave = "INSERT INTO %s (log_id, task_id, start_time, duration_millis, success, error_message, instance_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+            private String logFindRecent = "SELECT * FROM %s WHERE task_id = ? ORDER BY start_time DESC, log_id DESC LIMIT ?";
+            private String logFindBefore = "SELECT * FROM %s WHERE task_id = ? AND (start_time < ? OR (start_time = ? AND log_id < ?)) ORDER BY start_time DESC, log_id DESC LIMIT ?";
+            private String logPurgeSelect = "SELECT log_id FROM %s WHERE start_time < ? LIMIT ?";
+            private String logDeleteById = "DELETE FROM %s WHERE log_id = ?";
+            private String instanceHeartbeatUpdate = "UPDATE %s SET heartbeat_millis = ? WHERE instance_id = ?";
+            private String instanceHeartbeatInsert = "INSERT INTO %s (instance_id, heartbeat_millis) VALUES (?, ?)";
+            private String instanceFindAlive = "SELECT instance_id FROM %s WHERE heartbeat_millis > ?";
+            private String instanceDeleteExpired = "DELETE FROM %s WHERE heartbeat_millis <= ?";
+            private String instanceDelete = "DELETE FROM %s WHERE instance_id = ?";
+            private String changeInsert = "INSERT INTO %s (task_id, change_type, status, instance_id, created_millis) VALUES (?, ?, ?, ?, ?)";
+            private String changeFindAfter = "SELECT seq, task_id, change_type, status, instance_id FROM %s WHERE seq > ? ORDER BY seq LIMIT ?";
+            private String changeMaxSeq = "SELECT MAX(seq) FROM %s";
+            private String changeDeleteExpired = "DELETE FROM %s WHERE created_millis < ?";
+            private String statsMerge = "INSERT INTO %s (task_id, bucket_time, exec_count, failure_count, duration_sum_millis, duration_min_millis, duration_max_millis, bin0, bin1, bin2, bin3, bin4, bin5, bin6, bin7) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE exec_count = exec_count + VALUES(exec_count), failure_count = failure_count + VALUES(failure_count), " +
+                    "duration_sum_millis = duration_sum_millis + VALUES(duration_sum_millis), " +
+                    "duration_min_millis = LEAST(duration_min_millis, VALUES(duration_min_millis)), duration_max_millis = GREATEST(duration_max_millis, VALUES(duration_max_millis)), " +
+                    "bin0 = bin0 + VALUES(bin0), bin1 = bin1 + VALUES(bin1), bin2 = bin2 + VALUES(bin2), bin3 = bin3 + VALUES(bin3), " +
+                    "bin4 = bin4 + VALUES(bin4), bin5 = bin5 + VALUES(bin5), bin6 = bin6 + VALUES(bin6), bin7 = bin7 + VALUES(bin7)";
+            private String statsFindRange = "SELECT * FROM %s WHERE task_id = ? AND bucket_time >= ? AND bucket_time < ? ORDER BY bucket_time";
+            private String statsPurge = "DELETE FROM %s WHERE bucket_time < ?";
         }
     }
 
@@ -130,6 +507,18 @@ public class HadokenSchedulerProperties {
          * 日志前缀
          */
         private String logKeyPrefix = "schedule:task:log:";
+        /**
+         * 集群模式下存储存活实例的有序集合Key
+         */
+        private String clusterMembersKey = "schedule:cluster:members";
+        /**
+         * 任务变更通知的发布/订阅频道
+         */
+        private String changeChannel = "schedule:task:changes";
+        /**
+         * 执行统计的Key前缀，每个任务每天一个 Hash
+         */
+        private String statsKeyPrefix = "schedule:task:stats:";
         private int logRetentionSize = 100;
     }
 }
\ No newline at end of file
@@ -0,0 +1,272 @@
+package com.hadoken.framework.scheduler.dag;
+
+import com.hadoken.framework.scheduler.enums.TriggerType;
+import com.hadoken.framework.scheduler.model.TaskDefinition;
+import com.hadoken.framework.scheduler.model.TaskExecutionLog;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * 任务依赖图（DAG）。
+ * <p>
+ * 触发类型为 {@link TriggerType#DEPENDENCY} 的任务以 triggerValue 声明上游任务ID（逗号分隔），
+ * 当所有上游自它上一次被触发以来都成功完成过一次时，它就会被触发；互不依赖的分支由调用方并行触发。
+ * <p>
+ * 每一轮执行（run）从一个非依赖触发的任务开始，下游继承触发它的上游（即最后完成的那个上游）所属的轮次，
+ * 因此沿着“触发者”链回溯即可得到该轮的关键路径。只保留最近 {@value #MAX_RETAINED_RUNS} 轮的记录。
+ * 依赖关系只在本实例内生效：集群模式下下游任务在其最后一个上游完成的实例上触发。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/12 10:30
+ */
+public class TaskDependencyGraph {
+
+    private static final int MAX_RETAINED_RUNS = 100;
+
+    /**
+     * 任务ID -> 上游任务ID
+     */
+    private final Map<String, Set<String>> upstreams = new HashMap<>();
+    /**
+     * 任务ID -> 下游任务ID
+     */
+    private final Map<String, Set<String>> downstreams = new HashMap<>();
+    /**
+     * 每个任务最近一次完成的记录
+     */
+    private final Map<String, NodeRun> lastRuns = new HashMap<>();
+    /**
+     * 每个依赖任务最近一次被触发的时间
+     */
+    private final Map<String, LocalDateTime> lastFiredAt = new HashMap<>();
+    /**
+     * 已被上游触发、尚未完成的任务，记录它所属的轮次和触发者
+     */
+    private final Map<String, NodeRun> pendingFires = new HashMap<>();
+    private final LinkedHashMap<String, List<NodeRun>> runs = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<NodeRun>> eldest) {
+            return size() > MAX_RETAINED_RUNS;
+        }
+    };
+
+    /**
+     * 解析依赖触发任务的上游任务ID。
+     */
+    public static Set<String> parseUpstreams(String triggerValue) {
+        Set<String> result = new LinkedHashSet<>();
+        if (StringUtils.hasText(triggerValue)) {
+            for (String id : triggerValue.split(",")) {
+                if (StringUtils.hasText(id)) {
+                    result.add(id.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 校验任务加入后依赖图仍然合法：依赖触发的任务至少有一个上游，且不会形成环。
+     *
+     * @throws IllegalArgumentException 没有上游、依赖自身或形成环
+     */
+    public synchronized void validate(TaskDefinition definition) {
+        if (definition.getTriggerType() != TriggerType.DEPENDENCY) {
+            return;
+        }
+        String taskId = definition.getId();
+        Set<String> declared = parseUpstreams(definition.getTriggerValue());
+        if (declared.isEmpty()) {
+            throw new IllegalArgumentException("依赖触发的任务 '" + taskId + "' 必须至少声明一个上游任务。");
+        }
+        // 从声明的上游出发沿上游方向搜索，若能回到自身则说明成环
+        Deque<String> stack = new ArrayDeque<>(declared);
+        Set<String> visited = new HashSet<>();
+        while (!stack.isEmpty()) {
+            String current = stack.pop();
+            if (current.equals(taskId)) {
+                throw new IllegalArgumentException("任务 '" + taskId + "' 的依赖关系形成了环。");
+            }
+            if (visited.add(current)) {
+                stack.addAll(upstreams.getOrDefault(current, Set.of()));
+            }
+        }
+    }
+
+    /**
+     * 注册（或替换）任务的依赖关系。
+     *
+     * @throws IllegalArgumentException 依赖关系不合法
+     */
+    public synchronized void register(TaskDefinition definition) {
+        validate(definition);
+        remove(definition.getId());
+        if (definition.getTriggerType() != TriggerType.DEPENDENCY) {
+            return;
+        }
+        Set<String> declared = parseUpstreams(definition.getTriggerValue());
+        upstreams.put(definition.getId(), declared);
+        declared.forEach(upstream -> downstreams.computeIfAbsent(upstream, k -> new LinkedHashSet<>()).add(definition.getId()));
+    }
+
+    /**
+     * 移除任务作为下游的依赖关系，它作为上游的边保留，以便同ID任务重新注册后依赖仍然成立。
+     */
+    public synchronized void remove(String taskId) {
+        Set<String> removed = upstreams.remove(taskId);
+        if (removed != null) {
+            removed.forEach(upstream -> {
+                Set<String> children = downstreams.get(upstream);
+                if (children != null) {
+                    children.remove(taskId);
+                    if (children.isEmpty()) {
+                        downstreams.remove(upstream);
+                    }
+                }
+            });
+        }
+        pendingFires.remove(taskId);
+        lastFiredAt.remove(taskId);
+    }
+
+    /**
+     * 记录一次任务执行完成，并返回因此满足触发条件的下游任务。返回的任务已被标记为触发，调用方必须立即执行它们。
+     *
+     * @param taskId       完成的任务ID
+     * @param executionLog 执行记录
+     * @param canFire      下游任务当前是否允许触发（如是否处于运行状态）
+     * @return 需要触发的下游任务ID
+     */
+    public synchronized List<String> onCompleted(String taskId, TaskExecutionLog executionLog, Predicate<String> canFire) {
+        NodeRun pending = pendingFires.remove(taskId);
+        Set<String> children = downstreams.getOrDefault(taskId, Set.of());
+        if (pending == null && children.isEmpty()) {
+            // 不参与任何依赖关系的任务不做记录
+            return List.of();
+        }
+        LocalDateTime startTime = executionLog.startTime();
+        LocalDateTime endTime = startTime.plus(executionLog.duration());
+        String runId = pending != null ? pending.runId() : UUID.randomUUID().toString();
+        String triggeredBy = pending != null ? pending.triggeredBy() : null;
+        NodeRun run = new NodeRun(runId, taskId, triggeredBy, startTime, endTime, executionLog.success());
+        lastRuns.put(taskId, run);
+        runs.computeIfAbsent(runId, k -> new ArrayList<>()).add(run);
+        if (!run.success()) {
+            return List.of();
+        }
+
+        List<String> ready = new ArrayList<>();
+        for (String child : children) {
+            if (isSatisfied(child) && canFire.test(child)) {
+                lastFiredAt.put(child, endTime);
+                pendingFires.put(child, new NodeRun(runId, child, taskId, endTime, null, false));
+                ready.add(child);
+            }
+        }
+        return ready;
+    }
+
+    private boolean isSatisfied(String taskId) {
+        LocalDateTime firedAt = lastFiredAt.get(taskId);
+        for (String upstream : upstreams.getOrDefault(taskId, Set.of())) {
+            NodeRun last = lastRuns.get(upstream);
+            if (last == null || !last.success() || (firedAt != null && !last.endTime().isAfter(firedAt))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 当前依赖图：任务ID -> 上游任务ID。
+     */
+    public synchronized Map<String, Set<String>> getUpstreams() {
+        Map<String, Set<String>> copy = new LinkedHashMap<>();
+        upstreams.forEach((taskId, parents) -> copy.put(taskId, Set.copyOf(parents)));
+        return copy;
+    }
+
+    /**
+     * 当前依赖图：任务ID -> 下游任务ID。
+     */
+    public synchronized Map<String, Set<String>> getDownstreams() {
+        Map<String, Set<String>> copy = new LinkedHashMap<>();
+        downstreams.forEach((taskId, children) -> copy.put(taskId, Set.copyOf(children)));
+        return copy;
+    }
+
+    /**
+     * 最近若干轮执行的关键路径，最新的在前。
+     */
+    public synchronized List<RunPath> getRecentRuns() {
+        List<RunPath> result = new ArrayList<>(runs.size());
+        runs.forEach((runId, nodes) -> result.add(criticalPath(runId, nodes)));
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 指定轮次的关键路径。
+     */
+    public synchronized Optional<RunPath> getRun(String runId) {
+        List<NodeRun> nodes = runs.get(runId);
+        return nodes != null ? Optional.of(criticalPath(runId, nodes)) : Optional.empty();
+    }
+
+    /**
+     * 从本轮最后完成的任务出发，沿触发者回溯到起点，得到决定本轮总耗时的关键路径。
+     */
+    private static RunPath criticalPath(String runId, List<NodeRun> nodes) {
+        Map<String, NodeRun> byTask = new HashMap<>();
+        NodeRun last = null;
+        boolean success = true;
+        for (NodeRun node : nodes) {
+            byTask.put(node.taskId(), node);
+            success &= node.success();
+            if (last == null || node.endTime().isAfter(last.endTime())) {
+                last = node;
+            }
+        }
+        LinkedList<NodeRun> path = new LinkedList<>();
+        Set<String> visited = new HashSet<>();
+        for (NodeRun current = last; current != null && visited.add(current.taskId());
+             current = current.triggeredBy() != null ? byTask.get(current.triggeredBy()) : null) {
+            path.addFirst(current);
+        }
+        Duration duration = Duration.between(path.getFirst().startTime(), last.endTime());
+        return new RunPath(runId, path.getFirst().taskId(), nodes.size(), success, duration, List.copyOf(path));
+    }
+
+    /**
+     * 一次任务执行在依赖图中的记录。
+     *
+     * @param runId       所属轮次
+     * @param taskId      任务ID
+     * @param triggeredBy 触发它的上游任务ID，轮次起点为 null
+     * @param startTime   开始时间
+     * @param endTime     结束时间
+     * @param success     是否成功
+     */
+    public record NodeRun(String runId, String taskId, String triggeredBy, LocalDateTime startTime,
+                          LocalDateTime endTime, boolean success) {
+    }
+
+    /**
+     * 一轮执行的关键路径。
+     *
+     * @param runId        轮次ID
+     * @param rootTaskId   起点任务ID
+     * @param taskCount    本轮已完成的任务数
+     * @param success      本轮已完成的任务是否全部成功
+     * @param duration     从起点开始到最后一个任务完成的耗时
+     * @param criticalPath 关键路径，从起点到终点
+     */
+    public record RunPath(String runId, String rootTaskId, int taskCount, boolean success, Duration duration,
+                          List<NodeRun> criticalPath) {
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * 任务依赖：依赖图维护、下游触发与关键路径分析
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/12 10:00
+ */
+package com.hadoken.framework.scheduler.dag;
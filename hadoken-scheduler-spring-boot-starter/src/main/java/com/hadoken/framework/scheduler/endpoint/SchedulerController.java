@@ -1,6 +1,8 @@
 package com.hadoken.framework.scheduler.endpoint;
 
+import com.hadoken.framework.scheduler.dag.TaskDependencyGraph;
 import com.hadoken.framework.scheduler.manager.TaskManager;
+import com.hadoken.framework.scheduler.metrics.LatencySnapshot;
 import com.hadoken.framework.scheduler.model.CreateTaskRequestDTO;
 import com.hadoken.framework.scheduler.model.ManagedTask;
 import com.hadoken.framework.scheduler.model.TaskDefinition;
@@ -9,11 +11,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Collection;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -29,15 +34,39 @@ import java.util.stream.Collectors;
 public class SchedulerController {
 
     private final TaskManager taskManager;
+    private final TaskEventBroadcaster eventBroadcaster;
 
-    public SchedulerController(TaskManager taskManager) {
+    public SchedulerController(TaskManager taskManager, TaskEventBroadcaster eventBroadcaster) {
         this.taskManager = taskManager;
+        this.eventBroadcaster = eventBroadcaster;
     }
 
     public record TaskDetailDTO(String id, String description, String sourceType, String triggerType,
                                 String triggerValue, String status, LocalDateTime lastExecutionTime,
                                 Long successCount, Long failureCount, Long avgExecutionTimeMillis,
-                                LocalDateTime nextExecutionTime) {
+                                LocalDateTime nextExecutionTime,
+                                Double p50Millis, Double p90Millis, Double p99Millis, Double maxMillis,
+                                Double ratePerSecond) {
+    }
+
+    public record TaskMetricsDTO(String id, String sourceType, Long count, Long successCount, Long failureCount,
+                                 Double meanMillis, Double p50Millis, Double p90Millis, Double p99Millis,
+                                 Double p999Millis, Double maxMillis, Double ratePerSecond, Integer windowSeconds) {
+    }
+
+    public record TaskDependencyDTO(String id, String triggerType, String status, Set<String> upstreams,
+                                    Set<String> downstreams) {
+    }
+
+    public record DependencyRunDTO(String runId, String rootTaskId, Integer taskCount, Boolean success,
+                                   Long durationMillis, List<CriticalPathNodeDTO> criticalPath) {
+    }
+
+    /**
+     * @param waitMillis 从触发它的上游完成到它开始执行之间的等待时间
+     */
+    public record CriticalPathNodeDTO(String taskId, LocalDateTime startTime, LocalDateTime endTime,
+                                      Long durationMillis, Long waitMillis, Boolean success) {
     }
 
     @Operation(summary = "查询所有动态任务")
@@ -46,6 +75,17 @@ public class SchedulerController {
         return taskManager.getAllTasks().stream().map(this::toDto).collect(Collectors.toList());
     }
 
+    @Operation(summary = "订阅任务执行事件（SSE）", description = "推送执行开始、执行结束和状态变更事件；" +
+            "建议连接后先调用一次 list-all 获取全量，之后按事件增量更新。消费过慢的连接会被断开，需重连。")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeEvents() {
+        SseEmitter emitter = eventBroadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     @Operation(summary = "查询动态任务")
     @PostMapping("/tasks/{id}")
     public ResponseEntity<TaskDetailDTO> getTask(@PathVariable String id) {
@@ -55,6 +95,50 @@ public class SchedulerController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "查询任务耗时分布与执行速率")
+    @PostMapping("/metrics/{id}")
+    public ResponseEntity<TaskMetricsDTO> getTaskMetrics(@PathVariable String id) {
+        return taskManager.getTask(id)
+                .map(this::toMetricsDto)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "查询任务依赖图")
+    @PostMapping("/dependencies")
+    public Collection<TaskDependencyDTO> getDependencies() {
+        Map<String, Set<String>> upstreams = taskManager.getTaskDependencies();
+        Map<String, Set<String>> downstreams = new TreeMap<>();
+        upstreams.forEach((taskId, parents) -> {
+            downstreams.computeIfAbsent(taskId, k -> new TreeSet<>());
+            parents.forEach(parent -> downstreams.computeIfAbsent(parent, k -> new TreeSet<>()).add(taskId));
+        });
+        List<TaskDependencyDTO> result = new ArrayList<>(downstreams.size());
+        downstreams.forEach((taskId, children) -> {
+            Optional<ManagedTask> task = taskManager.getTask(taskId);
+            result.add(new TaskDependencyDTO(taskId,
+                    task.map(t -> t.getDefinition().getTriggerType().name()).orElse(null),
+                    task.map(t -> t.getStatus().name()).orElse(null),
+                    upstreams.getOrDefault(taskId, Set.of()), children));
+        });
+        return result;
+    }
+
+    @Operation(summary = "查询最近的依赖执行及其关键路径")
+    @PostMapping("/dependencies/runs")
+    public List<DependencyRunDTO> getDependencyRuns() {
+        return taskManager.getRecentDependencyRuns().stream().map(this::toRunDto).collect(Collectors.toList());
+    }
+
+    @Operation(summary = "查询一轮依赖执行的关键路径")
+    @PostMapping("/dependencies/runs/{runId}")
+    public ResponseEntity<DependencyRunDTO> getDependencyRun(@PathVariable String runId) {
+        return taskManager.getDependencyRun(runId)
+                .map(this::toRunDto)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @Operation(summary = "开始任务")
     @PostMapping("/start/{id}")
     public ResponseEntity<Void> startTask(@PathVariable String id) {
@@ -126,16 +210,53 @@ public class SchedulerController {
                 .methodName(dto.getMethodName())
                 .triggerType(dto.getTriggerType())
                 .triggerValue(dto.getTriggerValue())
+                .maxConcurrency(dto.getMaxConcurrency())
+                .shards(dto.getShards())
+                .timeout(dto.getTimeout())
+                .jitter(dto.getJitter())
+                .misfirePolicy(dto.getMisfirePolicy())
                 .build();
     }
 
     private TaskDetailDTO toDto(ManagedTask task) {
         TaskDefinition def = task.getDefinition();
+        LatencySnapshot latency = task.getLatencyHistogram().snapshot();
         return new TaskDetailDTO(
                 def.getId(), def.getDescription(), def.getSourceType().name(), def.getTriggerType().name(),
                 def.getTriggerValue(), task.getStatus().name(), task.getLastExecutionTime(),
                 task.getSuccessCount().get(), task.getFailureCount().get(), task.getAverageExecutionTimeMillis(),
-                task.getNextExecutionTime()
+                task.getNextExecutionTime(),
+                toMillis(latency.p50()), toMillis(latency.p90()), toMillis(latency.p99()), toMillis(latency.max()),
+                task.getExecutionRate().getRatePerSecond()
+        );
+    }
+
+    private TaskMetricsDTO toMetricsDto(ManagedTask task) {
+        TaskDefinition def = task.getDefinition();
+        LatencySnapshot latency = task.getLatencyHistogram().snapshot();
+        return new TaskMetricsDTO(
+                def.getId(), def.getSourceType().name(), latency.count(),
+                task.getSuccessCount().get(), task.getFailureCount().get(),
+                latency.mean() / 1_000_000.0, toMillis(latency.p50()), toMillis(latency.p90()),
+                toMillis(latency.p99()), toMillis(latency.p999()), toMillis(latency.max()),
+                task.getExecutionRate().getRatePerSecond(), task.getExecutionRate().getWindowSeconds()
         );
     }
+
+    private DependencyRunDTO toRunDto(TaskDependencyGraph.RunPath run) {
+        List<CriticalPathNodeDTO> path = new ArrayList<>(run.criticalPath().size());
+        LocalDateTime previousEnd = null;
+        for (TaskDependencyGraph.NodeRun node : run.criticalPath()) {
+            Long waitMillis = previousEnd != null ? Duration.between(previousEnd, node.startTime()).toMillis() : null;
+            path.add(new CriticalPathNodeDTO(node.taskId(), node.startTime(), node.endTime(),
+                    Duration.between(node.startTime(), node.endTime()).toMillis(), waitMillis, node.success()));
+            previousEnd = node.endTime();
+        }
+        return new DependencyRunDTO(run.runId(), run.rootTaskId(), run.taskCount(), run.success(),
+                run.duration().toMillis(), path);
+    }
+
+    private static Double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
 }
\ No newline at end of file
@@ -1,15 +1,22 @@
 package com.hadoken.framework.scheduler.endpoint;
 
 import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.model.TaskExecutionLog;
 import com.hadoken.framework.scheduler.store.TaskLogStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +32,11 @@ import java.util.stream.Collectors;
 @RequestMapping("${hadoken.scheduler.endpoint.prefix:/api/scheduler}/logs")
 public class SchedulerLogController {
 
+    /**
+     * 历史日志分页查询单页的最大条数
+     */
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final TaskLogStore taskLogStore;
     private final HadokenSchedulerProperties properties;
 
@@ -37,6 +49,15 @@ public class SchedulerLogController {
                                       String errorMessage, String instanceId) {
     }
 
+    /**
+     * 一页历史日志。
+     *
+     * @param logs       按 (开始时间, 日志ID) 倒序排列的日志
+     * @param nextCursor 下一页的游标，编码了本页最后一条的开始时间和日志ID，原样传回即可；没有更多数据时为 null
+     */
+    public record LogPageDTO(List<TaskExecutionLogDTO> logs, String nextCursor) {
+    }
+
 
     @Operation(summary = "根据 taskId 查询日志")
     @GetMapping("/{taskId}")
@@ -48,13 +69,71 @@ public class SchedulerLogController {
 
         List<TaskExecutionLogDTO> logs = taskLogStore.findRecent(taskId, finalSize)
                 .stream()
-                .map(log -> new TaskExecutionLogDTO(
-                        log.startTime(),
-                        log.duration().toMillis(),
-                        log.success(),
-                        log.errorMessage(),
-                        log.instanceId()))
+                .map(this::toDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(logs);
     }
+
+    @Operation(summary = "按游标分页查询历史日志")
+    @GetMapping("/{taskId}/page")
+    public ResponseEntity<LogPageDTO> getTaskLogPage(@PathVariable String taskId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "50") int size) {
+        // keyset 分页：以上一页最后一条的 (开始时间, 日志ID) 为游标，翻得再深也只扫描一页的索引范围
+        int finalSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LogCursor before = StringUtils.hasText(cursor) ? LogCursor.decode(cursor) : LogCursor.FIRST;
+        if (before == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<TaskExecutionLog> logs = taskLogStore.findBefore(taskId, before.startTime(), before.logId(), finalSize);
+        String nextCursor = logs.size() == finalSize ? LogCursor.encode(logs.get(logs.size() - 1)) : null;
+        return ResponseEntity.ok(new LogPageDTO(logs.stream().map(this::toDto).collect(Collectors.toList()), nextCursor));
+    }
+
+    @Operation(summary = "批量查询多个任务的最近日志")
+    @PostMapping("/recent")
+    public ResponseEntity<Map<String, List<TaskExecutionLogDTO>>> getRecentLogs(@RequestBody List<String> taskIds,
+                                                                               @RequestParam(defaultValue = "10") int size) {
+        int finalSize = Math.min(size, properties.getLogRetentionSize());
+        // 由存储层一次性批量读取，避免逐个任务往返
+        Map<String, List<TaskExecutionLogDTO>> result = new LinkedHashMap<>();
+        taskLogStore.findRecent(taskIds, finalSize).forEach((taskId, logs) ->
+                result.put(taskId, logs.stream().map(this::toDto).collect(Collectors.toList())));
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 分页游标：上一页最后一条日志的开始时间和日志ID，对外编码为 base64url("开始时间|日志ID")。
+     * 日志ID可能为空（旧版本写入的日志），此时只按开始时间翻页。
+     */
+    private record LogCursor(LocalDateTime startTime, String logId) {
+        private static final LogCursor FIRST = new LogCursor(null, null);
+
+        static String encode(TaskExecutionLog last) {
+            String raw = last.startTime() + "|" + (last.logId() != null ? last.logId() : "");
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @return 解析出的游标，格式不正确时返回 null
+         */
+        static LogCursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+                String logId = parts.length > 1 && !parts[1].isEmpty() ? parts[1] : null;
+                return new LogCursor(LocalDateTime.parse(parts[0]), logId);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
+
+    private TaskExecutionLogDTO toDto(TaskExecutionLog log) {
+        return new TaskExecutionLogDTO(
+                log.startTime(),
+                log.duration().toMillis(),
+                log.success(),
+                log.errorMessage(),
+                log.instanceId());
+    }
 }
@@ -0,0 +1,122 @@
+package com.hadoken.framework.scheduler.endpoint;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.model.TaskStatsRollup;
+import com.hadoken.framework.scheduler.store.TaskStatsStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * 定时任务执行统计，数据来自按分钟预聚合的统计存储，不扫描执行日志表。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/18 11:05
+ */
+@Tag(name = "定时任务执行统计")
+@RestController
+@RequestMapping("${hadoken.scheduler.endpoint.prefix:/api/scheduler}/stats")
+public class SchedulerStatsController {
+
+    private final TaskStatsStore statsStore;
+    private final HadokenSchedulerProperties properties;
+
+    public SchedulerStatsController(TaskStatsStore statsStore, HadokenSchedulerProperties properties) {
+        this.statsStore = statsStore;
+        this.properties = properties;
+    }
+
+    /**
+     * 一分钟的统计。
+     */
+    public record MinuteStatsDTO(LocalDateTime minute, long count, long failures, double avgMillis,
+                                 long minMillis, long maxMillis) {
+    }
+
+    /**
+     * 时间范围内的汇总统计。分位数由耗时区间估算，取所在区间的上界（不超过最大耗时）。
+     *
+     * @param bins 各耗时区间的执行次数，区间上界见 binUpperBoundsMillis，最后一个区间无上界
+     */
+    public record TaskStatsDTO(String taskId, LocalDateTime from, LocalDateTime to,
+                               long count, long failures, double successRate,
+                               double avgMillis, long minMillis, long maxMillis,
+                               long p50Millis, long p90Millis, long p99Millis,
+                               long[] binUpperBoundsMillis, long[] bins,
+                               List<MinuteStatsDTO> minutes) {
+    }
+
+    @Operation(summary = "查询任务在时间范围内的执行统计")
+    @GetMapping("/{taskId}")
+    public ResponseEntity<TaskStatsDTO> getTaskStats(@PathVariable String taskId,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        Duration maxRange = properties.getStats().getMaxQueryRange();
+        LocalDateTime end = to != null ? to : LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        LocalDateTime start = from != null ? from : end.minusHours(1);
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (Duration.between(start, end).compareTo(maxRange) > 0) {
+            start = end.minus(maxRange);
+        }
+
+        List<TaskStatsRollup> rollups = statsStore.find(taskId, start, end);
+        long count = 0;
+        long failures = 0;
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        long[] bins = new long[TaskStatsRollup.BIN_COUNT];
+        for (TaskStatsRollup rollup : rollups) {
+            count += rollup.count();
+            failures += rollup.failures();
+            sum += rollup.durationSumMillis();
+            min = Math.min(min, rollup.durationMinMillis());
+            max = Math.max(max, rollup.durationMaxMillis());
+            for (int i = 0; i < bins.length; i++) {
+                bins[i] += rollup.bins()[i];
+            }
+        }
+        List<MinuteStatsDTO> minutes = rollups.stream()
+                .map(rollup -> new MinuteStatsDTO(rollup.minute(), rollup.count(), rollup.failures(),
+                        average(rollup.durationSumMillis(), rollup.count()),
+                        rollup.durationMinMillis(), rollup.durationMaxMillis()))
+                .toList();
+        return ResponseEntity.ok(new TaskStatsDTO(taskId, start, end,
+                count, failures, count == 0 ? 0.0 : (double) (count - failures) / count,
+                average(sum, count), count == 0 ? 0 : min, max,
+                percentile(bins, count, max, 50.0), percentile(bins, count, max, 90.0), percentile(bins, count, max, 99.0),
+                TaskStatsRollup.BIN_UPPER_BOUNDS_MILLIS.clone(), bins, minutes));
+    }
+
+    private static double average(long sum, long count) {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    private static long percentile(long[] bins, long count, long max, double percentile) {
+        if (count == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long running = 0;
+        for (int i = 0; i < bins.length; i++) {
+            running += bins[i];
+            if (running >= rank) {
+                return i < TaskStatsRollup.BIN_UPPER_BOUNDS_MILLIS.length
+                        ? Math.min(TaskStatsRollup.BIN_UPPER_BOUNDS_MILLIS[i], max) : max;
+            }
+        }
+        return max;
+    }
+}
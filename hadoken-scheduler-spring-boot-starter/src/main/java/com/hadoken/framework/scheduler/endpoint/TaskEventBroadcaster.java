@@ -0,0 +1,213 @@
+package com.hadoken.framework.scheduler.endpoint;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.enums.TaskStatus;
+import com.hadoken.framework.scheduler.listener.TaskLifecycleListener;
+import com.hadoken.framework.scheduler.model.ManagedTask;
+import com.hadoken.framework.scheduler.model.TaskExecutionLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 任务事件推送：把执行开始、执行结束和状态变更通过 SSE 推送给管理控制台，代替轮询任务列表。
+ * <p>
+ * 作为 {@link TaskLifecycleListener} 接收事件，在回调线程上只做一次入队；每个客户端一个有界队列，
+ * 由独立的发送线程逐个客户端串行发送，慢客户端不会阻塞任务执行，也不会拖慢其他客户端。
+ * 客户端队列满（消费跟不上）或发送失败时直接断开该客户端，由其自行重连并重新拉取一次全量列表。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/19 10:20
+ */
+@Slf4j
+public class TaskEventBroadcaster implements TaskLifecycleListener, DisposableBean {
+
+    public static final String STARTED = "STARTED";
+    public static final String FINISHED = "FINISHED";
+    public static final String STATUS = "STATUS";
+
+    /**
+     * 推送给客户端的事件，按类型只填充相关字段。
+     *
+     * @param type           事件类型：{@value #STARTED}、{@value #FINISHED} 或 {@value #STATUS}
+     * @param time           执行开始时间（STARTED / FINISHED）或状态变更时间（STATUS）
+     * @param status         变更后的状态，仅 STATUS
+     * @param durationMillis 执行耗时，仅 FINISHED
+     * @param success        是否成功，仅 FINISHED
+     * @param errorMessage   失败原因，仅 FINISHED
+     */
+    public record TaskEventDTO(String type, String taskId, LocalDateTime time, String status, Long durationMillis,
+                               Boolean success, String errorMessage, String instanceId) {
+    }
+
+    /**
+     * 心跳占位事件，发送时写为 SSE 注释行。
+     */
+    private static final TaskEventDTO HEARTBEAT = new TaskEventDTO("HEARTBEAT", null, null, null, null, null, null, null);
+
+    private final HadokenSchedulerProperties.Endpoint properties;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ScheduledThreadPoolExecutor executor;
+
+    public TaskEventBroadcaster(HadokenSchedulerProperties.Endpoint properties) {
+        this.properties = properties;
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, properties.getEventSenderThreads()),
+                new CustomizableThreadFactory("hadoken-task-events-"));
+        this.executor.setRemoveOnCancelPolicy(true);
+        long heartbeatMillis = Math.max(1L, properties.getEventHeartbeatInterval().toMillis());
+        executor.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 注册一个新的客户端。
+     *
+     * @return 客户端数已达上限时返回 null
+     */
+    public SseEmitter subscribe() {
+        if (clients.size() >= Math.max(1, properties.getEventMaxClients())) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(properties.getEventTimeout().toMillis());
+        Client client = new Client(emitter, Math.max(1, properties.getEventQueueCapacity()));
+        emitter.onCompletion(() -> close(client));
+        emitter.onTimeout(() -> drop(client, "连接超时"));
+        emitter.onError(e -> close(client));
+        clients.add(client);
+        log.debug("任务事件客户端已连接，当前 {} 个。", clients.size());
+        return emitter;
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    @Override
+    public void onTaskStarted(ManagedTask task, LocalDateTime startTime) {
+        publish(new TaskEventDTO(STARTED, task.getDefinition().getId(), startTime, null, null, null, null,
+                task.getInstanceId()));
+    }
+
+    @Override
+    public void onTaskExecuted(ManagedTask task, TaskExecutionLog executionLog) {
+        publish(new TaskEventDTO(FINISHED, task.getDefinition().getId(), executionLog.startTime(), null,
+                executionLog.duration() != null ? executionLog.duration().toMillis() : null,
+                executionLog.success(), executionLog.errorMessage(), executionLog.instanceId()));
+    }
+
+    @Override
+    public void onTaskStatusChanged(ManagedTask task, TaskStatus status) {
+        publish(new TaskEventDTO(STATUS, task.getDefinition().getId(), LocalDateTime.now(), status.name(),
+                null, null, null, task.getInstanceId()));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        clients.forEach(client -> drop(client, "服务关闭"));
+    }
+
+    private void publish(TaskEventDTO event) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        for (Client client : clients) {
+            if (!client.queue.offer(event)) {
+                drop(client, "待发送事件超过 " + properties.getEventQueueCapacity() + " 条");
+                continue;
+            }
+            scheduleDrain(client);
+        }
+    }
+
+    private void heartbeat() {
+        for (Client client : clients) {
+            if (client.queue.isEmpty() && client.queue.offer(HEARTBEAT)) {
+                scheduleDrain(client);
+            }
+        }
+    }
+
+    /**
+     * 同一客户端同一时刻最多只有一个发送任务，保证事件按入队顺序发送。
+     */
+    private void scheduleDrain(Client client) {
+        if (client.draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(client));
+            } catch (RejectedExecutionException e) {
+                client.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Client client) {
+        try {
+            TaskEventDTO event;
+            while (!client.closed && (event = client.queue.poll()) != null) {
+                if (event == HEARTBEAT) {
+                    client.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    client.emitter.send(SseEmitter.event().name(event.type()).data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(client, "发送失败: " + e.getMessage());
+            return;
+        } finally {
+            client.draining.set(false);
+        }
+        // 释放发送标记前入队的事件可能没有触发新的发送任务
+        if (!client.closed && !client.queue.isEmpty()) {
+            scheduleDrain(client);
+        }
+    }
+
+    /**
+     * 主动断开客户端。
+     */
+    private void drop(Client client, String reason) {
+        if (close(client)) {
+            log.info("断开任务事件客户端：{}。", reason);
+            try {
+                client.emitter.complete();
+            } catch (Exception e) {
+                log.debug("关闭任务事件连接失败。", e);
+            }
+        }
+    }
+
+    /**
+     * @return 是否由本次调用移除
+     */
+    private boolean close(Client client) {
+        client.closed = true;
+        client.queue.clear();
+        return clients.remove(client);
+    }
+
+    private static final class Client {
+        private final SseEmitter emitter;
+        private final BlockingQueue<TaskEventDTO> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Client(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
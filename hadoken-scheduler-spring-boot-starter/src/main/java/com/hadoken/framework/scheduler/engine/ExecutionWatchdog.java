@@ -0,0 +1,268 @@
+package com.hadoken.framework.scheduler.engine;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 执行超时看门狗。
+ * <p>
+ * 所有配置了超时的执行按截止时间放入同一个 {@link DelayQueue}，由单个后台线程等待最早到期的一个，
+ * 没有任何轮询。执行正常结束时只标记为已完成（惰性取消），到期出队时跳过；
+ * 已完成但未到期的条目累积较多时才统一清理一次，避免每次完成都对队列做 O(n) 的移除。
+ * 到期时看门狗线程只负责中断参与执行的线程（协作式取消），提前释放锁和回调超时处理逻辑（记录日志、通知监听器等）
+ * 交给独立的处理线程池，某次存储写入缓慢不会推迟其他执行的超时判定。
+ * <p>
+ * 每次执行的结果只会被认领一次：执行线程通过 {@link Execution#complete()}、看门狗通过超时，
+ * 先到者负责记录统计与释放执行权，后到者什么也不做，因此挂起的任务最终返回时不会被重复统计。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/13 10:20
+ */
+@Slf4j
+public class ExecutionWatchdog {
+
+    private static final int RUNNING = 0;
+    private static final int COMPLETED = 1;
+    private static final int TIMED_OUT = 2;
+    /**
+     * 已完成但仍留在队列中的条目达到该数量、且超过队列的一半时清理一次
+     */
+    private static final int PURGE_THRESHOLD = 1024;
+    private static final int TIMEOUT_HANDLER_THREADS = 4;
+
+    private final DelayQueue<Execution> queue = new DelayQueue<>();
+    private final AtomicInteger completedInQueue = new AtomicInteger();
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private final ThreadPoolExecutor timeoutHandler;
+    private final Thread thread;
+    private volatile boolean stopped;
+
+    public ExecutionWatchdog() {
+        this.timeoutHandler = new ThreadPoolExecutor(TIMEOUT_HANDLER_THREADS, TIMEOUT_HANDLER_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("hadoken-task-timeout-"));
+        this.timeoutHandler.allowCoreThreadTimeOut(true);
+        this.thread = new CustomizableThreadFactory("hadoken-task-watchdog-").newThread(this::loop);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * 不受监视的执行，永远不会超时。
+     */
+    public static Execution unwatched(String taskId) {
+        return new Execution(taskId, null, Long.MAX_VALUE, null, null);
+    }
+
+    /**
+     * 开始监视一次执行。
+     *
+     * @param taskId    任务ID
+     * @param timeout   超时时间，为 null 或非正数时不监视
+     * @param onTimeout 超时后的处理逻辑，在超时处理线程池上执行
+     * @return 执行句柄
+     */
+    public Execution watch(String taskId, Duration timeout, Consumer<Execution> onTimeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            return unwatched(taskId);
+        }
+        Execution execution = new Execution(taskId, timeout, System.nanoTime() + timeout.toNanos(), onTimeout, this);
+        queue.put(execution);
+        return execution;
+    }
+
+    public void stop() {
+        stopped = true;
+        thread.interrupt();
+        timeoutHandler.shutdown();
+    }
+
+    /**
+     * 执行正常结束后回调。不从队列中移除，只计数，累积较多时整体清理一次。
+     */
+    private void onCompleted() {
+        int completed = completedInQueue.incrementAndGet();
+        if (completed < PURGE_THRESHOLD || completed <= queue.size() / 2 || !purging.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            completedInQueue.set(0);
+            queue.removeIf(execution -> execution.state.get() != RUNNING);
+        } finally {
+            purging.set(false);
+        }
+    }
+
+    /**
+     * 在超时处理线程池上释放资源并回调超时处理逻辑；线程池已关闭时在当前线程执行。
+     */
+    private void handleTimeout(Runnable handler) {
+        try {
+            timeoutHandler.execute(handler);
+        } catch (RejectedExecutionException e) {
+            handler.run();
+        }
+    }
+
+    private void loop() {
+        while (!stopped) {
+            Execution execution;
+            try {
+                execution = queue.take();
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return;
+                }
+                continue;
+            }
+            if (execution.state.get() != RUNNING) {
+                // 已正常结束，惰性取消的条目
+                completedInQueue.decrementAndGet();
+                continue;
+            }
+            try {
+                execution.timeout();
+            } catch (Throwable t) {
+                log.error("处理任务 '{}' 的执行超时失败。", execution.taskId, t);
+            }
+        }
+    }
+
+    /**
+     * 一次被监视的执行。
+     */
+    public static final class Execution implements Delayed {
+        private final String taskId;
+        private final Duration timeout;
+        private final long deadlineNanos;
+        private final Consumer<Execution> onTimeout;
+        /**
+         * 所属的看门狗，不受监视时为 null
+         */
+        private final ExecutionWatchdog watchdog;
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        private final Set<Thread> threads = new LinkedHashSet<>();
+        private final List<AutoCloseable> resources = new ArrayList<>();
+
+        private Execution(String taskId, Duration timeout, long deadlineNanos, Consumer<Execution> onTimeout,
+                          ExecutionWatchdog watchdog) {
+            this.taskId = taskId;
+            this.timeout = timeout;
+            this.deadlineNanos = deadlineNanos;
+            this.onTimeout = onTimeout;
+            this.watchdog = watchdog;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        /**
+         * 登记参与本次执行的线程，超时时会被中断。
+         */
+        public synchronized void attach(Thread thread) {
+            if (state.get() == RUNNING) {
+                threads.add(thread);
+            }
+        }
+
+        /**
+         * 注销参与本次执行的线程。若本次执行已超时，同时清除看门狗留下的中断标记，避免影响线程上的下一个任务。
+         */
+        public synchronized void detach(Thread thread) {
+            threads.remove(thread);
+            if (state.get() == TIMED_OUT && thread == Thread.currentThread()) {
+                Thread.interrupted();
+            }
+        }
+
+        /**
+         * 登记本次执行期间持有的资源（如分布式锁），超时时会被提前关闭；已超时则立即关闭。
+         */
+        public void register(AutoCloseable resource) {
+            synchronized (this) {
+                if (state.get() == RUNNING) {
+                    resources.add(resource);
+                    return;
+                }
+            }
+            closeQuietly(resource);
+        }
+
+        /**
+         * 由执行线程认领本次执行的结果，可重复调用。
+         *
+         * @return false 表示本次执行已被看门狗判定为超时，调用方不应再记录统计或释放执行权
+         */
+        public boolean complete() {
+            if (state.compareAndSet(RUNNING, COMPLETED)) {
+                if (watchdog != null) {
+                    watchdog.onCompleted();
+                }
+                return true;
+            }
+            return state.get() == COMPLETED;
+        }
+
+        public boolean isTimedOut() {
+            return state.get() == TIMED_OUT;
+        }
+
+        private void timeout() {
+            if (!state.compareAndSet(RUNNING, TIMED_OUT)) {
+                return;
+            }
+            List<AutoCloseable> held;
+            synchronized (this) {
+                threads.forEach(Thread::interrupt);
+                held = new ArrayList<>(resources);
+                resources.clear();
+            }
+            log.warn("任务 '{}' 执行超过 {}，已中断执行线程，将释放其持有的锁。", taskId, timeout);
+            watchdog.handleTimeout(() -> {
+                held.forEach(this::closeQuietly);
+                try {
+                    onTimeout.accept(this);
+                } catch (Throwable t) {
+                    log.error("处理任务 '{}' 的执行超时失败。", taskId, t);
+                }
+            });
+        }
+
+        private void closeQuietly(AutoCloseable resource) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn("任务 '{}' 超时后释放资源失败。", taskId, e);
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof Execution execution) {
+                return Long.compare(deadlineNanos - execution.deadlineNanos, 0L);
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
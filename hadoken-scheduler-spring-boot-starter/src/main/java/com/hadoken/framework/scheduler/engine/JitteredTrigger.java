@@ -0,0 +1,86 @@
+package com.hadoken.framework.scheduler.engine;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 为触发器的每次触发加上固定偏移的抖动触发器。
+ * <p>
+ * 偏移由任务ID（以及可选的节点名）的哈希决定，落在 [0, window) 内：同一任务的每次触发偏移相同（周期不变），
+ * 重启后也保持不变；不同任务（不同节点）的偏移彼此分散，避免整点时刻所有任务同时打到数据库和 Redis。
+ * 节点名必须是稳定的标识，不能使用带随机后缀的实例ID，否则每次重启相位都会变化。
+ * <p>
+ * 计算下一次触发前会先从上下文的计划时间、实际开始时间和完成时间中同时扣除偏移，再交给原始触发器：
+ * fixedRate 基于上次计划时间、fixedDelay 基于上次完成时间，两者都只在首次触发时错开一次，周期保持不变、不累积漂移。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/17 10:10
+ */
+public class JitteredTrigger implements Trigger {
+
+    private final Trigger delegate;
+    private final Duration offset;
+
+    private JitteredTrigger(Trigger delegate, Duration offset) {
+        this.delegate = delegate;
+        this.offset = offset;
+    }
+
+    /**
+     * 包装触发器，窗口为空或非正数时原样返回。
+     *
+     * @param delegate 原始触发器
+     * @param window   抖动窗口
+     * @param taskId   任务ID
+     * @param nodeName 重启后保持不变的节点名，可为空
+     */
+    public static Trigger wrap(Trigger delegate, Duration window, String taskId, String nodeName) {
+        if (window == null || window.isNegative() || window.isZero()) {
+            return delegate;
+        }
+        return new JitteredTrigger(delegate, offsetOf(window, taskId, nodeName));
+    }
+
+    /**
+     * 任务（在该节点上）的固定偏移，对相同输入总是返回相同结果。
+     */
+    static Duration offsetOf(Duration window, String taskId, String nodeName) {
+        long hash = fnv1a64(nodeName == null || nodeName.isEmpty() ? taskId : taskId + '@' + nodeName);
+        return Duration.ofMillis(Math.floorMod(hash, Math.max(1L, window.toMillis())));
+    }
+
+    public Duration getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Instant nextExecution(TriggerContext triggerContext) {
+        TriggerContext context = triggerContext;
+        if (triggerContext.lastScheduledExecution() != null) {
+            // 三个时间同时还原到未抖动的时间轴，再交给原始触发器计算
+            context = new SimpleTriggerContext(unshift(triggerContext.lastScheduledExecution()),
+                    unshift(triggerContext.lastActualExecution()), unshift(triggerContext.lastCompletion()));
+        }
+        Instant next = delegate.nextExecution(context);
+        return next != null ? next.plus(offset) : null;
+    }
+
+    private Instant unshift(Instant time) {
+        return time != null ? time.minus(offset) : null;
+    }
+
+    private static long fnv1a64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,64 @@
+package com.hadoken.framework.scheduler.engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 全局的任务启动限速器，基于 GCRA（通用信元速率算法，等价于令牌桶）。
+ * <p>
+ * 只用一个原子变量记录“理论到达时间”，每次申请通过 CAS 预约一个启动时刻，
+ * 超出速率的执行被延后到预约时刻再开始，而不是被丢弃；允许 burst 个执行瞬时通过。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/17 10:30
+ */
+final class StartRateLimiter {
+
+    /**
+     * 两次启动之间的最小间隔
+     */
+    private final long emissionIntervalNanos;
+    /**
+     * 允许的突发容量换算成的时间
+     */
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    StartRateLimiter(int permitsPerSecond, int burst) {
+        this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, permitsPerSecond);
+        this.toleranceNanos = emissionIntervalNanos * (Math.max(1, burst) - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 预约一个启动时刻。
+     *
+     * @return 距预约时刻还需等待的纳秒数，0 表示可以立即开始
+     */
+    long reserve() {
+        for (; ; ) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long base = tat - now > 0 ? tat : now;
+            if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                long wait = tat - toleranceNanos - now;
+                return wait > 0 ? wait : 0;
+            }
+        }
+    }
+
+    /**
+     * 预约并等待到预约时刻。等待期间被中断时提前返回并保留中断标记。
+     */
+    void acquire() {
+        long deadline = System.nanoTime() + reserve();
+        for (long remaining; (remaining = deadline - System.nanoTime()) > 0; ) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+}
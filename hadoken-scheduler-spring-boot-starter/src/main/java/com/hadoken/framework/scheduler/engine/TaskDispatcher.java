@@ -0,0 +1,253 @@
+package com.hadoken.framework.scheduler.engine;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * 任务分发器，决定用户业务逻辑在哪个线程上执行。
+ * <ul>
+ *   <li>INLINE：直接在调度线程上执行（默认，与 Spring 原生行为一致）；</li>
+ *   <li>DISPATCH：调度线程只负责分发，业务逻辑在虚拟线程（JDK 21+）上执行，
+ *   JDK 17 上回退为有界线程池，避免慢任务占用调度线程、拖慢其他任务。</li>
+ * </ul>
+ * 分片任务的各个分片通过 {@link #invokeAll(List)} 并行执行，与执行方式无关；
+ * 配置了超时的执行由 {@link ExecutionWatchdog} 监视；配置了全局启动速率时，每次执行开始前先经过 {@link StartRateLimiter}。
+ * 注意：这里刻意不实现 {@link Executor}，以免被 Spring Boot 识别为应用的默认异步执行器。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/5 09:40
+ */
+@Slf4j
+public class TaskDispatcher implements DisposableBean {
+
+    /**
+     * 为 null 时表示在调用线程上直接执行。
+     */
+    private final ExecutorService executor;
+    private final int shardPoolSize;
+    /**
+     * 启动限速器，为 null 时不限速。
+     */
+    private final StartRateLimiter startLimiter;
+    /**
+     * 分片执行器，首次执行分片任务时才创建。
+     */
+    private volatile ExecutorService shardExecutor;
+    /**
+     * 超时看门狗，首次执行配置了超时的任务时才创建。
+     */
+    private volatile ExecutionWatchdog watchdog;
+    private volatile boolean destroyed;
+
+    private TaskDispatcher(ExecutorService executor, int shardPoolSize, StartRateLimiter startLimiter) {
+        this.executor = executor;
+        this.shardPoolSize = Math.max(1, shardPoolSize);
+        this.startLimiter = startLimiter;
+    }
+
+    /**
+     * 在调度线程上直接执行的分发器。
+     */
+    public static TaskDispatcher inline() {
+        return new TaskDispatcher(null, new HadokenSchedulerProperties.Execution().getShardPoolSize(), null);
+    }
+
+    /**
+     * 根据配置创建分发器。
+     */
+    public static TaskDispatcher create(HadokenSchedulerProperties.Execution properties) {
+        StartRateLimiter startLimiter = null;
+        if (properties.getMaxStartsPerSecond() > 0) {
+            startLimiter = new StartRateLimiter(properties.getMaxStartsPerSecond(), properties.getStartBurst());
+            log.info(">>> 定时任务全局启动速率限制为每秒 {} 个，允许突发 {} 个。",
+                    properties.getMaxStartsPerSecond(), properties.getStartBurst());
+        }
+        if (properties.getMode() == HadokenSchedulerProperties.Execution.Mode.INLINE) {
+            return new TaskDispatcher(null, properties.getShardPoolSize(), startLimiter);
+        }
+        ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+        if (virtualThreadExecutor != null) {
+            log.info(">>> 定时任务将在虚拟线程上执行。");
+            return new TaskDispatcher(virtualThreadExecutor, properties.getShardPoolSize(), startLimiter);
+        }
+        int poolSize = Math.max(1, properties.getFallbackPoolSize());
+        log.info(">>> 当前JDK不支持虚拟线程，定时任务将在大小为 {} 的有界线程池上执行。", poolSize);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getFallbackQueueCapacity())),
+                new CustomizableThreadFactory("hadoken-task-exec-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return new TaskDispatcher(pool, properties.getShardPoolSize(), startLimiter);
+    }
+
+    /**
+     * 分发任务。
+     *
+     * @throws RejectedExecutionException 有界线程池已满或分发器已关闭
+     */
+    public void dispatch(Runnable task) {
+        if (executor == null) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    public boolean isInline() {
+        return executor == null;
+    }
+
+    /**
+     * 等待全局启动许可，在即将开始执行用户逻辑的线程上调用。未配置限速时立即返回。
+     * DISPATCH 模式下等待发生在执行线程上，不会阻塞调度线程。
+     */
+    public void awaitStartPermit() {
+        if (startLimiter != null) {
+            startLimiter.acquire();
+        }
+    }
+
+    /**
+     * 并行执行一组操作并等待全部结束，调用线程自身也会执行其中一个。
+     * 分片执行器饱和或已关闭时退化为在调用线程上执行，因此不会丢失任何操作；
+     * 各操作需自行处理异常。等待期间被中断不会提前返回，只在结束后恢复中断标记。
+     */
+    public void invokeAll(List<Runnable> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        ExecutorService pool = tasks.size() > 1 ? shardExecutor() : null;
+        if (pool == null) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>(tasks.size() - 1);
+        for (int i = 1; i < tasks.size(); i++) {
+            Runnable task = tasks.get(i);
+            try {
+                futures.add(pool.submit(task));
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+        tasks.get(0).run();
+
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    log.error("分片执行出现未处理的异常。", e.getCause());
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 开始监视一次执行，timeout 为空时返回不受监视的句柄。
+     *
+     * @see ExecutionWatchdog#watch(String, Duration, Consumer)
+     */
+    public ExecutionWatchdog.Execution watch(String taskId, Duration timeout,
+                                             Consumer<ExecutionWatchdog.Execution> onTimeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            return ExecutionWatchdog.unwatched(taskId);
+        }
+        ExecutionWatchdog current = watchdog;
+        if (current == null) {
+            synchronized (this) {
+                if (watchdog == null) {
+                    if (destroyed) {
+                        return ExecutionWatchdog.unwatched(taskId);
+                    }
+                    watchdog = new ExecutionWatchdog();
+                }
+                current = watchdog;
+            }
+        }
+        return current.watch(taskId, timeout, onTimeout);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("仍有定时任务未在10秒内执行完成，强制关闭任务执行器。");
+                executor.shutdownNow();
+            }
+        }
+        synchronized (this) {
+            destroyed = true;
+            if (shardExecutor != null) {
+                shardExecutor.shutdown();
+            }
+            if (watchdog != null) {
+                watchdog.stop();
+            }
+        }
+    }
+
+    /**
+     * @return 分片执行器，分发器已关闭时返回 null
+     */
+    private ExecutorService shardExecutor() {
+        ExecutorService current = shardExecutor;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (shardExecutor == null) {
+                if (destroyed) {
+                    return null;
+                }
+                ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+                if (virtualThreadExecutor != null) {
+                    shardExecutor = virtualThreadExecutor;
+                } else {
+                    // 饱和时由调用线程执行（即使已关闭也执行），保证 invokeAll 等待的 Future 一定会完成
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(shardPoolSize, shardPoolSize, 60L, TimeUnit.SECONDS,
+                            new SynchronousQueue<>(),
+                            new CustomizableThreadFactory("hadoken-task-shard-"),
+                            (task, executor) -> task.run());
+                    pool.allowCoreThreadTimeOut(true);
+                    shardExecutor = pool;
+                }
+            }
+            return shardExecutor;
+        }
+    }
+
+    /**
+     * 通过反射调用 Executors.newVirtualThreadPerTaskExecutor()，以便在 JDK 17 下编译、JDK 21+ 下启用虚拟线程。
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("创建虚拟线程执行器失败，回退为有界线程池。", e);
+            return null;
+        }
+    }
+}
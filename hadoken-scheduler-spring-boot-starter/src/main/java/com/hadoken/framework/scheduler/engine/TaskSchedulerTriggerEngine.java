@@ -0,0 +1,34 @@
+package com.hadoken.framework.scheduler.engine;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 默认的触发引擎，直接委托给 Spring 的 TaskScheduler。
+ * 每个任务对应调度线程池 DelayedWorkQueue 中的一个 ScheduledFuture。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/1 10:20
+ */
+public class TaskSchedulerTriggerEngine implements TriggerEngine {
+
+    private final TaskScheduler taskScheduler;
+
+    public TaskSchedulerTriggerEngine(TaskScheduler taskScheduler) {
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return taskScheduler.schedule(task, trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        return taskScheduler.schedule(task, startTime);
+    }
+}
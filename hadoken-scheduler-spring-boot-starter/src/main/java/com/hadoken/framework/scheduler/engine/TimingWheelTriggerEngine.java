@@ -0,0 +1,335 @@
+package com.hadoken.framework.scheduler.engine;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于分层时间轮的触发引擎。
+ * <p>
+ * 与 ThreadPoolTaskScheduler 为每个任务维护一个堆节点不同，这里所有任务共享一个 tick 线程：
+ * <ul>
+ *   <li>第 0 层时间轮的每个槽代表一个 tick，第 n 层的每个槽代表 wheelSize^n 个 tick；</li>
+ *   <li>新增、取消任务均为 O(1)，每个 tick 只处理当前槽，高层槽在低位归零时逐层下放（cascade）；</li>
+ *   <li>到期任务交给独立的 worker 线程池执行，执行完成后再根据 CronTrigger/PeriodicTrigger 计算下一次触发时间并重新入轮。</li>
+ * </ul>
+ * 时间精度为一个 tick（默认 100ms），适用于大量秒级及以上粒度的动态任务。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/1 10:35
+ */
+@Slf4j
+public class TimingWheelTriggerEngine implements TriggerEngine, DisposableBean {
+
+    private final Clock clock = Clock.systemDefaultZone();
+    private final long tickNanos;
+    private final int wheelBits;
+    private final int wheelMask;
+    private final int levels;
+    /**
+     * 时间轮能直接容纳的最大 tick 跨度，超出的任务先放在最高层，下放时重新计算位置。
+     */
+    private final long maxSpanTicks;
+    private final ArrayDeque<WheelTimeout>[][] wheels;
+
+    /**
+     * 其他线程提交的待入轮任务，由 tick 线程在每个 tick 开始时统一转移，时间轮本身只被 tick 线程访问。
+     */
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final ExecutorService workerPool;
+    private final Thread tickerThread;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final long startNanos;
+    private volatile boolean running = true;
+    /**
+     * 当前 tick，仅由 tick 线程读写。
+     */
+    private long currentTick;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheelTriggerEngine(Duration tickDuration, int wheelSize, int levels, int workerPoolSize) {
+        if (tickDuration == null || tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("时间轮 tickDuration 必须大于0");
+        }
+        this.tickNanos = tickDuration.toNanos();
+        // 槽数向上取整为2的幂，便于用位运算定位槽位
+        this.wheelBits = 32 - Integer.numberOfLeadingZeros(Math.max(2, wheelSize) - 1);
+        this.wheelMask = (1 << wheelBits) - 1;
+        this.levels = Math.max(1, Math.min(levels, 62 / wheelBits));
+        this.maxSpanTicks = 1L << (wheelBits * this.levels);
+        this.wheels = new ArrayDeque[this.levels][1 << wheelBits];
+        for (int level = 0; level < this.levels; level++) {
+            for (int slot = 0; slot <= wheelMask; slot++) {
+                wheels[level][slot] = new ArrayDeque<>();
+            }
+        }
+        int poolSize = Math.max(1, workerPoolSize);
+        this.workerPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("hadoken-wheel-worker-"));
+        this.tickerThread = new Thread(this::runTicker, "hadoken-timing-wheel");
+        this.tickerThread.setDaemon(true);
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        WheelTimeout timeout = new WheelTimeout(task, trigger);
+        return timeout.scheduleNext() ? timeout : null;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        WheelTimeout timeout = new WheelTimeout(task, null);
+        enqueue(timeout, startTime);
+        return timeout;
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (started.get()) {
+            LockSupport.unpark(tickerThread);
+            try {
+                tickerThread.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) * 2 + 100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workerPool.shutdown();
+        log.info("时间轮触发引擎已关闭。");
+    }
+
+    private void enqueue(WheelTimeout timeout, Instant executionTime) {
+        if (!running) {
+            throw new RejectedExecutionException("时间轮触发引擎已关闭");
+        }
+        ensureStarted();
+        long delayNanos = Math.max(0L, Duration.between(clock.instant(), executionTime).toNanos());
+        long deadlineNanos = System.nanoTime() + delayNanos;
+        timeout.deadlineNanos = deadlineNanos;
+        // 向上取整，保证任务不会早于预期时间执行
+        timeout.deadlineTick = (deadlineNanos - startNanos + tickNanos - 1) / tickNanos;
+        pendingTimeouts.add(timeout);
+    }
+
+    private void ensureStarted() {
+        if (started.compareAndSet(false, true)) {
+            tickerThread.start();
+            log.info("时间轮触发引擎已启动，tick={}ms，槽数={}，层数={}。",
+                    TimeUnit.NANOSECONDS.toMillis(tickNanos), wheelMask + 1, levels);
+        }
+    }
+
+    private void runTicker() {
+        while (running) {
+            long sleepNanos = startNanos + (currentTick + 1) * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+            currentTick++;
+            try {
+                transferPendingTimeouts();
+                cascade();
+                expireCurrentBucket();
+            } catch (Throwable t) {
+                log.error("时间轮 tick 处理异常。", t);
+            }
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        WheelTimeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (!timeout.cancelled) {
+                place(timeout);
+            }
+        }
+    }
+
+    /**
+     * 当低层时间轮转完一圈时，把高层对应槽中的任务重新放置到更低的层。
+     * 必须从高层到低层处理，保证下放到低层当前槽的任务在同一个 tick 内继续下放。
+     */
+    private void cascade() {
+        for (int level = levels - 1; level > 0; level--) {
+            int shift = wheelBits * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            ArrayDeque<WheelTimeout> bucket = wheels[level][(int) ((currentTick >>> shift) & wheelMask)];
+            for (int i = bucket.size(); i > 0; i--) {
+                WheelTimeout timeout = bucket.poll();
+                if (!timeout.cancelled) {
+                    place(timeout);
+                }
+            }
+        }
+    }
+
+    private void expireCurrentBucket() {
+        ArrayDeque<WheelTimeout> bucket = wheels[0][(int) (currentTick & wheelMask)];
+        for (int i = bucket.size(); i > 0; i--) {
+            WheelTimeout timeout = bucket.poll();
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.deadlineTick > currentTick) {
+                place(timeout);
+                continue;
+            }
+            try {
+                workerPool.execute(timeout);
+            } catch (RejectedExecutionException e) {
+                log.warn("时间轮 worker 线程池拒绝执行任务，可能正在关闭。");
+            }
+        }
+    }
+
+    private void place(WheelTimeout timeout) {
+        long targetTick = Math.max(timeout.deadlineTick, currentTick);
+        long remaining = targetTick - currentTick;
+        if (remaining >= maxSpanTicks) {
+            targetTick = currentTick + maxSpanTicks - 1;
+            remaining = maxSpanTicks - 1;
+        }
+        int level = 0;
+        while (level < levels - 1 && remaining >= (1L << (wheelBits * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((targetTick >>> (wheelBits * level)) & wheelMask);
+        wheels[level][slot].add(timeout);
+    }
+
+    /**
+     * 时间轮中的一个任务节点，同时也是返回给调用方的调度句柄。
+     * 周期任务在每次执行完成后复用同一个节点重新入轮，不会为每次触发创建新的 Future。
+     */
+    private final class WheelTimeout implements ScheduledFuture<Object>, Runnable {
+
+        private final Runnable task;
+        private final Trigger trigger;
+        private final SimpleTriggerContext triggerContext;
+        private final CountDownLatch completion = new CountDownLatch(1);
+        private volatile long deadlineNanos;
+        /**
+         * 由提交线程写入，经 pendingTimeouts 安全发布给 tick 线程。
+         */
+        private long deadlineTick;
+        private volatile Instant scheduledExecution;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        WheelTimeout(Runnable task, Trigger trigger) {
+            this.task = task;
+            this.trigger = trigger;
+            this.triggerContext = trigger != null ? new SimpleTriggerContext(clock) : null;
+        }
+
+        boolean scheduleNext() {
+            Instant next = trigger.nextExecution(triggerContext);
+            if (next == null) {
+                markDone();
+                return false;
+            }
+            scheduledExecution = next;
+            enqueue(this, next);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            Instant actualExecution = clock.instant();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.error("时间轮调度的任务执行时发生未处理的异常。", t);
+            }
+            if (trigger == null) {
+                markDone();
+                return;
+            }
+            triggerContext.update(scheduledExecution, actualExecution, clock.instant());
+            if (!cancelled && running) {
+                try {
+                    scheduleNext();
+                } catch (RejectedExecutionException e) {
+                    markDone();
+                }
+            }
+        }
+
+        private void markDone() {
+            done = true;
+            completion.countDown();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (this == other) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (done) {
+                return false;
+            }
+            cancelled = true;
+            markDone();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            completion.await();
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            return null;
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!completion.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            return null;
+        }
+    }
+}
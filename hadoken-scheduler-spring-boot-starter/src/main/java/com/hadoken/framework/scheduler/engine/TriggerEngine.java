@@ -0,0 +1,37 @@
+package com.hadoken.framework.scheduler.engine;
+
+import org.springframework.scheduling.Trigger;
+
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 任务触发引擎。
+ * TaskManager 通过它把被包装后的任务交给具体的调度实现，
+ * 默认实现复用 Spring 的 ThreadPoolTaskScheduler，也可以切换为分层时间轮。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/1 10:12
+ */
+public interface TriggerEngine {
+
+    /**
+     * 按触发器持续调度一个任务。
+     *
+     * @param task    要执行的任务
+     * @param trigger 计算下一次执行时间的触发器
+     * @return 调度句柄，用于取消任务、查询下一次执行的延迟；触发器不再产生执行时间时可能为 null
+     */
+    ScheduledFuture<?> schedule(Runnable task, Trigger trigger);
+
+    /**
+     * 在指定时间点执行一次任务。
+     *
+     * @param task      要执行的任务
+     * @param startTime 执行时间点
+     * @return 调度句柄
+     */
+    ScheduledFuture<?> schedule(Runnable task, Instant startTime);
+
+}
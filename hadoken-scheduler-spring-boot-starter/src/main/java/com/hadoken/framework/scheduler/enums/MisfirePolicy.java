@@ -0,0 +1,24 @@
+package com.hadoken.framework.scheduler.enums;
+
+/**
+ * 错过触发（misfire）后的补偿策略。
+ * 节点停机期间、或调度线程池饱和导致 cron 任务严重延迟时，本应触发的执行会被错过。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/14 10:00
+ */
+public enum MisfirePolicy {
+    /**
+     * 不补偿，只记录错过的次数（默认，与 Spring 原生行为一致）
+     */
+    SKIP,
+    /**
+     * 无论错过多少次，只立即补偿执行一次
+     */
+    FIRE_ONCE_NOW,
+    /**
+     * 逐次补偿每一次错过的执行，但最多补偿 hadoken.scheduler.misfire.max-catch-up 次
+     */
+    FIRE_ALL_BOUNDED
+}
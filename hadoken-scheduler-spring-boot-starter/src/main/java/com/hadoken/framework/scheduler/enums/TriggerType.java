@@ -8,5 +8,9 @@ package com.hadoken.framework.scheduler.enums;
 public enum TriggerType {
     CRON,
     FIXED_RATE,
-    FIXED_DELAY
-}
\ No newline at end of file
+    FIXED_DELAY,
+    /**
+     * 依赖触发：triggerValue 为上游任务ID（逗号分隔），所有上游成功完成后触发
+     */
+    DEPENDENCY
+}
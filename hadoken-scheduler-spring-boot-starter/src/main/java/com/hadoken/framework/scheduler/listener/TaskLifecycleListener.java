@@ -0,0 +1,49 @@
+package com.hadoken.framework.scheduler.listener;
+
+import com.hadoken.framework.scheduler.enums.TaskStatus;
+import com.hadoken.framework.scheduler.model.ManagedTask;
+import com.hadoken.framework.scheduler.model.TaskExecutionLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * 任务生命周期监听器。
+ * 容器中所有实现了此接口的Bean都会被 TaskManager 收集，并在运行时任务注册、移除以及每次执行完成时回调。
+ * 回调在 TaskManager 的调用线程上同步执行，实现类应保持轻量，且不应抛出异常。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/7 10:05
+ */
+public interface TaskLifecycleListener {
+
+    /**
+     * 运行时任务已注册（包括注解任务、动态任务，以及同ID任务被替换后的新实例）。
+     */
+    default void onTaskRegistered(ManagedTask task) {
+    }
+
+    /**
+     * 运行时任务已移除（删除任务，或同ID任务被替换时的旧实例）。
+     */
+    default void onTaskRemoved(ManagedTask task) {
+    }
+
+    /**
+     * 任务开始执行，在执行任务的线程上回调。分片任务每次触发只回调一次。
+     */
+    default void onTaskStarted(ManagedTask task, LocalDateTime startTime) {
+    }
+
+    /**
+     * 任务启动或停止（包括应用其他实例发出的状态变更），在持有任务锁的线程上回调。
+     */
+    default void onTaskStatusChanged(ManagedTask task, TaskStatus status) {
+    }
+
+    /**
+     * 任务执行完成（成功或失败），在执行任务的线程上回调。
+     */
+    default void onTaskExecuted(ManagedTask task, TaskExecutionLog executionLog) {
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * 任务监听扩展点：供指标、通知等组件感知任务的注册与执行
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/7 10:00
+ */
+package com.hadoken.framework.scheduler.listener;
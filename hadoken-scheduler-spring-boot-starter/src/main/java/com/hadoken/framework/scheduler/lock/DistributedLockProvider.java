@@ -21,6 +21,17 @@ public interface DistributedLockProvider {
     interface Lock extends AutoCloseable {
         @Override
         void close(); // close()方法应实现释放锁的逻辑
+
+        /**
+         * 防护令牌（fencing token）：同一个锁Key每次被成功获取时单调递增。
+         * 任务在写入外部资源时可携带此值，由资源端拒绝比已见过的更小的令牌，
+         * 从而避免锁因超时被他人获取后，旧持有者的迟到写入覆盖新数据。
+         *
+         * @return 防护令牌；实现不支持时返回 0
+         */
+        default long getFencingToken() {
+            return 0L;
+        }
     }
 
     /**
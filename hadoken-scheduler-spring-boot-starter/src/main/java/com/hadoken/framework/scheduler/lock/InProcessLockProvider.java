@@ -0,0 +1,66 @@
+package com.hadoken.framework.scheduler.lock;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内的锁实现，适用于单节点部署和测试环境，没有任何网络开销。
+ * 锁在 lockAtMostFor 之后自动失效，语义与分布式实现保持一致；防护令牌在进程内全局递增。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/8 11:50
+ */
+public class InProcessLockProvider implements DistributedLockProvider {
+
+    private final Map<String, LocalLock> locks = new ConcurrentHashMap<>();
+    private final AtomicLong fencingSequence = new AtomicLong();
+
+    @Override
+    public Optional<Lock> tryLock(String lockKey, Duration lockAtMostFor) {
+        long now = System.nanoTime();
+        LocalLock candidate = new LocalLock(lockKey, now + lockAtMostFor.toNanos());
+        LocalLock current = locks.compute(lockKey, (key, existing) -> {
+            if (existing == null || existing.isExpired(now)) {
+                // 在同一个原子操作内分配令牌，保证令牌顺序与获取顺序一致
+                candidate.fencingToken = fencingSequence.incrementAndGet();
+                return candidate;
+            }
+            return existing;
+        });
+        return current == candidate ? Optional.of(candidate) : Optional.empty();
+    }
+
+    private final class LocalLock implements Lock {
+        private final String key;
+        private final long expireAtNanos;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private volatile long fencingToken;
+
+        private LocalLock(String key, long expireAtNanos) {
+            this.key = key;
+            this.expireAtNanos = expireAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expireAtNanos >= 0;
+        }
+
+        @Override
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                // 仅当仍是自己持有时才移除，避免误删过期后被他人获取的锁
+                locks.remove(key, this);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.hadoken.framework.scheduler.lock;
+
+import java.util.Optional;
+
+/**
+ * 当前线程正在执行的任务所持有的锁。
+ * 仅在任务通过分布式锁执行期间有值，业务代码可借此读取 {@link DistributedLockProvider.Lock#getFencingToken()}。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/8 11:10
+ */
+public final class LockContext {
+
+    private static final ThreadLocal<DistributedLockProvider.Lock> CURRENT = new ThreadLocal<>();
+
+    private LockContext() {
+    }
+
+    public static Optional<DistributedLockProvider.Lock> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * 在持有指定锁的上下文中执行操作，结束后恢复之前的上下文。
+     */
+    public static void runWith(DistributedLockProvider.Lock lock, Runnable action) {
+        DistributedLockProvider.Lock previous = CURRENT.get();
+        CURRENT.set(lock);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
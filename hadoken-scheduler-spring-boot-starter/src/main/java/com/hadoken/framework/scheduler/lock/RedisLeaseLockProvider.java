@@ -0,0 +1,166 @@
+package com.hadoken.framework.scheduler.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 基于 StringRedisTemplate 的租约锁。
+ * <p>
+ * 获取锁时只设置一个较短的租约（leaseTime），由看门狗线程在任务执行期间定期续期，
+ * 因此长任务不会中途丢锁，节点宕机后锁也会在一个租约周期内释放。
+ * lockAtMostFor 仍作为持有时间的硬上限：超过后看门狗停止续期，租约自然过期。
+ * <p>
+ * 获取、续期、释放都通过 Lua 脚本原子完成，续期和释放会校验持有者标识（compare-and-delete），
+ * 不会误删他人的锁。每次成功获取都会递增该锁的防护令牌（fencing token）。
+ * 锁Key与令牌Key使用相同的 hash tag，在 Redis Cluster 下位于同一个槽位。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/8 11:20
+ */
+@Slf4j
+public class RedisLeaseLockProvider implements DistributedLockProvider, DisposableBean {
+
+    /**
+     * KEYS[1]=锁Key, KEYS[2]=令牌Key, ARGV[1]=持有者标识, ARGV[2]=租约毫秒数。成功返回新令牌，失败返回0。
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then " +
+                    "return redis.call('INCR', KEYS[2]) " +
+                    "end " +
+                    "return 0", Long.class);
+
+    /**
+     * KEYS[1]=锁Key, ARGV[1]=持有者标识, ARGV[2]=租约毫秒数。
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+                    "end " +
+                    "return 0", Long.class);
+
+    /**
+     * KEYS[1]=锁Key, ARGV[1]=持有者标识。
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('DEL', KEYS[1]) " +
+                    "end " +
+                    "return 0", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Duration leaseTime;
+    private final Map<String, LeaseLock> heldLocks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService watchdog;
+
+    /**
+     * @param redisTemplate Redis 模板
+     * @param keyPrefix     锁Key前缀
+     * @param leaseTime     单次租约时长，看门狗每隔 1/3 租约续期一次
+     */
+    public RedisLeaseLockProvider(StringRedisTemplate redisTemplate, String keyPrefix, Duration leaseTime) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.leaseTime = leaseTime;
+        long renewIntervalMillis = Math.max(1L, leaseTime.toMillis() / 3);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("hadoken-lock-watchdog-"));
+        this.watchdog.scheduleWithFixedDelay(this::renewAll, renewIntervalMillis, renewIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Lock> tryLock(String lockKey, Duration lockAtMostFor) {
+        String key = keyPrefix + "{" + lockKey + "}";
+        String owner = UUID.randomUUID().toString();
+        long leaseMillis = Math.max(1L, Math.min(leaseTime.toMillis(), lockAtMostFor.toMillis()));
+        Long token = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(key, key + ":fencing"),
+                owner, String.valueOf(leaseMillis));
+        if (token == null || token <= 0) {
+            return Optional.empty();
+        }
+        long deadline = System.nanoTime() + lockAtMostFor.toNanos();
+        LeaseLock lock = new LeaseLock(key, owner, token, deadline);
+        heldLocks.put(owner, lock);
+        return Optional.of(lock);
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+        heldLocks.values().forEach(LeaseLock::close);
+    }
+
+    /**
+     * 看门狗：为所有仍在持有的锁续期，超过 lockAtMostFor 的不再续期。
+     */
+    private void renewAll() {
+        long now = System.nanoTime();
+        for (LeaseLock lock : heldLocks.values()) {
+            if (now - lock.deadlineNanos >= 0) {
+                log.warn("锁 '{}' 已达到最长持有时间，停止续期。", lock.key);
+                heldLocks.remove(lock.owner);
+                continue;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(lock.deadlineNanos - now);
+            long leaseMillis = Math.max(1L, Math.min(leaseTime.toMillis(), remainingMillis));
+            try {
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(lock.key), lock.owner, String.valueOf(leaseMillis));
+                if (renewed == null || renewed == 0) {
+                    log.warn("锁 '{}' 的租约已丢失（可能已过期并被其他节点获取），防护令牌 {} 已失效。", lock.key, lock.fencingToken);
+                    heldLocks.remove(lock.owner);
+                }
+            } catch (Exception e) {
+                // 单次续期失败不移除，下一个周期重试，租约仍有 2/3 的余量
+                log.warn("续期锁 '{}' 失败。", lock.key, e);
+            }
+        }
+    }
+
+    private final class LeaseLock implements Lock {
+        private final String key;
+        private final String owner;
+        private final long fencingToken;
+        private final long deadlineNanos;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private LeaseLock(String key, String owner, long fencingToken, long deadlineNanos) {
+            this.key = key;
+            this.owner = owner;
+            this.fencingToken = fencingToken;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        @Override
+        public void close() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            heldLocks.remove(owner);
+            try {
+                redisTemplate.execute(RELEASE_SCRIPT, List.of(key), owner);
+            } catch (Exception e) {
+                log.warn("释放锁 '{}' 失败，将在租约到期后自动释放。", key, e);
+            }
+        }
+    }
+}
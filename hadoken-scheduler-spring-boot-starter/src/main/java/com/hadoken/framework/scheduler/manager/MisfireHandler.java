@@ -0,0 +1,321 @@
+package com.hadoken.framework.scheduler.manager;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.enums.MisfirePolicy;
+import com.hadoken.framework.scheduler.enums.TaskStatus;
+import com.hadoken.framework.scheduler.enums.TriggerType;
+import com.hadoken.framework.scheduler.model.ManagedTask;
+import com.hadoken.framework.scheduler.store.TaskStore;
+import com.hadoken.framework.scheduler.wrapper.MonitoredTaskWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 错过触发（misfire）的检测与补偿。
+ * <p>
+ * 每次触发后把计划触发时间作为 lastFireTime 记录在内存中，按固定间隔批量写回 {@link TaskStore}（关闭时也会写回），
+ * 据此在两种场景下检测错过的触发：
+ * <ul>
+ *   <li>启动（或集群重新平衡接管任务）时：从 lastFireTime 到当前时间之间本应发生的触发（cron / fixedRate）；</li>
+ *   <li>运行期间：cron 任务实际开始时间比计划时间晚了超过阈值（通常是调度线程池饱和），
+ *   Spring 的 CronTrigger 会从本次结束时间往后计算下一次触发，期间的触发会被静默丢弃。
+ *   fixedRate 任务会自行追赶，不需要补偿。</li>
+ * </ul>
+ * 检测到后按任务的 {@link MisfirePolicy} 处理。补偿执行在独立的有界线程池上串行进行，
+ * 同样受任务并发上限约束，不会挤占正常调度的线程；线程池满时补偿请求被丢弃。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/14 10:30
+ */
+@Slf4j
+public class MisfireHandler implements DisposableBean {
+
+    /**
+     * 统计错过次数时最多推算的触发次数，避免停机很久的高频任务在启动时长时间循环。
+     */
+    private static final int MAX_COUNTED = 10_000;
+
+    private final TaskStore taskStore;
+    private final HadokenSchedulerProperties.Misfire properties;
+    /**
+     * 尚未写回存储的最近触发时间，同一任务只保留最新的一次。
+     */
+    private final ConcurrentMap<String, LocalDateTime> pendingFireTimes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor;
+    /**
+     * 补偿线程池，首次需要补偿时才创建。
+     */
+    private volatile ThreadPoolExecutor catchUpExecutor;
+    private volatile boolean destroyed;
+
+    public MisfireHandler(TaskStore taskStore, HadokenSchedulerProperties.Misfire properties) {
+        this.taskStore = taskStore;
+        this.properties = properties;
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("hadoken-misfire-flush-"));
+        long intervalMillis = Math.max(1L, properties.getFlushInterval().toMillis());
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 包装任务的触发器：记录每次触发时间，并检测运行期间因延迟错过的触发。
+     * 只对 cron 和 fixedRate 任务生效，其余触发器原样返回。
+     */
+    public Trigger decorate(ManagedTask task, Trigger trigger) {
+        return supports(task) ? new MisfireAwareTrigger(task, trigger) : trigger;
+    }
+
+    /**
+     * 检测自 lastFireTime 以来错过的触发，并按任务的策略进行补偿。
+     *
+     * @param task         任务，应已被调度
+     * @param trigger      任务原始的（未包装的）触发器
+     * @param lastFireTime 最近一次计划触发时间，为 null 时说明从未触发过，不做检测
+     */
+    public void detect(ManagedTask task, Trigger trigger, LocalDateTime lastFireTime) {
+        if (lastFireTime == null || !supports(task)) {
+            return;
+        }
+        int missed = countFires(trigger, toInstant(lastFireTime), Instant.now());
+        if (missed > 0) {
+            log.warn("任务 '{}' 自上次触发（{}）以来错过了 {}{} 次触发。", task.getDefinition().getId(), lastFireTime,
+                    missed >= MAX_COUNTED ? "至少 " : "", missed);
+            handle(task, missed);
+        }
+    }
+
+    /**
+     * 立即把内存中的最近触发时间批量写回存储。写入失败的记录合并回内存，等待下次重试。
+     *
+     * @return 写回的任务数
+     */
+    public int flush() {
+        Map<String, LocalDateTime> drained = new HashMap<>();
+        for (String taskId : pendingFireTimes.keySet()) {
+            LocalDateTime fireTime = pendingFireTimes.remove(taskId);
+            if (fireTime != null) {
+                drained.put(taskId, fireTime);
+            }
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+        try {
+            taskStore.updateLastFireTimes(drained);
+        } catch (RuntimeException e) {
+            drained.forEach(this::bufferFireTime);
+            throw e;
+        }
+        return drained.size();
+    }
+
+    /**
+     * 立即写回单个任务的最近触发时间，用于任务迁出本实例时，让接管的实例读到准确的触发时间。
+     */
+    public void flush(String taskId) {
+        LocalDateTime fireTime = pendingFireTimes.remove(taskId);
+        if (fireTime == null) {
+            return;
+        }
+        try {
+            taskStore.updateLastFireTime(taskId, fireTime);
+        } catch (Exception e) {
+            bufferFireTime(taskId, fireTime);
+            log.warn("写回任务 '{}' 的触发时间失败，将在下次批量写回时重试。", taskId, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        destroyed = true;
+        ThreadPoolExecutor executor = this.catchUpExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        flushExecutor.shutdownNow();
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("关闭时写回任务触发时间失败，未写回的记录将丢失。", e);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("批量写回任务触发时间失败，将在下次重试。", e);
+        }
+    }
+
+    private static boolean supports(ManagedTask task) {
+        TriggerType type = task.getDefinition().getTriggerType();
+        return type == TriggerType.CRON || type == TriggerType.FIXED_RATE;
+    }
+
+    /**
+     * 统计 (after, until] 区间内的触发次数，最多统计 {@value #MAX_COUNTED} 次。
+     */
+    private static int countFires(Trigger trigger, Instant after, Instant until) {
+        int count = 0;
+        Instant cursor = after;
+        while (count < MAX_COUNTED) {
+            Instant next = trigger.nextExecution(new SimpleTriggerContext(cursor, cursor, cursor));
+            if (next == null || !next.isAfter(cursor) || next.isAfter(until)) {
+                break;
+            }
+            count++;
+            cursor = next;
+        }
+        return count;
+    }
+
+    private void handle(ManagedTask task, int missed) {
+        task.recordMisfire(missed);
+        String taskId = task.getDefinition().getId();
+        MisfirePolicy policy = task.getDefinition().getMisfirePolicy() != null
+                ? task.getDefinition().getMisfirePolicy() : MisfirePolicy.SKIP;
+        int runs = switch (policy) {
+            case SKIP -> 0;
+            case FIRE_ONCE_NOW -> 1;
+            case FIRE_ALL_BOUNDED -> Math.min(missed, Math.max(properties.getMaxCatchUp(), 0));
+        };
+        if (runs == 0) {
+            log.info("任务 '{}' 的补偿策略为 {}，不补偿错过的触发。", taskId, policy);
+            return;
+        }
+        ThreadPoolExecutor executor = catchUpExecutor();
+        if (executor == null) {
+            return;
+        }
+        log.info("任务 '{}' 按 {} 策略补偿执行 {} 次。", taskId, policy, runs);
+        executor.execute(() -> catchUp(task, runs));
+    }
+
+    /**
+     * 在补偿线程上串行执行。任务已停止或仍在执行（达到并发上限）时放弃剩余的补偿。
+     */
+    private void catchUp(ManagedTask task, int runs) {
+        String taskId = task.getDefinition().getId();
+        for (int i = 0; i < runs; i++) {
+            if (destroyed || task.getDefinition().getStatus() != TaskStatus.RUNNING) {
+                log.info("任务 '{}' 已停止，放弃剩余 {} 次补偿。", taskId, runs - i);
+                return;
+            }
+            if (task.getRunnable() instanceof MonitoredTaskWrapper wrapper) {
+                if (!wrapper.runNow()) {
+                    log.info("任务 '{}' 仍在执行，放弃剩余 {} 次补偿。", taskId, runs - i);
+                    return;
+                }
+            } else {
+                task.getRunnable().run();
+            }
+        }
+    }
+
+    private ThreadPoolExecutor catchUpExecutor() {
+        ThreadPoolExecutor executor = this.catchUpExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (destroyed) {
+                    return null;
+                }
+                executor = this.catchUpExecutor;
+                if (executor == null) {
+                    int poolSize = Math.max(properties.getCatchUpPoolSize(), 1);
+                    executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(Math.max(properties.getCatchUpQueueCapacity(), 1)),
+                            new CustomizableThreadFactory("hadoken-misfire-"),
+                            (task, ex) -> log.warn("错过触发的补偿线程池已满，丢弃一次补偿请求。"));
+                    executor.allowCoreThreadTimeOut(true);
+                    this.catchUpExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 记录最近一次计划触发时间。只写内存，由后台线程批量写回存储，不在调度线程上访问存储。
+     */
+    private void recordFire(ManagedTask task, Instant scheduled) {
+        LocalDateTime fireTime = LocalDateTime.ofInstant(scheduled, ZoneId.systemDefault());
+        task.getDefinition().setLastFireTime(fireTime);
+        bufferFireTime(task.getDefinition().getId(), fireTime);
+    }
+
+    /**
+     * 合并到待写回的记录中，已有更晚的记录时保留更晚的。
+     */
+    private void bufferFireTime(String taskId, LocalDateTime fireTime) {
+        pendingFireTimes.merge(taskId, fireTime, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private final class MisfireAwareTrigger implements Trigger {
+        private final ManagedTask task;
+        private final Trigger delegate;
+
+        private MisfireAwareTrigger(ManagedTask task, Trigger delegate) {
+            this.task = task;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Instant nextExecution(TriggerContext triggerContext) {
+            Instant scheduled = triggerContext.lastScheduledExecution();
+            if (scheduled != null) {
+                recordFire(task, scheduled);
+                if (task.getDefinition().getTriggerType() == TriggerType.CRON) {
+                    detectDelayed(scheduled, triggerContext.lastActualExecution(), triggerContext.lastCompletion());
+                }
+            }
+            return delegate.nextExecution(triggerContext);
+        }
+
+        /**
+         * 实际开始时间晚于计划时间超过阈值时，统计计划时间到本次结束之间被跳过的触发。
+         */
+        private void detectDelayed(Instant scheduled, Instant actual, Instant completion) {
+            if (actual == null || completion == null) {
+                return;
+            }
+            Duration delay = Duration.between(scheduled, actual);
+            if (delay.compareTo(properties.getThreshold()) <= 0) {
+                return;
+            }
+            try {
+                int missed = countFires(delegate, scheduled, completion);
+                if (missed > 0) {
+                    log.warn("任务 '{}' 计划于 {} 的触发延迟了 {} 才开始执行，期间错过了 {} 次触发。",
+                            task.getDefinition().getId(), LocalDateTime.ofInstant(scheduled, ZoneId.systemDefault()),
+                            delay, missed);
+                    handle(task, missed);
+                }
+            } catch (Exception e) {
+                log.warn("检测任务 '{}' 错过的触发失败。", task.getDefinition().getId(), e);
+            }
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.hadoken.framework.scheduler.manager;
 
 
+import com.hadoken.framework.scheduler.dag.TaskDependencyGraph;
 import com.hadoken.framework.scheduler.model.ManagedTask;
 import com.hadoken.framework.scheduler.model.TaskDefinition;
 import org.springframework.scheduling.Trigger;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * @author yanggj
@@ -39,6 +43,17 @@ public interface TaskManager {
      */
     void processAnnotatedTask(TaskDefinition definition, Runnable originalRunnable, Trigger trigger);
 
+    /**
+     * 由Configurer调用，批量处理所有通过注解发现的任务。
+     * 实现应一次性加载存储中的定义、在内存中比对差异，再批量写入新增与变更，以减少启动时的存储往返。
+     * 默认逐个调用 {@link #processAnnotatedTask(TaskDefinition, Runnable, Trigger)}。
+     *
+     * @param tasks 通过注解发现的任务
+     */
+    default void processAnnotatedTasks(List<AnnotatedTask> tasks) {
+        tasks.forEach(task -> processAnnotatedTask(task.definition(), task.runnable(), task.trigger()));
+    }
+
     /**
      * 启动一个任务。
      */
@@ -54,6 +69,27 @@ public interface TaskManager {
      */
     void triggerOnce(String taskId);
 
+    /**
+     * 当前的任务依赖图：依赖触发的任务ID -> 上游任务ID。
+     */
+    default Map<String, Set<String>> getTaskDependencies() {
+        return Map.of();
+    }
+
+    /**
+     * 最近若干轮依赖执行及其关键路径，最新的在前。
+     */
+    default List<TaskDependencyGraph.RunPath> getRecentDependencyRuns() {
+        return List.of();
+    }
+
+    /**
+     * 指定轮次的依赖执行及其关键路径。
+     */
+    default Optional<TaskDependencyGraph.RunPath> getDependencyRun(String runId) {
+        return Optional.empty();
+    }
+
     /**
      * 获取一个任务的运行时信息。
      */
@@ -80,5 +116,15 @@ public interface TaskManager {
      */
     void deleteTask(String taskId);
 
+    /**
+     * 一个通过注解发现的任务。
+     *
+     * @param definition 从注解解析出的任务定义
+     * @param runnable   原始的、未被包装的Runnable
+     * @param trigger    Spring解析出的触发器
+     */
+    record AnnotatedTask(TaskDefinition definition, Runnable runnable, Trigger trigger) {
+    }
+
 }
 
@@ -1,21 +1,35 @@
 package com.hadoken.framework.scheduler.manager;
 
+import com.hadoken.framework.scheduler.cluster.ClusterCoordinator;
+import com.hadoken.framework.scheduler.cluster.TaskChangeBus;
+import com.hadoken.framework.scheduler.cluster.TaskChangeEvent;
 import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.dag.TaskDependencyGraph;
+import com.hadoken.framework.scheduler.engine.JitteredTrigger;
+import com.hadoken.framework.scheduler.engine.TaskDispatcher;
+import com.hadoken.framework.scheduler.engine.TriggerEngine;
 import com.hadoken.framework.scheduler.enums.TaskSourceType;
 import com.hadoken.framework.scheduler.enums.TaskStatus;
+import com.hadoken.framework.scheduler.enums.TriggerType;
+import com.hadoken.framework.scheduler.listener.TaskLifecycleListener;
 import com.hadoken.framework.scheduler.lock.DistributedLockProvider;
 import com.hadoken.framework.scheduler.model.ManagedTask;
+import com.hadoken.framework.scheduler.model.ShardContext;
 import com.hadoken.framework.scheduler.model.TaskDefinition;
+import com.hadoken.framework.scheduler.model.TaskExecutionLog;
 import com.hadoken.framework.scheduler.store.TaskLogStore;
 import com.hadoken.framework.scheduler.store.TaskStore;
+import com.hadoken.framework.scheduler.wrapper.MonitoredTaskWrapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.convert.DurationStyle;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.Trigger;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.scheduling.support.PeriodicTrigger;
 import org.springframework.util.ReflectionUtils;
@@ -26,9 +40,13 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author yanggj
@@ -36,23 +54,47 @@ import java.util.concurrent.ScheduledFuture;
  * Created on 2025/8/13 11:20
  */
 @Slf4j
-public class TaskManagerImpl implements TaskManager {
+public class TaskManagerImpl implements TaskManager, SmartInitializingSingleton, DisposableBean {
 
     private final Map<String, ManagedTask> runtimeTasks = new ConcurrentHashMap<>();
 
-    private final ThreadPoolTaskScheduler taskScheduler;
+    private final TriggerEngine triggerEngine;
     private final TaskStore taskStore;
     private final TaskLogStore taskLogStore;
     private final HadokenSchedulerProperties properties;
     private final ApplicationContext applicationContext;
     private final String instanceId;
     private final Optional<DistributedLockProvider> lockProviderOpt;
+    private final TaskDispatcher taskDispatcher;
+    private final List<TaskLifecycleListener> lifecycleListeners;
+    /**
+     * 集群协调器，未启用集群模式时为 null。
+     */
+    private final ClusterCoordinator clusterCoordinator;
+    private final TaskDependencyGraph dependencyGraph = new TaskDependencyGraph();
+    private final MisfireHandler misfireHandler;
+    /**
+     * 实例间的任务变更通知，未启用时为 null。
+     */
+    private final TaskChangeBus changeBus;
+    /**
+     * 定期从存储重新同步任务的线程，只在启用变更通知时创建。
+     */
+    private volatile ScheduledExecutorService resyncExecutor;
 
-    public TaskManagerImpl(ThreadPoolTaskScheduler taskScheduler, TaskStore taskStore,
+    public TaskManagerImpl(TriggerEngine triggerEngine, TaskStore taskStore,
                            TaskLogStore taskLogStore,
                            HadokenSchedulerProperties properties, ApplicationContext applicationContext,
-                           ObjectProvider<DistributedLockProvider> lockProvider) {
-        this.taskScheduler = taskScheduler;
+                           ObjectProvider<DistributedLockProvider> lockProvider,
+                           TaskDispatcher taskDispatcher,
+                           ObjectProvider<TaskLifecycleListener> lifecycleListeners,
+                           ObjectProvider<ClusterCoordinator> clusterCoordinator,
+                           MisfireHandler misfireHandler,
+                           ObjectProvider<TaskChangeBus> changeBus) {
+        this.triggerEngine = triggerEngine;
+        this.misfireHandler = misfireHandler;
+        this.taskDispatcher = taskDispatcher;
+        this.lifecycleListeners = lifecycleListeners.orderedStream().toList();
         this.taskStore = taskStore;
         this.taskLogStore = taskLogStore;
         this.properties = properties;
@@ -62,6 +104,28 @@ public class TaskManagerImpl implements TaskManager {
         if (this.lockProviderOpt.isPresent()) {
             log.info("已找到分布式锁提供程序（DistributedLockProvider）Bean。分布式锁功能已启用。");
         }
+        this.clusterCoordinator = clusterCoordinator.getIfAvailable();
+        this.changeBus = changeBus.getIfAvailable();
+        if (this.clusterCoordinator != null && this.changeBus == null) {
+            // 非负责实例上的启停只写存储，必须靠变更通知让负责实例生效
+            throw new IllegalStateException("集群模式需要实例间任务变更通知，但容器中没有可用的 TaskChangeBus。");
+        }
+    }
+
+    /**
+     * 所有单例创建完成后、注解任务注册之前加入集群并订阅变更通知：
+     * 此时本对象已完整构建，心跳线程的重新平衡和变更回调不会看到未初始化的字段，
+     * 注册注解任务时也已拿到初始的集群成员视图。
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (this.clusterCoordinator != null) {
+            this.clusterCoordinator.join(this.instanceId, this::rebalance);
+        }
+        if (this.changeBus != null) {
+            this.changeBus.subscribe(this::onRemoteChange);
+            log.info("已启用实例间任务变更通知。");
+        }
     }
 
     // 【核心修正】: 移除 @PostConstruct 注解
@@ -76,10 +140,13 @@ public class TaskManagerImpl implements TaskManager {
                 // 只加载动态创建的任务，注解任务由Configurer流程处理
                 if (definition.getSourceType() == TaskSourceType.DYNAMIC) {
                     ManagedTask managedTask = resolveTaskDefinition(definition);
-                    runtimeTasks.put(definition.getId(), managedTask);
+                    putRuntimeTask(managedTask);
                     if (definition.getStatus() == TaskStatus.RUNNING) {
                         log.info("由于持久化状态为运行中，自动启动动态任务 {} 。", definition.getId());
-                        start(definition.getId());
+                        LocalDateTime lastFireTime = definition.getLastFireTime();
+                        // 状态已是运行中，只需在本实例生效，不写回存储也不广播
+                        startTask(managedTask, false);
+                        detectMisfires(managedTask, lastFireTime);
                     }
                 }
             } catch (Exception e) {
@@ -87,6 +154,15 @@ public class TaskManagerImpl implements TaskManager {
             }
         });
         log.info("已完成{}个任务的初始化。", runtimeTasks.size());
+        startResync();
+    }
+
+    @Override
+    public void destroy() {
+        ScheduledExecutorService executor = this.resyncExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
     }
 
 
@@ -98,8 +174,9 @@ public class TaskManagerImpl implements TaskManager {
 
         if (existingOpt.isPresent()) {
             TaskDefinition dbDefinition = existingOpt.get();
-            // 代码中的定义覆盖数据库，但保留数据库中的状态
+            // 代码中的定义覆盖数据库，但保留数据库中的状态和最近触发时间
             definition.setStatus(dbDefinition.getStatus());
+            definition.setLastFireTime(dbDefinition.getLastFireTime());
             taskStore.update(definition);
             definitionToUse = definition;
             log.info("存储中 {} 的任务定义已更新。", definition.getId());
@@ -113,12 +190,8 @@ public class TaskManagerImpl implements TaskManager {
         }
 
         // 创建运行时任务对象
-        ManagedTask managedTask = new ManagedTask(definitionToUse,
-                originalRunnable, this.instanceId,
-                properties.getLogRetentionSize(),
-                this.lockProviderOpt, this.taskLogStore
-        );
-        runtimeTasks.put(definition.getId(), managedTask);
+        ManagedTask managedTask = newManagedTask(definitionToUse, originalRunnable);
+        putRuntimeTask(managedTask);
 
         // 【核心修正】: 根据持久化的状态决定是否在注册时就启动
         if (definitionToUse.getStatus() == TaskStatus.RUNNING) {
@@ -147,6 +220,7 @@ public class TaskManagerImpl implements TaskManager {
         if (existingOpt.isPresent()) {
             TaskDefinition dbDefinition = existingOpt.get();
             definition.setStatus(dbDefinition.getStatus()); // 保持数据库中存储的状态
+            definition.setLastFireTime(dbDefinition.getLastFireTime());
             if (!isDefinitionEqual(definition, dbDefinition)) {
                 taskStore.update(definition);
                 log.info("存储中 {} 的任务定义已更新。", definition.getId());
@@ -159,67 +233,170 @@ public class TaskManagerImpl implements TaskManager {
             definitionToUse = definition;
         }
 
-        ManagedTask managedTask = new ManagedTask(definitionToUse,
-                originalRunnable, this.instanceId,
-                properties.getLogRetentionSize(),
-                this.lockProviderOpt, this.taskLogStore
-        );
-        runtimeTasks.put(definition.getId(), managedTask);
+        registerAnnotatedTask(definitionToUse, originalRunnable, trigger);
+    }
+
+    @Override
+    public void processAnnotatedTasks(List<AnnotatedTask> tasks) {
+        // 一次性加载所有已存储的定义，在内存中比对差异
+        Map<String, TaskDefinition> storedDefinitions = new HashMap<>();
+        taskStore.findAll().forEach(definition -> storedDefinitions.put(definition.getId(), definition));
+
+        List<TaskDefinition> toSave = new ArrayList<>();
+        List<TaskDefinition> toUpdate = new ArrayList<>();
+        for (AnnotatedTask task : tasks) {
+            TaskDefinition definition = task.definition();
+            TaskDefinition dbDefinition = storedDefinitions.get(definition.getId());
+            if (dbDefinition != null) {
+                definition.setStatus(dbDefinition.getStatus()); // 保持数据库中存储的状态
+                definition.setLastFireTime(dbDefinition.getLastFireTime());
+                if (!isDefinitionEqual(definition, dbDefinition)) {
+                    toUpdate.add(definition);
+                }
+            } else {
+                definition.setStatus(TaskStatus.RUNNING); // 注解任务默认就是运行状态
+                toSave.add(definition);
+            }
+        }
+
+        // 批量写入新增与变更
+        if (!toSave.isEmpty()) {
+            taskStore.saveAll(toSave);
+        }
+        if (!toUpdate.isEmpty()) {
+            taskStore.updateAll(toUpdate);
+        }
+        log.info("注解任务定义同步完成：共 {} 个，新增 {} 个，更新 {} 个。", tasks.size(), toSave.size(), toUpdate.size());
+
+        tasks.forEach(task -> registerAnnotatedTask(task.definition(), task.runnable(), task.trigger()));
+    }
+
+    /**
+     * 为已同步的注解任务创建运行时实例，并根据状态进行调度。
+     */
+    private void registerAnnotatedTask(TaskDefinition definition, Runnable originalRunnable, Trigger trigger) {
+        ManagedTask managedTask = newManagedTask(definition, originalRunnable);
+        managedTask.setTrigger(trigger);
+        putRuntimeTask(managedTask);
 
         // [修正] 如果任务状态是RUNNING，则立即调度并保存Future
-        if (definitionToUse.getStatus() == TaskStatus.RUNNING) {
-            ScheduledFuture<?> future = taskScheduler.schedule(managedTask.getRunnable(), trigger);
-            managedTask.setScheduledFuture(future);
-            log.info("任务 {} 已被安排运行。", definition.getId());
-        } else {
+        if (definition.getStatus() != TaskStatus.RUNNING) {
             log.info("任务 {} 已注册但处于停止状态，不会被调度。", definition.getId());
+            return;
+        }
+        if (definition.getTriggerType() == TriggerType.DEPENDENCY) {
+            log.info("任务 {} 依赖于 {}，将在上游任务全部成功后触发。", definition.getId(), definition.getTriggerValue());
+            return;
+        }
+        // 任务已放入注册表，心跳线程上的重新平衡可能抢先调度了它，持锁后再检查一次
+        synchronized (managedTask) {
+            if (!isScheduledLocally(definition)) {
+                log.info("任务 {} 由集群实例 {} 负责调度，本实例不调度。", definition.getId(), clusterCoordinator.ownerOf(definition.getId()));
+                return;
+            }
+            ScheduledFuture<?> future = managedTask.getScheduledFuture();
+            if (future != null && !future.isDone()) {
+                return;
+            }
+            LocalDateTime lastFireTime = definition.getLastFireTime();
+            scheduleTask(managedTask);
+            log.info("任务 {} 已被安排运行。", definition.getId());
+            detectMisfires(managedTask, lastFireTime);
         }
     }
 
     @Override
     public void start(String taskId) {
-        ManagedTask task = getTaskOrThrow(taskId);
+        if (startTask(getTaskOrThrow(taskId), true)) {
+            publishChange(TaskChangeEvent.Type.STATUS, taskId, TaskStatus.RUNNING);
+        }
+    }
+
+    /**
+     * 启动任务。
+     *
+     * @param persist 是否写入存储；为 false 时只更新本实例的运行时状态（状态已由其他实例写入）
+     * @return false 表示任务已在运行
+     */
+    private boolean startTask(ManagedTask task, boolean persist) {
+        String taskId = task.getDefinition().getId();
         synchronized (task) {
             if (task.getStatus() == TaskStatus.RUNNING && task.getScheduledFuture() != null && !task.getScheduledFuture().isDone()) {
-                log.warn("任务 '{}' 已在运行中.", taskId);
-                return;
+                if (persist) {
+                    log.warn("任务 '{}' 已在运行中.", taskId);
+                }
+                return false;
             }
 
             task.getDefinition().setStatus(TaskStatus.RUNNING);
-            taskStore.updateStatus(taskId, TaskStatus.RUNNING);
-
-            Trigger trigger = buildTriggerFromDefinition(task.getDefinition());
-            ScheduledFuture<?> future = taskScheduler.schedule(task.getRunnable(), trigger);
+            if (persist) {
+                taskStore.updateStatus(taskId, TaskStatus.RUNNING);
+            }
+            onTaskStatusChanged(task, TaskStatus.RUNNING);
 
-            task.setScheduledFuture(future);
+            if (task.getDefinition().getTriggerType() == TriggerType.DEPENDENCY) {
+                log.info("任务 '{}' 启动，将在上游任务全部成功后触发。", taskId);
+                return true;
+            }
+            if (!isScheduledLocally(task.getDefinition())) {
+                log.info("任务 '{}' 已标记为运行，由集群实例 {} 负责调度。", taskId, clusterCoordinator.ownerOf(taskId));
+                return true;
+            }
+            scheduleTask(task);
             log.info("任务 '{}' 启动.", taskId);
+            return true;
         }
     }
 
     @Override
     public void stop(String taskId) {
-        ManagedTask task = getTaskOrThrow(taskId);
+        if (stopTask(getTaskOrThrow(taskId), true)) {
+            publishChange(TaskChangeEvent.Type.STATUS, taskId, TaskStatus.STOPPED);
+        }
+    }
+
+    /**
+     * 停止任务。
+     *
+     * @param persist 是否写入存储；为 false 时只更新本实例的运行时状态（状态已由其他实例写入）
+     * @return 任务是否由运行变为停止
+     */
+    private boolean stopTask(ManagedTask task, boolean persist) {
+        String taskId = task.getDefinition().getId();
         synchronized (task) {
             ScheduledFuture<?> future = task.getScheduledFuture();
             if (future != null) {
                 // false: 不要中断正在执行的任务
                 boolean cancelled = future.cancel(false);
-                if (cancelled) {
+                // 已结束的Future无法再取消，但同样不会再触发，视为停止成功
+                if (cancelled || future.isDone()) {
                     task.setScheduledFuture(null);
                     task.getDefinition().setStatus(TaskStatus.STOPPED);
-                    taskStore.updateStatus(taskId, TaskStatus.STOPPED);
+                    if (persist) {
+                        taskStore.updateStatus(taskId, TaskStatus.STOPPED);
+                    }
                     log.info("任务 '{}' 已成功停止.", taskId);
-                } else {
-                    log.warn("无法停止任务 '{}'。该任务可能当前正在运行且无法被中断。", taskId);
+                    onTaskStatusChanged(task, TaskStatus.STOPPED);
+                    if (task.getRunnable() instanceof MonitoredTaskWrapper wrapper && wrapper.getRunningCount() > 0) {
+                        log.info("任务 '{}' 仍有 {} 次执行未结束，将在执行完成{}后释放。", taskId, wrapper.getRunningCount(),
+                                task.getTimeout() != null ? "或超过 " + task.getTimeout() : "");
+                    }
+                    return true;
                 }
-            } else {
-                // 如果future为null，但状态是RUNNING，说明可能是一个还未被调度的任务，直接更新状态
-                if (task.getDefinition().getStatus() == TaskStatus.RUNNING) {
-                    task.getDefinition().setStatus(TaskStatus.STOPPED);
+                log.warn("无法停止任务 '{}'。该任务可能当前正在运行且无法被中断。", taskId);
+                return false;
+            }
+            // 如果future为null，但状态是RUNNING，说明可能是一个还未被调度的任务，直接更新状态
+            if (task.getDefinition().getStatus() == TaskStatus.RUNNING) {
+                task.getDefinition().setStatus(TaskStatus.STOPPED);
+                if (persist) {
                     taskStore.updateStatus(taskId, TaskStatus.STOPPED);
-                    log.info("任务 '{}' 未被调度，已标记为停止。", taskId);
                 }
+                log.info("任务 '{}' 未被调度，已标记为停止。", taskId);
+                onTaskStatusChanged(task, TaskStatus.STOPPED);
+                return true;
             }
+            return false;
         }
     }
 
@@ -227,7 +404,22 @@ public class TaskManagerImpl implements TaskManager {
     public void triggerOnce(String taskId) {
         ManagedTask task = getTaskOrThrow(taskId);
         log.info("触发任务 '{}' 立即进行单次执行。", taskId);
-        taskScheduler.schedule(task.getRunnable(), Instant.now());
+        triggerEngine.schedule(task.getRunnable(), Instant.now());
+    }
+
+    @Override
+    public Map<String, Set<String>> getTaskDependencies() {
+        return dependencyGraph.getUpstreams();
+    }
+
+    @Override
+    public List<TaskDependencyGraph.RunPath> getRecentDependencyRuns() {
+        return dependencyGraph.getRecentRuns();
+    }
+
+    @Override
+    public Optional<TaskDependencyGraph.RunPath> getDependencyRun(String runId) {
+        return dependencyGraph.getRun(runId);
     }
 
     @Override
@@ -259,6 +451,9 @@ public class TaskManagerImpl implements TaskManager {
                     definition.getBeanName() + "' 的任务已注册.");
         }
 
+        // 依赖关系不能成环
+        dependencyGraph.validate(definition);
+
         // 2. 标记任务来源为动态，并设置初始状态为运行中
         definition.setSourceType(TaskSourceType.DYNAMIC);
         definition.setStatus(TaskStatus.RUNNING); // 动态创建的任务默认为直接运行
@@ -270,9 +465,10 @@ public class TaskManagerImpl implements TaskManager {
         taskStore.save(definition);
         log.info("动态任务定义 '{}' 已保存到存储中。", definition.getId());
 
-        // 5. 加入运行时缓存并启动
-        runtimeTasks.put(definition.getId(), managedTask);
-        start(definition.getId());
+        // 5. 加入运行时缓存并启动。状态已随定义一起保存，其他实例收到 DEFINITION 通知后按存储中的状态加载
+        putRuntimeTask(managedTask);
+        startTask(managedTask, false);
+        publishChange(TaskChangeEvent.Type.DEFINITION, definition.getId(), null);
 
         log.info("动态任务 '{}' 创建并成功启动。", definition.getId());
     }
@@ -284,10 +480,11 @@ public class TaskManagerImpl implements TaskManager {
         // 1. 停止并移除运行时的任务
         // getTaskOrThrow 会确保任务在运行时存在，如果不存在会抛异常
         stop(taskId);
-        runtimeTasks.remove(taskId);
+        removeRuntimeTask(taskId);
 
         // 2. 从持久化存储中删除
         taskStore.deleteById(taskId);
+        publishChange(TaskChangeEvent.Type.DELETED, taskId, null);
 
         log.info("任务 '{}' 已从运行时和存储中成功删除。", taskId);
     }
@@ -316,33 +513,387 @@ public class TaskManagerImpl implements TaskManager {
             Object bean = applicationContext.getBean(definition.getBeanName());
 
             Method method = ReflectionUtils.findMethod(bean.getClass(), definition.getMethodName());
+            // 分片任务的方法也可以声明一个 ShardContext 参数
+            boolean shardAware = false;
+            if (method == null) {
+                method = ReflectionUtils.findMethod(bean.getClass(), definition.getMethodName(), ShardContext.class);
+                shardAware = method != null;
+            }
 
             if (method == null) {
                 throw new NoSuchMethodException("'没有在类上 '" + definition.getBeanName() + "' 找到方法 '" + definition.getMethodName() + "'");
             }
-            if (method.getParameterCount() > 0) {
-                throw new IllegalArgumentException("计划任务方法'" + definition.getMethodName() + "' 不能有参数。");
-            }
             ReflectionUtils.makeAccessible(method);
+            Method targetMethod = method;
+            boolean passShard = shardAware;
             Runnable runnable = () -> {
                 try {
-                    method.invoke(bean);
+                    if (passShard) {
+                        targetMethod.invoke(bean, ShardContext.current());
+                    } else {
+                        targetMethod.invoke(bean);
+                    }
                 } catch (Exception e) {
                     throw new RuntimeException("未能执行已解析的任务方法，任务为：" + definition.getId(), e);
                 }
             };
-            return new ManagedTask(definition,
-                    runnable,
-                    this.instanceId,
-                    properties.getLogRetentionSize(),
-                    this.lockProviderOpt,
-                    this.taskLogStore
-            );
+            return newManagedTask(definition, runnable);
         } catch (Exception e) {
             throw new IllegalStateException("无法解析任务的 bean/method '" + definition.getId() + "'", e);
         }
     }
 
+    /**
+     * 使用任务的触发器提交调度，调用方需持有 task 的锁。
+     */
+    private void scheduleTask(ManagedTask task) {
+        if (task.getDefinition().getTriggerType() == TriggerType.DEPENDENCY) {
+            // 依赖触发的任务不进入调度器，由上游任务完成后触发
+            return;
+        }
+        ScheduledFuture<?> future = triggerEngine.schedule(task.getRunnable(), misfireHandler.decorate(task, resolveTrigger(task)));
+        task.setScheduledFuture(future);
+    }
+
+    /**
+     * 任务实际使用的触发器：注解任务沿用注册时的触发器，动态任务由定义构建；
+     * 定义中配置了抖动窗口时，再按任务ID和配置的抖动节点名（hadoken.scheduler.engine.jitter-node-name）加上固定偏移；
+     * 不使用实例ID，因为实例ID每次重启都会重新生成，偏移会随之变化。
+     */
+    private Trigger resolveTrigger(ManagedTask task) {
+        TaskDefinition definition = task.getDefinition();
+        Trigger trigger = task.getTrigger() != null ? task.getTrigger() : buildTriggerFromDefinition(definition);
+        if (!StringUtils.hasText(definition.getJitter())) {
+            return trigger;
+        }
+        return JitteredTrigger.wrap(trigger, parseDuration(definition.getJitter()), definition.getId(),
+                properties.getEngine().getJitterNodeName());
+    }
+
+    /**
+     * 任务被调度后，检测自上次触发以来错过的触发。手动启动的任务不做检测：停止期间的触发是有意跳过的。
+     */
+    private void detectMisfires(ManagedTask task, LocalDateTime lastFireTime) {
+        if (lastFireTime == null || task.getScheduledFuture() == null) {
+            return;
+        }
+        try {
+            misfireHandler.detect(task, resolveTrigger(task), lastFireTime);
+        } catch (Exception e) {
+            log.warn("检测任务 '{}' 错过的触发失败。", task.getDefinition().getId(), e);
+        }
+    }
+
+    /**
+     * 集群接管任务后检测错过的触发。接管前任务由其他实例调度，以存储中的最近触发时间为准。
+     */
+    private void detectMisfiresAfterTakeover(ManagedTask task) {
+        try {
+            taskStore.findById(task.getDefinition().getId())
+                    .map(TaskDefinition::getLastFireTime)
+                    .ifPresent(lastFireTime -> detectMisfires(task, lastFireTime));
+        } catch (Exception e) {
+            log.warn("读取任务 '{}' 的最近触发时间失败。", task.getDefinition().getId(), e);
+        }
+    }
+
+    /**
+     * 判断任务（或分片Key）是否归属本实例。
+     */
+    private boolean isOwnedLocally(String key) {
+        return clusterCoordinator == null || clusterCoordinator.isOwner(key);
+    }
+
+    /**
+     * 判断本实例是否需要调度该任务。分片任务在每个实例上都会调度，触发后只执行归属本实例的分片。
+     */
+    private boolean isScheduledLocally(TaskDefinition definition) {
+        if (definition.getTriggerType() == TriggerType.DEPENDENCY) {
+            return false;
+        }
+        Integer shards = definition.getShards();
+        return (shards != null && shards > 1) || isOwnedLocally(definition.getId());
+    }
+
+    /**
+     * 集群成员变化后重新平衡：调度新归属本实例的任务，取消已迁出的任务。
+     * 只处理持久化状态为运行中的任务，不修改持久化状态。
+     */
+    private void rebalance() {
+        int acquired = 0;
+        int released = 0;
+        for (ManagedTask task : runtimeTasks.values()) {
+            synchronized (task) {
+                if (task.getDefinition().getStatus() != TaskStatus.RUNNING) {
+                    continue;
+                }
+                ScheduledFuture<?> future = task.getScheduledFuture();
+                boolean scheduled = future != null && !future.isDone();
+                boolean owned = isScheduledLocally(task.getDefinition());
+                if (owned && !scheduled) {
+                    scheduleTask(task);
+                    acquired++;
+                    detectMisfiresAfterTakeover(task);
+                } else if (!owned && scheduled) {
+                    // false: 不中断正在执行的任务，只是不再触发
+                    future.cancel(false);
+                    task.setScheduledFuture(null);
+                    released++;
+                    misfireHandler.flush(task.getDefinition().getId());
+                }
+            }
+        }
+        log.info("集群任务重新平衡完成：接管 {} 个任务，迁出 {} 个任务。", acquired, released);
+    }
+
+    /**
+     * 加入运行时注册表，并通知生命周期监听器。
+     */
+    private void putRuntimeTask(ManagedTask managedTask) {
+        dependencyGraph.register(managedTask.getDefinition());
+        ManagedTask previous = runtimeTasks.put(managedTask.getDefinition().getId(), managedTask);
+        if (previous != null && previous != managedTask) {
+            lifecycleListeners.forEach(listener -> notifyListener(() -> listener.onTaskRemoved(previous)));
+        }
+        lifecycleListeners.forEach(listener -> notifyListener(() -> listener.onTaskRegistered(managedTask)));
+    }
+
+    private void removeRuntimeTask(String taskId) {
+        ManagedTask removed = runtimeTasks.remove(taskId);
+        dependencyGraph.remove(taskId);
+        if (removed != null) {
+            lifecycleListeners.forEach(listener -> notifyListener(() -> listener.onTaskRemoved(removed)));
+        }
+    }
+
+    private void onTaskStarted(ManagedTask task, LocalDateTime startTime) {
+        lifecycleListeners.forEach(listener -> notifyListener(() -> listener.onTaskStarted(task, startTime)));
+    }
+
+    private void onTaskStatusChanged(ManagedTask task, TaskStatus status) {
+        lifecycleListeners.forEach(listener -> notifyListener(() -> listener.onTaskStatusChanged(task, status)));
+    }
+
+    /**
+     * 任务每次执行完成后回调：通知监听器，并立即触发所有上游均已成功的下游任务。
+     * 下游任务通过触发引擎提交，互不依赖的分支会在调度线程池上并行执行。
+     */
+    private void onTaskExecuted(ManagedTask task, TaskExecutionLog executionLog) {
+        lifecycleListeners.forEach(listener -> notifyListener(() -> listener.onTaskExecuted(task, executionLog)));
+        try {
+            List<String> ready = dependencyGraph.onCompleted(task.getDefinition().getId(), executionLog, taskId -> {
+                ManagedTask downstream = runtimeTasks.get(taskId);
+                return downstream != null && downstream.getDefinition().getStatus() == TaskStatus.RUNNING;
+            });
+            for (String taskId : ready) {
+                ManagedTask downstream = runtimeTasks.get(taskId);
+                if (downstream != null) {
+                    log.info("任务 '{}' 的上游已全部成功，由 '{}' 触发执行。", taskId, task.getDefinition().getId());
+                    triggerEngine.schedule(downstream.getRunnable(), Instant.now());
+                }
+            }
+        } catch (Exception e) {
+            // 不能向执行线程抛出，否则本次成功的执行会被再次记为失败
+            log.error("触发任务 '{}' 的下游任务失败。", task.getDefinition().getId(), e);
+        }
+    }
+
+    /**
+     * 广播本实例的任务变更。广播失败不影响本地操作，其他实例在下一次定期同步时才会看到这次变更。
+     */
+    private void publishChange(TaskChangeEvent.Type type, String taskId, TaskStatus status) {
+        if (changeBus == null) {
+            return;
+        }
+        try {
+            changeBus.publish(new TaskChangeEvent(type, taskId, status, this.instanceId));
+        } catch (Exception e) {
+            if (clusterCoordinator != null) {
+                // 集群模式下负责调度的可能是其他实例，通知不到就等于操作没有生效，不能向调用方报告成功
+                throw new IllegalStateException("任务 '" + taskId + "' 的变更已写入存储，但通知其他实例失败，负责调度的实例可能尚未生效。", e);
+            }
+            log.warn("广播任务 '{}' 的变更失败，其他实例要到下一次定期同步（{}）后才会生效。", taskId,
+                    properties.getCluster().getResyncInterval(), e);
+        }
+    }
+
+    /**
+     * 应用其他实例发出的任务变更。存储已由对方写入，这里只更新本实例的运行时任务。
+     */
+    private void onRemoteChange(TaskChangeEvent event) {
+        if (this.instanceId.equals(event.instanceId())) {
+            return;
+        }
+        String taskId = event.taskId();
+        try {
+            switch (event.type()) {
+                case STATUS -> {
+                    ManagedTask task = runtimeTasks.get(taskId);
+                    if (task != null && event.status() != null) {
+                        applyStatus(task, event.status());
+                    }
+                }
+                case DEFINITION -> reloadDefinition(taskId);
+                case DELETED -> removeLocally(taskId);
+            }
+            log.debug("已应用实例 {} 发出的任务变更: {}", event.instanceId(), event);
+        } catch (Exception e) {
+            log.warn("应用实例 {} 发出的任务 '{}' 变更失败。", event.instanceId(), taskId, e);
+        }
+    }
+
+    private void applyStatus(ManagedTask task, TaskStatus status) {
+        if (task.getDefinition().getStatus() == status) {
+            // 状态已一致；归属本实例但尚未调度的运行中任务由重新平衡负责
+            return;
+        }
+        if (status == TaskStatus.RUNNING) {
+            startTask(task, false);
+        } else {
+            stopTask(task, false);
+        }
+    }
+
+    /**
+     * 从存储重新加载任务定义。
+     */
+    private void reloadDefinition(String taskId) {
+        Optional<TaskDefinition> stored = taskStore.findById(taskId);
+        if (stored.isEmpty()) {
+            removeLocally(taskId);
+            return;
+        }
+        applyStoredDefinition(stored.get());
+    }
+
+    /**
+     * 按存储中的定义更新本实例的运行时任务。注解任务的定义以各实例的代码为准，只同步状态；动态任务按新定义重建。
+     */
+    private void applyStoredDefinition(TaskDefinition definition) {
+        String taskId = definition.getId();
+        ManagedTask existing = runtimeTasks.get(taskId);
+        if (existing != null && (definition.getSourceType() != TaskSourceType.DYNAMIC
+                || isDefinitionEqual(definition, existing.getDefinition()))) {
+            applyStatus(existing, definition.getStatus());
+            return;
+        }
+        if (definition.getSourceType() != TaskSourceType.DYNAMIC) {
+            return;
+        }
+        if (existing != null) {
+            stopTask(existing, false);
+        }
+        ManagedTask managedTask = resolveTaskDefinition(definition);
+        putRuntimeTask(managedTask);
+        if (definition.getStatus() == TaskStatus.RUNNING) {
+            startTask(managedTask, false);
+        }
+        log.info("已从存储加载任务 '{}' 的最新定义。", taskId);
+    }
+
+    /**
+     * 启用变更通知时，按 cluster.resync-interval 定期从存储重新同步所有任务的定义和状态，
+     * 使漏掉的变更通知（见 {@link TaskChangeBus} 的各实现）无需重启也能最终生效。
+     */
+    private void startResync() {
+        Duration interval = properties.getCluster().getResyncInterval();
+        if (changeBus == null || interval == null || interval.isZero() || interval.isNegative() || resyncExecutor != null) {
+            return;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("hadoken-task-resync-"));
+        long intervalMillis = interval.toMillis();
+        executor.scheduleWithFixedDelay(this::resyncSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        this.resyncExecutor = executor;
+        log.info("已启用任务定期同步，每 {} 从存储同步一次任务定义与状态。", interval);
+    }
+
+    private void resyncSafely() {
+        try {
+            resync();
+        } catch (Exception e) {
+            log.warn("从存储同步任务失败，将在下次重试。", e);
+        }
+    }
+
+    /**
+     * 以存储为准同步本实例的运行时任务：更新状态、加载新增或变更的动态任务、移除已删除的任务。
+     * <p>
+     * 读取存储之前先记下每个运行时任务及其状态。同步期间本地发生的启停、创建或收到的变更通知都比读到的存储更新，
+     * 因此同步时任务对象或状态已与快照不同的任务本轮跳过，避免用旧数据覆盖；
+     * 新建任务总是先写存储再加入运行时，快照中的任务若不在存储中，一定是已被删除。
+     */
+    private void resync() {
+        Map<String, LocalSnapshot> snapshot = new HashMap<>();
+        runtimeTasks.forEach((taskId, task) -> snapshot.put(taskId, new LocalSnapshot(task, task.getDefinition().getStatus())));
+        Map<String, TaskDefinition> stored = new HashMap<>();
+        taskStore.findAll().forEach(definition -> stored.put(definition.getId(), definition));
+        stored.values().forEach(definition -> {
+            String taskId = definition.getId();
+            try {
+                LocalSnapshot local = snapshot.get(taskId);
+                ManagedTask current = runtimeTasks.get(taskId);
+                if (local == null) {
+                    if (current == null) {
+                        applyStoredDefinition(definition);
+                    }
+                    return;
+                }
+                synchronized (local.task()) {
+                    if (current == local.task() && current.getDefinition().getStatus() == local.status()) {
+                        applyStoredDefinition(definition);
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("同步任务 '{}' 失败。", taskId, e);
+            }
+        });
+        snapshot.forEach((taskId, local) -> {
+            if (!stored.containsKey(taskId) && runtimeTasks.get(taskId) == local.task()) {
+                removeLocally(taskId);
+            }
+        });
+    }
+
+    /**
+     * 同步开始时运行时任务的快照。
+     */
+    private record LocalSnapshot(ManagedTask task, TaskStatus status) {
+    }
+
+    private void removeLocally(String taskId) {
+        ManagedTask task = runtimeTasks.get(taskId);
+        if (task != null) {
+            stopTask(task, false);
+            removeRuntimeTask(taskId);
+            log.info("任务 '{}' 已在其他实例上删除，已从本实例移除。", taskId);
+        }
+    }
+
+    private void notifyListener(Runnable callback) {
+        try {
+            callback.run();
+        } catch (Exception e) {
+            log.warn("任务生命周期监听器执行失败。", e);
+        }
+    }
+
+    /**
+     * 统一创建运行时任务对象。
+     */
+    private ManagedTask newManagedTask(TaskDefinition definition, Runnable originalRunnable) {
+        return new ManagedTask(definition,
+                originalRunnable,
+                this.instanceId,
+                properties.getLogRetentionSize(),
+                this.lockProviderOpt,
+                this.taskLogStore,
+                this.taskDispatcher,
+                this::isOwnedLocally,
+                this::onTaskExecuted,
+                this::onTaskStarted
+        );
+    }
+
     /**
      * 根据TaskDefinition构建Spring的Trigger对象。
      *
@@ -362,6 +913,7 @@ public class TaskManagerImpl implements TaskManager {
                 trigger.setFixedRate(false);
                 yield trigger;
             }
+            case DEPENDENCY -> throw new IllegalStateException("依赖触发的任务 '" + definition.getId() + "' 没有时间触发器。");
         };
     }
 
@@ -385,11 +937,18 @@ public class TaskManagerImpl implements TaskManager {
     }
 
     private boolean isDefinitionEqual(TaskDefinition codeDef, TaskDefinition dbDef) {
-        return codeDef.getDescription().equals(dbDef.getDescription()) &&
-                codeDef.getBeanName().equals(dbDef.getBeanName()) &&
-                codeDef.getMethodName().equals(dbDef.getMethodName()) &&
+        return Objects.equals(codeDef.getDescription(), dbDef.getDescription()) &&
+                Objects.equals(codeDef.getBeanName(), dbDef.getBeanName()) &&
+                Objects.equals(codeDef.getMethodName(), dbDef.getMethodName()) &&
                 codeDef.getTriggerType() == dbDef.getTriggerType() &&
-                codeDef.getTriggerValue().equals(dbDef.getTriggerValue());
+                Objects.equals(codeDef.getTriggerValue(), dbDef.getTriggerValue()) &&
+                codeDef.getSourceType() == dbDef.getSourceType() &&
+                Objects.equals(codeDef.getLockAtMostForString(), dbDef.getLockAtMostForString()) &&
+                Objects.equals(codeDef.getMaxConcurrency(), dbDef.getMaxConcurrency()) &&
+                Objects.equals(codeDef.getShards(), dbDef.getShards()) &&
+                Objects.equals(codeDef.getTimeout(), dbDef.getTimeout()) &&
+                codeDef.getMisfirePolicy() == dbDef.getMisfirePolicy() &&
+                Objects.equals(codeDef.getJitter(), dbDef.getJitter());
     }
 
     private String generateInstanceId() {
@@ -0,0 +1,160 @@
+package com.hadoken.framework.scheduler.metrics;
+
+import com.hadoken.framework.scheduler.listener.TaskLifecycleListener;
+import com.hadoken.framework.scheduler.model.ManagedTask;
+import com.hadoken.framework.scheduler.wrapper.MonitoredTaskWrapper;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 将调度器运行状态注册到 Micrometer。
+ * <p>
+ * 所有任务指标都是 Function 类型（FunctionCounter / FunctionTimer / Gauge），
+ * 只在被采集时读取 {@link ManagedTask} 上已有的原子计数和耗时直方图，任务执行路径上没有任何额外开销。
+ * 任务指标以 task.id 与 source（{@link com.hadoken.framework.scheduler.enums.TaskSourceType}）作为标签，
+ * 运行时新增或删除的任务通过 {@link TaskLifecycleListener} 同步注册或移除。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/7 10:20
+ */
+@Slf4j
+public class HadokenSchedulerMeterBinder implements MeterBinder, TaskLifecycleListener {
+
+    private static final String PREFIX = "hadoken.scheduler.";
+
+    private final ObjectProvider<ThreadPoolTaskScheduler> taskSchedulerProvider;
+    private final Map<String, ManagedTask> tasks = new ConcurrentHashMap<>();
+    private final Map<String, List<Meter>> taskMeters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public HadokenSchedulerMeterBinder(ObjectProvider<ThreadPoolTaskScheduler> taskSchedulerProvider) {
+        this.taskSchedulerProvider = taskSchedulerProvider;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        bindSchedulerPool(registry);
+        tasks.values().forEach(task -> bindTask(registry, task));
+    }
+
+    @Override
+    public void onTaskRegistered(ManagedTask task) {
+        tasks.put(task.getDefinition().getId(), task);
+        MeterRegistry current = this.registry;
+        if (current != null) {
+            bindTask(current, task);
+        }
+    }
+
+    @Override
+    public void onTaskRemoved(ManagedTask task) {
+        String taskId = task.getDefinition().getId();
+        // 同ID任务被替换时，新实例已先行注册，此时不应移除
+        if (tasks.remove(taskId, task)) {
+            unbindTask(taskId);
+        }
+    }
+
+    private void bindSchedulerPool(MeterRegistry registry) {
+        ThreadPoolTaskScheduler scheduler = taskSchedulerProvider.getIfAvailable();
+        if (scheduler == null) {
+            return;
+        }
+        Gauge.builder(PREFIX + "pool.active", scheduler, ThreadPoolTaskScheduler::getActiveCount)
+                .description("调度线程池中正在执行任务的线程数")
+                .register(registry);
+        Gauge.builder(PREFIX + "pool.size", scheduler, ThreadPoolTaskScheduler::getPoolSize)
+                .description("调度线程池当前线程数")
+                .register(registry);
+        Gauge.builder(PREFIX + "pool.queued", scheduler, HadokenSchedulerMeterBinder::queueSize)
+                .description("调度线程池中等待触发的任务数")
+                .register(registry);
+    }
+
+    private synchronized void bindTask(MeterRegistry registry, ManagedTask task) {
+        String taskId = task.getDefinition().getId();
+        // 同ID任务可能被新实例替换，先移除绑定在旧实例上的指标
+        unbindTask(taskId);
+        String source = task.getDefinition().getSourceType() != null
+                ? task.getDefinition().getSourceType().name() : "UNKNOWN";
+        Tags tags = Tags.of("task.id", taskId, "source", source);
+        LatencyHistogram histogram = task.getLatencyHistogram();
+
+        List<Meter> meters = new ArrayList<>();
+        meters.add(counter(registry, "task.executions", task, t -> t.getSuccessCount().get(),
+                tags.and("result", "success"), "任务执行成功次数"));
+        meters.add(counter(registry, "task.executions", task, t -> t.getFailureCount().get(),
+                tags.and("result", "failure"), "任务执行失败次数"));
+        meters.add(counter(registry, "task.skipped", task, t -> t.getOverlapSkippedCount().get(),
+                tags.and("reason", "overlap"), "因上一次执行未完成而跳过的次数"));
+        meters.add(counter(registry, "task.skipped", task, t -> t.getLockMissedCount().get(),
+                tags.and("reason", "lock_missed"), "因未获取到分布式锁而跳过的次数"));
+        meters.add(counter(registry, "task.skipped", task, t -> t.getRejectedCount().get(),
+                tags.and("reason", "rejected"), "因执行线程池已满而跳过的次数"));
+        meters.add(counter(registry, "task.timeouts", task, t -> t.getTimeoutCount().get(),
+                tags, "因执行超时被终止的次数（已计入失败次数）"));
+        meters.add(counter(registry, "task.misfires", task, t -> t.getMisfireCount().get(),
+                tags, "检测到的错过触发次数"));
+        meters.add(FunctionTimer.builder(PREFIX + "task.duration", histogram,
+                        LatencyHistogram::getTotalCount, LatencyHistogram::getTotalValue, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("任务执行耗时")
+                .register(registry));
+        meters.add(TimeGauge.builder(PREFIX + "task.duration.max", histogram, TimeUnit.NANOSECONDS,
+                        LatencyHistogram::getMax)
+                .tags(tags)
+                .description("任务最大执行耗时")
+                .register(registry));
+        meters.add(TimeGauge.builder(PREFIX + "task.duration.p99", histogram, TimeUnit.NANOSECONDS,
+                        h -> h.getValueAtPercentile(99.0))
+                .tags(tags)
+                .description("任务执行耗时99分位")
+                .register(registry));
+        meters.add(Gauge.builder(PREFIX + "task.running", task, HadokenSchedulerMeterBinder::runningCount)
+                .tags(tags)
+                .description("任务当前正在执行的次数")
+                .register(registry));
+        taskMeters.put(taskId, meters);
+    }
+
+    private synchronized void unbindTask(String taskId) {
+        List<Meter> meters = taskMeters.remove(taskId);
+        MeterRegistry current = this.registry;
+        if (meters != null && current != null) {
+            meters.forEach(current::remove);
+        }
+    }
+
+    private static Meter counter(MeterRegistry registry, String name, ManagedTask task,
+                                 ToDoubleFunction<ManagedTask> countFunction, Tags tags, String description) {
+        return FunctionCounter.builder(PREFIX + name, task, countFunction)
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+
+    private static double queueSize(ThreadPoolTaskScheduler scheduler) {
+        try {
+            return scheduler.getScheduledThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException e) {
+            // 调度器尚未初始化
+            return 0;
+        }
+    }
+
+    private static double runningCount(ManagedTask task) {
+        return task.getRunnable() instanceof MonitoredTaskWrapper wrapper ? wrapper.getRunningCount() : 0;
+    }
+}
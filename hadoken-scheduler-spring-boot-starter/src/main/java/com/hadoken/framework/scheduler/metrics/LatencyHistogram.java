@@ -0,0 +1,144 @@
+package com.hadoken.framework.scheduler.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁、固定内存的耗时直方图（对数-线性分桶，思路与 HdrHistogram 相同）。
+ * <p>
+ * 小于 2^{@value #SUB_BUCKET_BITS} 纳秒的值逐一计数；更大的值按 2 的幂划分区间，
+ * 每个区间再线性细分为 2^({@value #SUB_BUCKET_BITS}-1) 个子桶，相对误差不超过约 3%。
+ * 可记录的最大值约为 73 分钟（2^42 纳秒），超出部分计入最后一个桶，但 {@link #getMax()} 仍是精确值。
+ * <p>
+ * {@link #recordValue(long)} 只做数组下标计算和原子自增，不分配任何对象，可在每次任务执行后调用；
+ * 分位数计算在读取时基于当前计数进行，与写入并发时结果为近似值。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/6 10:12
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+    private static final int MAX_VALUE_BITS = 42;
+    private static final long MAX_TRACKABLE_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = MAX_VALUE_BITS - SUB_BUCKET_BITS + 1;
+    private static final int LENGTH = SUB_BUCKET_COUNT + (BUCKET_COUNT - 1) * SUB_BUCKET_HALF_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LENGTH);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * 记录一个耗时（纳秒），负数按0处理。
+     */
+    public void recordValue(long valueNanos) {
+        long value = Math.max(0L, valueNanos);
+        counts.incrementAndGet(indexOf(Math.min(value, MAX_TRACKABLE_VALUE)));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(value);
+        long currentMax;
+        while (value > (currentMax = maxValue.get())) {
+            if (maxValue.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * 所有记录值之和（纳秒）。
+     */
+    public long getTotalValue() {
+        return totalValue.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0.0 : (double) totalValue.get() / count;
+    }
+
+    /**
+     * 计算指定分位数的耗时（纳秒）。
+     *
+     * @param percentile 分位数，取值 (0, 100]
+     * @return 所在桶的中间值；没有任何记录时返回0
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[LENGTH];
+        long total = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        return valueAtPercentile(snapshot, total, percentile);
+    }
+
+    /**
+     * 一次性取得常用统计值，只对计数数组做一次快照。
+     */
+    public LatencySnapshot snapshot() {
+        long[] snapshot = new long[LENGTH];
+        long total = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        return new LatencySnapshot(
+                total,
+                getMean(),
+                valueAtPercentile(snapshot, total, 50.0),
+                valueAtPercentile(snapshot, total, 90.0),
+                valueAtPercentile(snapshot, total, 99.0),
+                valueAtPercentile(snapshot, total, 99.9),
+                getMax()
+        );
+    }
+
+    private long valueAtPercentile(long[] snapshot, long total, double percentile) {
+        if (total == 0) {
+            return 0L;
+        }
+        double p = Math.min(Math.max(percentile, 0.0), 100.0);
+        long countAtPercentile = Math.max(1L, (long) Math.ceil(p / 100.0 * total));
+        long running = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            running += snapshot[i];
+            if (running >= countAtPercentile) {
+                return Math.min(medianValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int bucket = highestBit - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> bucket) - SUB_BUCKET_HALF_COUNT;
+        return SUB_BUCKET_COUNT + (bucket - 1) * SUB_BUCKET_HALF_COUNT + subBucket;
+    }
+
+    static long medianValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int bucket = offset / SUB_BUCKET_HALF_COUNT + 1;
+        int subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        long lowest = (long) subBucket << bucket;
+        return lowest + ((1L << bucket) >> 1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.hadoken.framework.scheduler.metrics;
+
+/**
+ * 耗时直方图在某一时刻的统计快照，所有耗时单位均为纳秒。
+ *
+ * @param count 记录总次数
+ * @param mean  平均耗时
+ * @param p50   50分位耗时
+ * @param p90   90分位耗时
+ * @param p99   99分位耗时
+ * @param p999  99.9分位耗时
+ * @param max   最大耗时
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/6 10:15
+ */
+public record LatencySnapshot(
+        long count,
+        double mean,
+        long p50,
+        long p90,
+        long p99,
+        long p999,
+        long max
+) {
+}
@@ -0,0 +1,71 @@
+package com.hadoken.framework.scheduler.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁的滑动窗口速率统计，按秒分槽。
+ * <p>
+ * 每个槽位用一个 long 同时保存秒数（高32位）和该秒内的计数（低32位），
+ * 通过一次 CAS 完成“跨秒重置 + 计数”，既不会丢计数，也不分配对象。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/6 10:20
+ */
+public class SlidingWindowRate {
+
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final int windowSeconds;
+    private final AtomicLongArray slots;
+
+    /**
+     * @param windowSeconds 窗口长度（秒）
+     */
+    public SlidingWindowRate(int windowSeconds) {
+        this.windowSeconds = Math.max(1, windowSeconds);
+        this.slots = new AtomicLongArray(this.windowSeconds);
+    }
+
+    public void record() {
+        record(System.currentTimeMillis());
+    }
+
+    void record(long nowMillis) {
+        long second = nowMillis / 1000L;
+        int index = (int) (second % windowSeconds);
+        long secondTag = (second & COUNT_MASK) << 32;
+        for (; ; ) {
+            long current = slots.get(index);
+            long next = (current & ~COUNT_MASK) == secondTag ? current + 1 : secondTag | 1L;
+            if (slots.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 窗口内（不含当前未满的一秒）的平均每秒次数。
+     */
+    public double getRatePerSecond() {
+        return getRatePerSecond(System.currentTimeMillis());
+    }
+
+    double getRatePerSecond(long nowMillis) {
+        long currentSecond = nowMillis / 1000L;
+        long total = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            long slot = slots.get(i);
+            long second = slot >>> 32;
+            long age = ((currentSecond & COUNT_MASK) - second) & COUNT_MASK;
+            if (age >= 1 && age <= windowSeconds) {
+                total += slot & COUNT_MASK;
+            }
+        }
+        return (double) total / windowSeconds;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+}
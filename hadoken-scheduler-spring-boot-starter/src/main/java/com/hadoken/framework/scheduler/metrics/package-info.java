@@ -0,0 +1,8 @@
+/**
+ * 任务运行指标：无锁耗时直方图与滑动窗口速率统计
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/6 10:10
+ */
+package com.hadoken.framework.scheduler.metrics;
@@ -1,6 +1,8 @@
 package com.hadoken.framework.scheduler.model;
 
+import com.hadoken.framework.scheduler.enums.MisfirePolicy;
 import com.hadoken.framework.scheduler.enums.TriggerType;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -31,4 +33,31 @@ public class CreateTaskRequestDTO {
 
     @NotBlank(message = "触发器具体的值不能为空")
     private String triggerValue;
+
+    /**
+     * 同一任务允许同时执行的最大次数，不填默认为1。
+     */
+    @Min(value = 1, message = "最大并发数不能小于1")
+    private Integer maxConcurrency;
+
+    /**
+     * 分片数，不填默认为1（不分片）。
+     */
+    @Min(value = 1, message = "分片数不能小于1")
+    private Integer shards;
+
+    /**
+     * 单次执行的超时时间（如 "30s"、"PT5M"），不填则不限制。
+     */
+    private String timeout;
+
+    /**
+     * 错过触发后的补偿策略，不填默认为 SKIP。
+     */
+    private MisfirePolicy misfirePolicy;
+
+    /**
+     * 触发抖动窗口（如 "10s"），不填则不抖动。
+     */
+    private String jitter;
 }
@@ -1,11 +1,18 @@
 package com.hadoken.framework.scheduler.model;
 
+import com.hadoken.framework.scheduler.engine.TaskDispatcher;
 import com.hadoken.framework.scheduler.enums.TaskStatus;
+import com.hadoken.framework.scheduler.enums.TriggerType;
 import com.hadoken.framework.scheduler.lock.DistributedLockProvider;
+import com.hadoken.framework.scheduler.metrics.LatencyHistogram;
+import com.hadoken.framework.scheduler.metrics.SlidingWindowRate;
 import com.hadoken.framework.scheduler.store.TaskLogStore;
 import com.hadoken.framework.scheduler.wrapper.MonitoredTaskWrapper;
 import lombok.Getter;
 import lombok.ToString;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.Trigger;
+import org.springframework.util.StringUtils;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -13,10 +20,13 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
 /**
  * 被管理任务的运行时（In-Memory）模型。
@@ -29,7 +39,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * Created on 2025/8/13 11:30
  */
 @Getter
-@ToString(exclude = {"scheduledFuture", "runnable"})
+@ToString(exclude = {"scheduledFuture", "runnable", "trigger", "latencyHistogram", "executionRate", "shardOwnership", "executionCallback", "startCallback"})
 public class ManagedTask {
 
     /**
@@ -52,13 +62,31 @@ public class ManagedTask {
      */
     private volatile ScheduledFuture<?> scheduledFuture;
 
+    /**
+     * 注解任务由Spring解析出的原始触发器；为空时根据定义重新构建。
+     */
+    private volatile Trigger trigger;
+
     // --- 统计信息 (需线程安全) ---
     private final AtomicLong successCount = new AtomicLong(0);
     private final AtomicLong failureCount = new AtomicLong(0);
     private final AtomicLong totalExecutionTimeMillis = new AtomicLong(0);
+    private final AtomicLong overlapSkippedCount = new AtomicLong(0);
+    private final AtomicLong lockMissedCount = new AtomicLong(0);
+    private final AtomicLong rejectedCount = new AtomicLong(0);
+    private final AtomicLong timeoutCount = new AtomicLong(0);
+    private final AtomicLong misfireCount = new AtomicLong(0);
     private volatile LocalDateTime lastExecutionTime;
     private volatile boolean lastExecutionSuccess;
     private volatile String lastErrorMessage;
+    /**
+     * 执行耗时直方图（纳秒），用于计算 p50/p90/p99 等尾部延迟。
+     */
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    /**
+     * 最近一分钟的执行速率。
+     */
+    private final SlidingWindowRate executionRate = new SlidingWindowRate(60);
     /**
      * 存储最近的执行日志（内存中）。
      */
@@ -68,19 +96,43 @@ public class ManagedTask {
     // (可选) 当前执行任务的应用实例ID
     private final String instanceId;
     private final TaskLogStore taskLogStore;
+    /**
+     * 判断某个分片Key（见 {@link ShardContext#key(String, int)}）是否由本实例执行。
+     */
+    private final Predicate<String> shardOwnership;
+    /**
+     * 每次执行完成（成功或失败）后的回调，用于通知监听器和触发下游任务。
+     */
+    private final BiConsumer<ManagedTask, TaskExecutionLog> executionCallback;
+    /**
+     * 每次执行开始时的回调，参数为开始时间，用于通知监听器。
+     */
+    private final BiConsumer<ManagedTask, LocalDateTime> startCallback;
+    /**
+     * 单次执行的超时时间，未配置时为 null。
+     */
+    private final Duration timeout;
 
     public ManagedTask(TaskDefinition definition, Runnable originalRunnable, String instanceId,
                        int logRetentionSize,
                        Optional<DistributedLockProvider> lockProviderOpt,
-                       TaskLogStore taskLogStore) {
+                       TaskLogStore taskLogStore,
+                       TaskDispatcher dispatcher,
+                       Predicate<String> shardOwnership,
+                       BiConsumer<ManagedTask, TaskExecutionLog> executionCallback,
+                       BiConsumer<ManagedTask, LocalDateTime> startCallback) {
         this.definition = definition;
         this.originalRunnable = originalRunnable;
         this.logRetentionSize = logRetentionSize > 0 ? logRetentionSize : 100;
         this.executionLogs = new ConcurrentLinkedQueue<>();
         this.instanceId = instanceId;
         this.taskLogStore = taskLogStore;
+        this.shardOwnership = shardOwnership;
+        this.executionCallback = executionCallback;
+        this.startCallback = startCallback;
+        this.timeout = StringUtils.hasText(definition.getTimeout()) ? DurationStyle.detectAndParse(definition.getTimeout()) : null;
         // 创建监控包装器
-        this.runnable = new MonitoredTaskWrapper(this, lockProviderOpt);
+        this.runnable = new MonitoredTaskWrapper(this, lockProviderOpt, dispatcher);
     }
 
     // --- 线程安全的状态更新方法 ---
@@ -91,31 +143,121 @@ public class ManagedTask {
         }
     }
 
-    public void updateOnSuccess(Duration duration) {
+    public void setTrigger(Trigger trigger) {
+        this.trigger = trigger;
+    }
+
+    /**
+     * 记录一次成功执行。
+     *
+     * @param startTime 本次执行的开始时间；并发执行时各次执行互不相同，不能读取共享的上次执行时间
+     * @param duration  本次执行耗时
+     */
+    public void updateOnSuccess(LocalDateTime startTime, Duration duration) {
         this.successCount.incrementAndGet();
         this.totalExecutionTimeMillis.addAndGet(duration.toMillis());
+        recordLatency(duration);
         this.lastExecutionSuccess = true;
         this.lastErrorMessage = null;
-        addLog(new TaskExecutionLog(this.lastExecutionTime, duration, true, null, this.instanceId));
+        addLog(new TaskExecutionLog(startTime, duration, true, null, this.instanceId, UUID.randomUUID().toString()));
     }
 
-    public void updateOnFailure(Duration duration, Throwable throwable) {
+    /**
+     * 记录一次失败执行。
+     *
+     * @param startTime 本次执行的开始时间，同 {@link #updateOnSuccess(LocalDateTime, Duration)}
+     * @param duration  本次执行耗时
+     * @param throwable 失败原因
+     */
+    public void updateOnFailure(LocalDateTime startTime, Duration duration, Throwable throwable) {
         this.failureCount.incrementAndGet();
         this.totalExecutionTimeMillis.addAndGet(duration.toMillis());
+        recordLatency(duration);
         this.lastExecutionSuccess = false;
         Throwable rootCause = throwable;
         while (rootCause.getCause() != null) {
             rootCause = rootCause.getCause();
         }
         this.lastErrorMessage = rootCause.getClass().getSimpleName() + ": " + rootCause.getMessage();
-        addLog(new TaskExecutionLog(this.lastExecutionTime, duration, false, this.lastErrorMessage, this.instanceId));
+        addLog(new TaskExecutionLog(startTime, duration, false, this.lastErrorMessage, this.instanceId,
+                UUID.randomUUID().toString()));
+    }
+
+    /**
+     * 因上一次执行尚未完成（达到并发上限）而跳过。
+     */
+    public void recordOverlapSkipped() {
+        this.overlapSkippedCount.incrementAndGet();
+    }
+
+    /**
+     * 因未获取到分布式锁而跳过。
+     */
+    public void recordLockMissed() {
+        this.lockMissedCount.incrementAndGet();
+    }
+
+    /**
+     * 因执行线程池已满而跳过。
+     */
+    public void recordRejected() {
+        this.rejectedCount.incrementAndGet();
+    }
+
+    /**
+     * 因执行超时被看门狗终止（同时计入失败次数）。
+     */
+    public void recordTimeout() {
+        this.timeoutCount.incrementAndGet();
+    }
+
+    /**
+     * 检测到错过的触发（停机期间或调度延迟导致），无论是否补偿都会计数。
+     */
+    public void recordMisfire(int missed) {
+        this.misfireCount.addAndGet(missed);
     }
 
     public void setLastExecutionTime(LocalDateTime startTime) {
         this.lastExecutionTime = startTime;
     }
 
+    /**
+     * 一次执行开始：更新上次执行时间，并回调开始监听。
+     */
+    public void markStarted(LocalDateTime startTime) {
+        this.lastExecutionTime = startTime;
+        this.startCallback.accept(this, startTime);
+    }
+
+    /**
+     * 本实例内允许同时执行的最大次数，未配置时为1。
+     */
+    public int getMaxConcurrency() {
+        Integer maxConcurrency = this.definition.getMaxConcurrency();
+        return maxConcurrency != null && maxConcurrency > 0 ? maxConcurrency : 1;
+    }
+
+    /**
+     * 分片数，未配置时为1（不分片）。
+     */
+    public int getShardCount() {
+        Integer shards = this.definition.getShards();
+        return shards != null && shards > 1 ? shards : 1;
+    }
+
+    /**
+     * 指定分片是否由本实例执行。
+     */
+    public boolean isShardOwnedLocally(int index) {
+        return this.shardOwnership.test(ShardContext.key(this.definition.getId(), index));
+    }
+
     public TaskStatus getStatus() {
+        if (this.definition.getTriggerType() == TriggerType.DEPENDENCY) {
+            // 依赖触发的任务不进入调度器，状态以定义为准
+            return this.definition.getStatus() == TaskStatus.RUNNING ? TaskStatus.RUNNING : TaskStatus.STOPPED;
+        }
         if (this.scheduledFuture == null || this.scheduledFuture.isCancelled()) {
             return TaskStatus.STOPPED;
         }
@@ -141,8 +283,14 @@ public class ManagedTask {
         return totalExecutionTimeMillis.get() / totalCount;
     }
 
+    private void recordLatency(Duration duration) {
+        this.latencyHistogram.recordValue(duration.toNanos());
+        this.executionRate.record();
+    }
+
     private void addLog(TaskExecutionLog logEntry) {
         this.taskLogStore.save(this.definition.getId(), logEntry);
+        this.executionCallback.accept(this, logEntry);
     }
 
     public List<TaskExecutionLog> getExecutionLogs() {
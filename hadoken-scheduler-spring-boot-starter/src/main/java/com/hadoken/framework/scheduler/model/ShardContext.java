@@ -0,0 +1,62 @@
+package com.hadoken.framework.scheduler.model;
+
+/**
+ * 分片任务中当前正在执行的分片。
+ * <p>
+ * 由于 @Scheduled 方法必须是无参的，注解任务通过 {@link #current()} 读取当前分片；
+ * 动态任务的方法也可以直接声明一个 ShardContext 参数。业务代码通常按
+ * {@code id % total == index} 过滤出本分片负责的数据。
+ *
+ * @param index 分片序号，从0开始
+ * @param total 分片总数
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/11 10:05
+ */
+public record ShardContext(int index, int total) {
+
+    /**
+     * 未分片的任务视为只有一个分片。
+     */
+    public static final ShardContext SINGLE = new ShardContext(0, 1);
+
+    private static final ThreadLocal<ShardContext> CURRENT = new ThreadLocal<>();
+
+    public ShardContext {
+        if (total < 1 || index < 0 || index >= total) {
+            throw new IllegalArgumentException("无效的分片: " + index + "/" + total);
+        }
+    }
+
+    /**
+     * 当前线程正在执行的分片，不在分片执行上下文中时返回 {@link #SINGLE}。
+     */
+    public static ShardContext current() {
+        ShardContext current = CURRENT.get();
+        return current != null ? current : SINGLE;
+    }
+
+    /**
+     * 分片在集群归属、分布式锁中使用的Key。
+     */
+    public static String key(String taskId, int index) {
+        return taskId + "#" + index;
+    }
+
+    /**
+     * 在指定分片的上下文中执行操作，结束后恢复之前的上下文。
+     */
+    public static void runWith(ShardContext shard, Runnable action) {
+        ShardContext previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.hadoken.framework.scheduler.model;
 
+import com.hadoken.framework.scheduler.enums.MisfirePolicy;
 import com.hadoken.framework.scheduler.enums.TaskSourceType;
 import com.hadoken.framework.scheduler.enums.TaskStatus;
 import com.hadoken.framework.scheduler.enums.TriggerType;
@@ -8,6 +9,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * 任务定义的规范化POJO (Plain Old Java Object)。
  * 这是框架内部用来表示一个任务完整定义的核心数据结构，它与任何持久化技术无关。
@@ -71,4 +74,38 @@ public class TaskDefinition {
      * 分布式锁的最长持有时间字符串。
      */
     private String lockAtMostForString;
+
+    /**
+     * 同一任务允许同时执行的最大次数，为空或小于1时视为1（即不允许重叠执行）。
+     */
+    private Integer maxConcurrency;
+
+    /**
+     * 分片数，为空或小于等于1时不分片。每次触发时任务被拆分为该数量的分片并行执行。
+     */
+    private Integer shards;
+
+    /**
+     * 单次执行的超时时间字符串（如 "30s"、"PT5M"），为空时不限制。
+     * 超时后执行线程会被中断、持有的分布式锁被提前释放，本次执行记为失败。
+     */
+    private String timeout;
+
+    /**
+     * 错过触发后的补偿策略，为空时视为 {@link MisfirePolicy#SKIP}。
+     */
+    private MisfirePolicy misfirePolicy;
+
+    /**
+     * 触发抖动窗口（如 "10s"），为空时不抖动。
+     * 每次触发在计划时间后延迟一个固定偏移，偏移由任务ID（及 engine.jitter-node-name）的哈希决定，落在 [0, jitter) 内，
+     * 重启后保持不变，用于把大量同一时刻触发的任务分散开。窗口应小于触发周期。
+     */
+    private String jitter;
+
+    /**
+     * 最近一次计划触发的时间，由调度器在每次触发后通过 {@link com.hadoken.framework.scheduler.store.TaskStore#updateLastFireTime} 单独持久化，
+     * 不属于任务定义本身，也不参与定义的比对。
+     */
+    private LocalDateTime lastFireTime;
 }
\ No newline at end of file
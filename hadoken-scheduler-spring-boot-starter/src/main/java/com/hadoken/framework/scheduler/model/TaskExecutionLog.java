@@ -2,6 +2,7 @@ package com.hadoken.framework.scheduler.model;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
 /**
  * 任务单次执行的日志记录。
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
  * @param success      任务是否成功执行
  * @param errorMessage 如果执行失败，记录错误信息
  * @param instanceId   执行此次任务的应用实例ID (用于集群环境)
+ * @param logId        日志ID，开始时间相同时作为分页游标的第二排序键；旧版本写入的日志可能为 null
  * @author yanggj
  * @version 1.0.0
  * Created on 2025/8/13 11:15
@@ -20,6 +22,30 @@ public record TaskExecutionLog(
         Duration duration,
         boolean success,
         String errorMessage,
-        String instanceId // 新增字段，用于集群追踪
+        String instanceId, // 新增字段，用于集群追踪
+        String logId
 ) {
-}
\ No newline at end of file
+
+    /**
+     * 日志的标准排序：按 (开始时间, 日志ID) 倒序，与 SQL 存储的 ORDER BY start_time DESC, log_id DESC 一致。
+     * 开始时间或日志ID为 null 的排在最后。
+     */
+    public static final Comparator<TaskExecutionLog> NEWEST_FIRST = Comparator
+            .comparing(TaskExecutionLog::startTime, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(TaskExecutionLog::logId, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .reversed();
+
+    /**
+     * 判断本条日志在 {@link #NEWEST_FIRST} 排序中是否位于游标 (beforeTime, beforeLogId) 之后，即属于下一页。
+     *
+     * @param beforeTime  游标的开始时间
+     * @param beforeLogId 游标的日志ID，为 null 时只比较开始时间
+     */
+    public boolean isBefore(LocalDateTime beforeTime, String beforeLogId) {
+        if (startTime == null) {
+            return false;
+        }
+        int compared = startTime.compareTo(beforeTime);
+        return compared < 0 || (compared == 0 && beforeLogId != null && logId != null && logId.compareTo(beforeLogId) < 0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.hadoken.framework.scheduler.model;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 单个任务在一分钟内的执行统计（预聚合结果）。
+ * <p>
+ * 耗时按 {@link #BIN_UPPER_BOUNDS_MILLIS} 划分为 {@value #BIN_COUNT} 个区间计数，最后一个区间收纳超过 60 秒的执行。
+ * 所有字段都可以直接相加（最小/最大值取极值）合并，因此多个实例、多次刷写的同一分钟可以在存储中原地累加。
+ *
+ * @param minute             统计的分钟（秒及以下为0）
+ * @param count              执行次数
+ * @param failures           失败次数
+ * @param durationSumMillis  耗时之和（毫秒）
+ * @param durationMinMillis  最小耗时（毫秒）
+ * @param durationMaxMillis  最大耗时（毫秒）
+ * @param bins               各耗时区间的执行次数，长度为 {@value #BIN_COUNT}
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/18 10:05
+ */
+public record TaskStatsRollup(
+        LocalDateTime minute,
+        long count,
+        long failures,
+        long durationSumMillis,
+        long durationMinMillis,
+        long durationMaxMillis,
+        long[] bins
+) {
+
+    /**
+     * 各耗时区间的上界（毫秒，含），超过最后一个上界的执行计入最后一个区间。
+     */
+    public static final long[] BIN_UPPER_BOUNDS_MILLIS = {10, 100, 500, 1_000, 5_000, 30_000, 60_000};
+    public static final int BIN_COUNT = 8;
+
+    /**
+     * 耗时所在的区间下标。
+     */
+    public static int binOf(long durationMillis) {
+        for (int i = 0; i < BIN_UPPER_BOUNDS_MILLIS.length; i++) {
+            if (durationMillis <= BIN_UPPER_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BIN_COUNT - 1;
+    }
+
+    /**
+     * 与同一分钟的另一份统计合并，返回新的实例。
+     */
+    public TaskStatsRollup merge(TaskStatsRollup other) {
+        long[] merged = Arrays.copyOf(bins, BIN_COUNT);
+        for (int i = 0; i < BIN_COUNT && i < other.bins.length; i++) {
+            merged[i] += other.bins[i];
+        }
+        return new TaskStatsRollup(minute,
+                count + other.count,
+                failures + other.failures,
+                durationSumMillis + other.durationSumMillis,
+                Math.min(durationMinMillis, other.durationMinMillis),
+                Math.max(durationMaxMillis, other.durationMaxMillis),
+                merged);
+    }
+}
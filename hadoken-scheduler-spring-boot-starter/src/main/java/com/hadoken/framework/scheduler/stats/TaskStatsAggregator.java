@@ -0,0 +1,202 @@
+package com.hadoken.framework.scheduler.stats;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.listener.TaskLifecycleListener;
+import com.hadoken.framework.scheduler.model.ManagedTask;
+import com.hadoken.framework.scheduler.model.TaskExecutionLog;
+import com.hadoken.framework.scheduler.model.TaskStatsRollup;
+import com.hadoken.framework.scheduler.store.TaskStatsStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 执行统计聚合器：在内存中把每次执行折叠进 (任务, 分钟) 桶，按固定间隔刷写到 {@link TaskStatsStore}。
+ * <p>
+ * 每次执行只更新一个桶（加锁范围仅限该桶），不产生额外的存储写入；
+ * 刷写时逐个取下桶并封存，封存后仍到达的执行会落入新建的桶、在下一次刷写，因此不会丢失也不会重复计数。
+ * 存储按分钟累加，同一分钟被多次刷写或由多个实例写入都能得到正确结果。刷写失败的统计合并回内存，等待下次重试。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/18 10:40
+ */
+@Slf4j
+public class TaskStatsAggregator implements TaskLifecycleListener, DisposableBean {
+
+    /**
+     * 存储不可用时内存中最多保留的桶数，超出后丢弃新的统计，避免无限增长。
+     */
+    private static final int MAX_PENDING_BUCKETS = 100_000;
+    /**
+     * 清理过期统计的最小间隔。
+     */
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final TaskStatsStore statsStore;
+    private final HadokenSchedulerProperties.Stats properties;
+    private final ConcurrentMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private long lastPurgeMillis;
+
+    public TaskStatsAggregator(TaskStatsStore statsStore, HadokenSchedulerProperties.Stats properties) {
+        this.statsStore = statsStore;
+        this.properties = properties;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("hadoken-task-stats-"));
+        long intervalMillis = Math.max(1L, properties.getFlushInterval().toMillis());
+        executor.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info(">>> 已启用执行统计预聚合，每 {} 刷写一次。", properties.getFlushInterval());
+    }
+
+    @Override
+    public void onTaskExecuted(ManagedTask task, TaskExecutionLog executionLog) {
+        LocalDateTime startTime = executionLog.startTime() != null ? executionLog.startTime() : LocalDateTime.now();
+        long durationMillis = executionLog.duration() != null ? Math.max(0L, executionLog.duration().toMillis()) : 0L;
+        record(task.getDefinition().getId(), startTime.truncatedTo(ChronoUnit.MINUTES),
+                1, executionLog.success() ? 0 : 1, durationMillis, durationMillis, durationMillis,
+                binsOf(durationMillis));
+    }
+
+    /**
+     * 立即把内存中的统计刷写到存储。
+     *
+     * @return 刷写的桶数
+     */
+    public int flush() {
+        Map<String, List<TaskStatsRollup>> rollupsByTask = new HashMap<>();
+        int drained = 0;
+        for (BucketKey key : buckets.keySet()) {
+            Bucket bucket = buckets.remove(key);
+            if (bucket == null) {
+                continue;
+            }
+            TaskStatsRollup rollup = bucket.seal(key.minute());
+            if (rollup != null) {
+                rollupsByTask.computeIfAbsent(key.taskId(), k -> new ArrayList<>()).add(rollup);
+                drained++;
+            }
+        }
+        if (drained == 0) {
+            return 0;
+        }
+        try {
+            statsStore.merge(rollupsByTask);
+        } catch (RuntimeException e) {
+            rollupsByTask.forEach((taskId, rollups) -> rollups.forEach(rollup -> record(taskId, rollup.minute(),
+                    rollup.count(), rollup.failures(), rollup.durationSumMillis(),
+                    rollup.durationMinMillis(), rollup.durationMaxMillis(), rollup.bins())));
+            throw e;
+        }
+        return drained;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("关闭时刷写执行统计失败，未刷写的统计将丢失。", e);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("刷写执行统计失败，将在下次重试。", e);
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastPurgeMillis >= PURGE_INTERVAL_MILLIS) {
+            lastPurgeMillis = now;
+            try {
+                statsStore.purgeBefore(LocalDateTime.now().minus(properties.getRetainFor()));
+            } catch (Exception e) {
+                log.warn("清理过期执行统计失败。", e);
+            }
+        }
+    }
+
+    private void record(String taskId, LocalDateTime minute, long count, long failures, long sum, long min, long max,
+                        long[] bins) {
+        BucketKey key = new BucketKey(taskId, minute);
+        for (; ; ) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.size() >= MAX_PENDING_BUCKETS) {
+                    log.warn("待刷写的执行统计过多，丢弃任务 '{}' 的一次统计。", taskId);
+                    return;
+                }
+                Bucket created = new Bucket();
+                bucket = buckets.putIfAbsent(key, created);
+                if (bucket == null) {
+                    bucket = created;
+                }
+            }
+            if (bucket.add(count, failures, sum, min, max, bins)) {
+                return;
+            }
+            // 桶已被刷写线程取下并封存，重新获取
+        }
+    }
+
+    private static long[] binsOf(long durationMillis) {
+        long[] bins = new long[TaskStatsRollup.BIN_COUNT];
+        bins[TaskStatsRollup.binOf(durationMillis)] = 1;
+        return bins;
+    }
+
+    private record BucketKey(String taskId, LocalDateTime minute) {
+    }
+
+    /**
+     * 单个 (任务, 分钟) 的累加器。
+     */
+    private static final class Bucket {
+        private long count;
+        private long failures;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max;
+        private final long[] bins = new long[TaskStatsRollup.BIN_COUNT];
+        private boolean sealed;
+
+        /**
+         * @return false 表示桶已封存，调用方需重新获取
+         */
+        synchronized boolean add(long count, long failures, long sum, long min, long max, long[] bins) {
+            if (sealed) {
+                return false;
+            }
+            this.count += count;
+            this.failures += failures;
+            this.sum += sum;
+            this.min = Math.min(this.min, min);
+            this.max = Math.max(this.max, max);
+            for (int i = 0; i < this.bins.length && i < bins.length; i++) {
+                this.bins[i] += bins[i];
+            }
+            return true;
+        }
+
+        /**
+         * 封存桶并返回其统计，此后的写入都会失败；没有任何执行时返回 null。
+         */
+        synchronized TaskStatsRollup seal(LocalDateTime minute) {
+            sealed = true;
+            if (count == 0) {
+                return null;
+            }
+            return new TaskStatsRollup(minute, count, failures, sum, min, max, bins.clone());
+        }
+    }
+}
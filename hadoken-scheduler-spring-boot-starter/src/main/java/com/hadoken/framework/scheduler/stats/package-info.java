@@ -0,0 +1,8 @@
+/**
+ * 执行统计预聚合：按任务、按分钟汇总执行日志并定期刷写到统计存储
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/18 10:00
+ */
+package com.hadoken.framework.scheduler.stats;
@@ -2,7 +2,11 @@ package com.hadoken.framework.scheduler.store;
 
 import com.hadoken.framework.scheduler.model.TaskExecutionLog;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author yanggj
@@ -15,4 +19,63 @@ public interface TaskLogStore {
 
     List<TaskExecutionLog> findRecent(String taskId, int size);
 
+    /**
+     * 批量查询多个任务的最近执行日志。
+     * 默认逐个任务调用 {@link #findRecent(String, int)}，支持批量读取的存储应覆盖此方法以减少往返。
+     *
+     * @param taskIds 任务ID集合
+     * @param size    每个任务最多返回的日志条数
+     * @return 以任务ID为键、按时间倒序排列的日志
+     */
+    default Map<String, List<TaskExecutionLog>> findRecent(Collection<String> taskIds, int size) {
+        Map<String, List<TaskExecutionLog>> logsByTask = new LinkedHashMap<>();
+        taskIds.forEach(taskId -> logsByTask.put(taskId, findRecent(taskId, size)));
+        return logsByTask;
+    }
+
+    /**
+     * 按游标分页查询位于 (before, beforeLogId) 之后的执行日志（keyset 分页）。
+     * 日志按 {@link TaskExecutionLog#NEWEST_FIRST} 即 (开始时间, 日志ID) 倒序排列，游标取上一页最后一条的这两个值；
+     * 日志ID作为第二排序键，保证开始时间相同的多条日志跨页时既不重复也不遗漏。
+     * 默认实现适用于本身只保留有限条日志的存储（内存、Redis），日志表可能很大的存储应覆盖此方法。
+     *
+     * @param taskId      任务ID
+     * @param before      游标的开始时间；为 null 时等同于 {@link #findRecent(String, int)}
+     * @param beforeLogId 游标的日志ID；为 null 时只返回开始时间早于 before 的日志
+     * @param size        最多返回的日志条数
+     * @return 按 (开始时间, 日志ID) 倒序排列的日志
+     */
+    default List<TaskExecutionLog> findBefore(String taskId, LocalDateTime before, String beforeLogId, int size) {
+        if (before == null) {
+            return findRecent(taskId, size);
+        }
+        return findRecent(taskId, Integer.MAX_VALUE).stream()
+                .filter(log -> log.isBefore(before, beforeLogId))
+                .sorted(TaskExecutionLog.NEWEST_FIRST)
+                .limit(size)
+                .toList();
+    }
+
+    /**
+     * 批量保存执行日志。
+     * 默认逐条调用 {@link #save(String, TaskExecutionLog)}，支持批量写入的存储应覆盖此方法。
+     *
+     * @param logsByTask 按任务ID分组的日志，组内按写入顺序排列
+     */
+    default void saveBatch(Map<String, List<TaskExecutionLog>> logsByTask) {
+        logsByTask.forEach((taskId, logs) -> logs.forEach(log -> save(taskId, log)));
+    }
+
+    /**
+     * 删除一批早于指定时间的执行日志，由日志保留任务循环调用，直到返回值小于 batchSize。
+     * 每次只删除少量行，避免长事务和大范围锁。本身只保留有限条日志的存储（内存、Redis）无需实现。
+     *
+     * @param cutoff    只删除开始时间早于它的日志
+     * @param batchSize 本次最多删除的条数
+     * @return 实际删除的条数
+     */
+    default int purgeBefore(LocalDateTime cutoff, int batchSize) {
+        return 0;
+    }
+
 }
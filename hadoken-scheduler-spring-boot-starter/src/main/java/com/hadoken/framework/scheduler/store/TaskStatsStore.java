@@ -0,0 +1,41 @@
+package com.hadoken.framework.scheduler.store;
+
+import com.hadoken.framework.scheduler.model.TaskStatsRollup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按任务、按分钟预聚合的执行统计存储，供看板查询成功率和耗时分布，避免扫描执行日志表。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/18 10:10
+ */
+public interface TaskStatsStore {
+
+    /**
+     * 把一批统计累加到存储中已有的同一分钟统计上（不存在时新建）。
+     * 实现必须是累加而不是覆盖：集群中的多个实例、同一实例的多次刷写都可能写入同一分钟。
+     *
+     * @param rollupsByTask 按任务ID分组的分钟统计
+     */
+    void merge(Map<String, List<TaskStatsRollup>> rollupsByTask);
+
+    /**
+     * 查询任务在 [from, to) 内的分钟统计。
+     *
+     * @return 按分钟升序排列的统计，没有执行的分钟不返回
+     */
+    List<TaskStatsRollup> find(String taskId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 删除早于指定时间的统计。依靠过期时间自动清理的存储（Redis）无需实现。
+     *
+     * @return 删除的条数
+     */
+    default int purgeBefore(LocalDateTime cutoff) {
+        return 0;
+    }
+}
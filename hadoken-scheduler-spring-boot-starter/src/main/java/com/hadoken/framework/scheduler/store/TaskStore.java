@@ -4,7 +4,10 @@ package com.hadoken.framework.scheduler.store;
 import com.hadoken.framework.scheduler.enums.TaskStatus;
 import com.hadoken.framework.scheduler.model.TaskDefinition;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -31,6 +34,25 @@ public interface TaskStore {
      */
     void updateStatus(String taskId, TaskStatus status);
 
+    /**
+     * 更新指定任务最近一次计划触发的时间，用于重启后检测停机期间错过的执行。
+     * 默认先查询再整体更新，存储应尽量覆盖为只写该字段的单次操作。
+     */
+    default void updateLastFireTime(String taskId, LocalDateTime lastFireTime) {
+        findById(taskId).ifPresent(definition -> {
+            definition.setLastFireTime(lastFireTime);
+            update(definition);
+        });
+    }
+
+    /**
+     * 批量更新多个任务最近一次计划触发的时间，键为任务ID。
+     * 默认逐个调用 {@link #updateLastFireTime}，存储应尽量覆盖为单次批量写入。
+     */
+    default void updateLastFireTimes(Map<String, LocalDateTime> lastFireTimes) {
+        lastFireTimes.forEach(this::updateLastFireTime);
+    }
+
     /**
      * 根据ID查找一个任务定义。
      */
@@ -46,4 +68,20 @@ public interface TaskStore {
      */
     void deleteById(String taskId);
 
+    /**
+     * 批量保存新的任务定义，调用方需保证这些ID在存储中尚不存在。
+     * 默认逐个调用 {@link #save(TaskDefinition)}，支持批量写入的存储应覆盖此方法以减少往返。
+     */
+    default void saveAll(Collection<TaskDefinition> definitions) {
+        definitions.forEach(this::save);
+    }
+
+    /**
+     * 批量更新已有的任务定义。
+     * 默认逐个调用 {@link #update(TaskDefinition)}，支持批量写入的存储应覆盖此方法以减少往返。
+     */
+    default void updateAll(Collection<TaskDefinition> definitions) {
+        definitions.forEach(this::update);
+    }
+
 }
\ No newline at end of file
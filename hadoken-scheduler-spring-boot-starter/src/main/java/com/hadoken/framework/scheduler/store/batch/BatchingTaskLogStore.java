@@ -0,0 +1,167 @@
+package com.hadoken.framework.scheduler.store.batch;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.model.TaskExecutionLog;
+import com.hadoken.framework.scheduler.store.TaskLogStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步批量写入（write-behind）的 TaskLogStore 装饰器。
+ * <p>
+ * 调度线程调用 {@link #save(String, TaskExecutionLog)} 时只把日志放入有界无锁环形队列，
+ * 由后台线程按批次大小或刷新间隔取出，并通过被装饰存储的 {@link TaskLogStore#saveBatch(Map)}
+ * 一次性写入（MyBatis 为批量 INSERT，Redis 为管道）。
+ * 队列满时按 {@link HadokenSchedulerProperties.LogWriteBehind.OverflowPolicy} 处理，
+ * 应用关闭时会把队列中剩余的日志全部刷出。
+ * <p>
+ * 注意：尚未刷出的日志不会出现在 {@link #findRecent(String, int)} 的结果中。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/3 14:30
+ */
+@Slf4j
+public class BatchingTaskLogStore implements TaskLogStore, DisposableBean {
+
+    private final TaskLogStore delegate;
+    private final BoundedRingBuffer<PendingLog> buffer;
+    private final HadokenSchedulerProperties.LogWriteBehind.OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Thread flushThread;
+    private final LongAdder droppedCount = new LongAdder();
+    private volatile boolean running = true;
+
+    public BatchingTaskLogStore(TaskLogStore delegate, HadokenSchedulerProperties.LogWriteBehind properties) {
+        this.delegate = delegate;
+        this.buffer = new BoundedRingBuffer<>(properties.getBufferSize());
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.flushThread = new Thread(this::flushLoop, "hadoken-task-log-flusher");
+        this.flushThread.setDaemon(true);
+        this.flushThread.start();
+        log.info("任务日志已启用异步批量写入，队列容量={}，批次大小={}，刷新间隔={}ms，溢出策略={}。",
+                buffer.capacity(), batchSize, properties.getFlushInterval().toMillis(), overflowPolicy);
+    }
+
+    @Override
+    public void save(String taskId, TaskExecutionLog taskExecutionLog) {
+        PendingLog pending = new PendingLog(taskId, taskExecutionLog);
+        if (!running) {
+            // 已关闭，直接同步写入，避免丢失
+            delegate.save(taskId, taskExecutionLog);
+            return;
+        }
+        while (!buffer.offer(pending)) {
+            if (overflowPolicy == HadokenSchedulerProperties.LogWriteBehind.OverflowPolicy.DROP_OLDEST) {
+                if (buffer.poll() != null) {
+                    droppedCount.increment();
+                }
+            } else {
+                if (!running) {
+                    delegate.save(taskId, taskExecutionLog);
+                    return;
+                }
+                LockSupport.unpark(flushThread);
+                LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+            }
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(flushThread);
+        }
+    }
+
+    @Override
+    public void saveBatch(Map<String, List<TaskExecutionLog>> logsByTask) {
+        logsByTask.forEach((taskId, logs) -> logs.forEach(log -> save(taskId, log)));
+    }
+
+    @Override
+    public List<TaskExecutionLog> findRecent(String taskId, int size) {
+        return delegate.findRecent(taskId, size);
+    }
+
+    @Override
+    public List<TaskExecutionLog> findBefore(String taskId, LocalDateTime before, String beforeLogId, int size) {
+        return delegate.findBefore(taskId, before, beforeLogId, size);
+    }
+
+    @Override
+    public Map<String, List<TaskExecutionLog>> findRecent(Collection<String> taskIds, int size) {
+        return delegate.findRecent(taskIds, size);
+    }
+
+    @Override
+    public int purgeBefore(LocalDateTime cutoff, int batchSize) {
+        return delegate.purgeBefore(cutoff, batchSize);
+    }
+
+    /**
+     * 因队列溢出而被丢弃的日志数量（仅 DROP_OLDEST 策略）。
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        LockSupport.unpark(flushThread);
+        try {
+            flushThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 刷新线程未能及时退出时，由关闭线程兜底刷出剩余日志
+        while (flushOnce() > 0) {
+            // continue
+        }
+        log.info("任务日志异步写入已关闭，累计丢弃 {} 条日志。", getDroppedCount());
+    }
+
+    private void flushLoop() {
+        while (running) {
+            int flushed = flushOnce();
+            if (flushed < batchSize && running) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+        while (flushOnce() > 0) {
+            // 关闭时刷出剩余日志
+        }
+    }
+
+    private int flushOnce() {
+        Map<String, List<TaskExecutionLog>> batch = new LinkedHashMap<>();
+        int count = 0;
+        PendingLog pending;
+        while (count < batchSize && (pending = buffer.poll()) != null) {
+            batch.computeIfAbsent(pending.taskId(), k -> new ArrayList<>()).add(pending.log());
+            count++;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        try {
+            delegate.saveBatch(batch);
+        } catch (Exception e) {
+            log.error("批量写入 {} 条任务执行日志失败，本批日志将被丢弃。", count, e);
+        }
+        return count;
+    }
+
+    private record PendingLog(String taskId, TaskExecutionLog log) {
+    }
+}
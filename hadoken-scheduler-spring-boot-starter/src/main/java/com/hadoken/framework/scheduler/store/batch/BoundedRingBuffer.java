@@ -0,0 +1,95 @@
+package com.hadoken.framework.scheduler.store.batch;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界、无锁的多生产者多消费者环形队列。
+ * 每个槽位带一个序号，生产者和消费者通过 CAS 推进各自的游标，满/空时立即返回而不阻塞。
+ * 容量会向上取整为2的幂。
+ *
+ * @param <E> 元素类型
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/3 14:08
+ */
+final class BoundedRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerCursor = new AtomicLong();
+    private final AtomicLong consumerCursor = new AtomicLong();
+
+    BoundedRingBuffer(int capacity) {
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(2, capacity) - 1));
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 尝试写入一个元素。
+     *
+     * @return 队列已满时返回 false
+     */
+    boolean offer(E element) {
+        long position = producerCursor.get();
+        for (; ; ) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (producerCursor.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    // 发布：序号推进后消费者才能看到该槽位
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = producerCursor.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = producerCursor.get();
+            }
+        }
+    }
+
+    /**
+     * 尝试取出一个元素。
+     *
+     * @return 队列为空时返回 null
+     */
+    E poll() {
+        long position = consumerCursor.get();
+        for (; ; ) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (consumerCursor.compareAndSet(position, position + 1)) {
+                    E element = elements.get(index);
+                    elements.set(index, null);
+                    // 释放槽位给下一圈的生产者
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = consumerCursor.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                position = consumerCursor.get();
+            }
+        }
+    }
+
+    int size() {
+        return (int) Math.max(0L, producerCursor.get() - consumerCursor.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * 日志异步批量写入：对任意 TaskLogStore 进行装饰，将同步写入转为后台批量写入
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/3 14:05
+ */
+package com.hadoken.framework.scheduler.store.batch;
@@ -0,0 +1,131 @@
+package com.hadoken.framework.scheduler.store.jdbc;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.model.TaskExecutionLog;
+import com.hadoken.framework.scheduler.store.TaskLogStore;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 基于 JdbcTemplate 的任务执行日志存储。
+ * <p>
+ * 批量写入使用 {@link JdbcTemplate#batchUpdate(String, BatchPreparedStatementSetter)}，
+ * 所有日志复用同一个 PreparedStatement 一次提交；分页读取使用基于 (start_time, log_id) 的复合游标（keyset），
+ * 深翻页时不会像 OFFSET 那样扫描并丢弃前面的行，开始时间相同的日志也不会在翻页时重复或遗漏。
+ * 需要在日志表上建立 (task_id, start_time, log_id) 联合索引，见 sql/upgrade-mysql.sql。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/9 10:05
+ */
+public class JdbcTaskLogStore implements TaskLogStore {
+
+    private static final RowMapper<TaskExecutionLog> ROW_MAPPER = (rs, rowNum) -> mapRow(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String saveSql;
+    private final String findRecentSql;
+    private final String findBeforeSql;
+    private final String purgeSelectSql;
+    private final String deleteByIdSql;
+
+    public JdbcTaskLogStore(JdbcTemplate jdbcTemplate, HadokenSchedulerProperties.JdbcStoreProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        String table = properties.getLogTableName();
+        HadokenSchedulerProperties.JdbcStoreProperties.Sql sql = properties.getSql();
+        this.saveSql = String.format(sql.getLogSave(), table);
+        this.findRecentSql = String.format(sql.getLogFindRecent(), table);
+        this.findBeforeSql = String.format(sql.getLogFindBefore(), table);
+        this.purgeSelectSql = String.format(sql.getLogPurgeSelect(), table);
+        this.deleteByIdSql = String.format(sql.getLogDeleteById(), table);
+    }
+
+    @Override
+    public void save(String taskId, TaskExecutionLog log) {
+        jdbcTemplate.update(saveSql, ps -> setParameters(ps, taskId, log));
+    }
+
+    @Override
+    public void saveBatch(Map<String, List<TaskExecutionLog>> logsByTask) {
+        List<String> taskIds = new ArrayList<>();
+        List<TaskExecutionLog> logs = new ArrayList<>();
+        logsByTask.forEach((taskId, taskLogs) -> taskLogs.forEach(log -> {
+            taskIds.add(taskId);
+            logs.add(log);
+        }));
+        if (logs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(saveSql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setParameters(ps, taskIds.get(i), logs.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return logs.size();
+            }
+        });
+    }
+
+    @Override
+    public List<TaskExecutionLog> findRecent(String taskId, int size) {
+        return jdbcTemplate.query(findRecentSql, ROW_MAPPER, taskId, size);
+    }
+
+    @Override
+    public List<TaskExecutionLog> findBefore(String taskId, LocalDateTime before, String beforeLogId, int size) {
+        if (before == null) {
+            return findRecent(taskId, size);
+        }
+        // 没有日志ID时用空串：log_id < '' 恒不成立，退化为只比较开始时间
+        return jdbcTemplate.query(findBeforeSql, ROW_MAPPER, taskId, before, before,
+                beforeLogId != null ? beforeLogId : "", size);
+    }
+
+    /**
+     * 先沿 start_time 索引取出一批主键，再按主键批量删除，不依赖 MySQL 特有的 DELETE ... LIMIT。
+     */
+    @Override
+    public int purgeBefore(LocalDateTime cutoff, int batchSize) {
+        List<String> ids = jdbcTemplate.queryForList(purgeSelectSql, String.class, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(deleteByIdSql, ids, ids.size(), (ps, id) -> ps.setString(1, id));
+        return ids.size();
+    }
+
+    private static void setParameters(PreparedStatement ps, String taskId, TaskExecutionLog log) throws SQLException {
+        ps.setString(1, log.logId() != null ? log.logId() : UUID.randomUUID().toString());
+        ps.setString(2, taskId);
+        ps.setObject(3, log.startTime());
+        ps.setLong(4, log.duration().toMillis());
+        ps.setBoolean(5, log.success());
+        ps.setString(6, log.errorMessage());
+        ps.setString(7, log.instanceId());
+    }
+
+    private static TaskExecutionLog mapRow(ResultSet rs) throws SQLException {
+        return new TaskExecutionLog(
+                rs.getObject("start_time", LocalDateTime.class),
+                Duration.ofMillis(rs.getLong("duration_millis")),
+                rs.getBoolean("success"),
+                rs.getString("error_message"),
+                rs.getString("instance_id"),
+                rs.getString("log_id")
+        );
+    }
+}
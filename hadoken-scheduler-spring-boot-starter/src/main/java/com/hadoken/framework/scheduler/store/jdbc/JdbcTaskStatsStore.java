@@ -0,0 +1,124 @@
+package com.hadoken.framework.scheduler.store.jdbc;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.model.TaskStatsRollup;
+import com.hadoken.framework.scheduler.store.TaskStatsStore;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于 JdbcTemplate 的执行统计存储，每个任务每分钟一行。
+ * <p>
+ * 统计表结构（MySQL，建表语句见 sql/upgrade-mysql.sql）：
+ * <pre>
+ * CREATE TABLE t_schedule_task_stats (
+ *     task_id             VARCHAR(255) NOT NULL,
+ *     bucket_time         DATETIME     NOT NULL,
+ *     exec_count          BIGINT       NOT NULL,
+ *     failure_count       BIGINT       NOT NULL,
+ *     duration_sum_millis BIGINT       NOT NULL,
+ *     duration_min_millis BIGINT       NOT NULL,
+ *     duration_max_millis BIGINT       NOT NULL,
+ *     bin0 BIGINT NOT NULL, bin1 BIGINT NOT NULL, bin2 BIGINT NOT NULL, bin3 BIGINT NOT NULL,
+ *     bin4 BIGINT NOT NULL, bin5 BIGINT NOT NULL, bin6 BIGINT NOT NULL, bin7 BIGINT NOT NULL,
+ *     PRIMARY KEY (task_id, bucket_time),
+ *     KEY idx_bucket_time (bucket_time)
+ * );
+ * </pre>
+ * 写入使用 INSERT ... ON DUPLICATE KEY UPDATE 原地累加，其他数据库可通过 hadoken.scheduler.store.jdbc.sql.stats-merge
+ * 替换为等价的 MERGE / ON CONFLICT 语句，参数顺序与列顺序一致。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/18 10:20
+ */
+public class JdbcTaskStatsStore implements TaskStatsStore {
+
+    private static final RowMapper<TaskStatsRollup> ROW_MAPPER = (rs, rowNum) -> mapRow(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String mergeSql;
+    private final String findRangeSql;
+    private final String purgeSql;
+
+    public JdbcTaskStatsStore(JdbcTemplate jdbcTemplate, HadokenSchedulerProperties.JdbcStoreProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        String table = properties.getStatsTableName();
+        HadokenSchedulerProperties.JdbcStoreProperties.Sql sql = properties.getSql();
+        this.mergeSql = String.format(sql.getStatsMerge(), table);
+        this.findRangeSql = String.format(sql.getStatsFindRange(), table);
+        this.purgeSql = String.format(sql.getStatsPurge(), table);
+    }
+
+    @Override
+    public void merge(Map<String, List<TaskStatsRollup>> rollupsByTask) {
+        List<String> taskIds = new ArrayList<>();
+        List<TaskStatsRollup> rollups = new ArrayList<>();
+        rollupsByTask.forEach((taskId, taskRollups) -> taskRollups.forEach(rollup -> {
+            taskIds.add(taskId);
+            rollups.add(rollup);
+        }));
+        if (rollups.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(mergeSql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setParameters(ps, taskIds.get(i), rollups.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rollups.size();
+            }
+        });
+    }
+
+    @Override
+    public List<TaskStatsRollup> find(String taskId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(findRangeSql, ROW_MAPPER, taskId, from, to);
+    }
+
+    @Override
+    public int purgeBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(purgeSql, cutoff);
+    }
+
+    private static void setParameters(PreparedStatement ps, String taskId, TaskStatsRollup rollup) throws SQLException {
+        ps.setString(1, taskId);
+        ps.setObject(2, rollup.minute());
+        ps.setLong(3, rollup.count());
+        ps.setLong(4, rollup.failures());
+        ps.setLong(5, rollup.durationSumMillis());
+        ps.setLong(6, rollup.durationMinMillis());
+        ps.setLong(7, rollup.durationMaxMillis());
+        for (int i = 0; i < TaskStatsRollup.BIN_COUNT; i++) {
+            ps.setLong(8 + i, rollup.bins()[i]);
+        }
+    }
+
+    private static TaskStatsRollup mapRow(ResultSet rs) throws SQLException {
+        long[] bins = new long[TaskStatsRollup.BIN_COUNT];
+        for (int i = 0; i < bins.length; i++) {
+            bins[i] = rs.getLong("bin" + i);
+        }
+        return new TaskStatsRollup(
+                rs.getObject("bucket_time", LocalDateTime.class),
+                rs.getLong("exec_count"),
+                rs.getLong("failure_count"),
+                rs.getLong("duration_sum_millis"),
+                rs.getLong("duration_min_millis"),
+                rs.getLong("duration_max_millis"),
+                bins
+        );
+    }
+}
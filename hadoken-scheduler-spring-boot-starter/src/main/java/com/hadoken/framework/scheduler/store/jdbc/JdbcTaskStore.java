@@ -0,0 +1,203 @@
+package com.hadoken.framework.scheduler.store.jdbc;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.enums.MisfirePolicy;
+import com.hadoken.framework.scheduler.enums.TaskSourceType;
+import com.hadoken.framework.scheduler.enums.TaskStatus;
+import com.hadoken.framework.scheduler.enums.TriggerType;
+import com.hadoken.framework.scheduler.model.TaskDefinition;
+import com.hadoken.framework.scheduler.store.TaskStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 基于 JdbcTemplate 的任务定义存储，SQL 来自 {@link HadokenSchedulerProperties.JdbcStoreProperties.Sql}。
+ * <p>
+ * 表名在构造时一次性填入模板，之后每次执行的都是同一条 SQL 文本，
+ * 便于连接池/驱动的预编译语句缓存（如 MySQL 的 cachePrepStmts）命中。
+ * 从旧版本升级时，新增列的 DDL 见 classpath:sql/upgrade-mysql.sql。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/9 09:35
+ */
+public class JdbcTaskStore implements TaskStore {
+
+    private static final RowMapper<TaskDefinition> ROW_MAPPER = JdbcTaskStore::mapRow;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String saveSql;
+    private final String updateSql;
+    private final String updateStatusSql;
+    private final String updateLastFireTimeSql;
+    private final String findByIdSql;
+    private final String findAllSql;
+    private final String deleteByIdSql;
+
+    public JdbcTaskStore(JdbcTemplate jdbcTemplate, HadokenSchedulerProperties.JdbcStoreProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        String table = properties.getDefinitionTableName();
+        HadokenSchedulerProperties.JdbcStoreProperties.Sql sql = properties.getSql();
+        this.saveSql = String.format(sql.getSave(), table);
+        this.updateSql = String.format(sql.getUpdate(), table);
+        this.updateStatusSql = String.format(sql.getUpdateStatus(), table);
+        this.updateLastFireTimeSql = String.format(sql.getUpdateLastFireTime(), table);
+        this.findByIdSql = String.format(sql.getFindById(), table);
+        this.findAllSql = String.format(sql.getFindAll(), table);
+        this.deleteByIdSql = String.format(sql.getDeleteById(), table);
+    }
+
+    @Override
+    public void save(TaskDefinition definition) {
+        // 先尝试更新，不存在时再插入，与 MybatisTaskStore 的覆盖语义保持一致
+        if (jdbcTemplate.update(updateSql, ps -> setUpdateParameters(ps, definition)) == 0) {
+            jdbcTemplate.update(saveSql, ps -> setInsertParameters(ps, definition));
+        }
+    }
+
+    @Override
+    public void update(TaskDefinition definition) {
+        jdbcTemplate.update(updateSql, ps -> setUpdateParameters(ps, definition));
+    }
+
+    @Override
+    public void updateStatus(String taskId, TaskStatus status) {
+        jdbcTemplate.update(updateStatusSql, status.name(), taskId);
+    }
+
+    @Override
+    public void updateLastFireTime(String taskId, LocalDateTime lastFireTime) {
+        jdbcTemplate.update(updateLastFireTimeSql, lastFireTime != null ? Timestamp.valueOf(lastFireTime) : null, taskId);
+    }
+
+    @Override
+    public void updateLastFireTimes(Map<String, LocalDateTime> lastFireTimes) {
+        if (lastFireTimes.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(lastFireTimes.size());
+        lastFireTimes.forEach((taskId, lastFireTime) ->
+                args.add(new Object[]{lastFireTime != null ? Timestamp.valueOf(lastFireTime) : null, taskId}));
+        jdbcTemplate.batchUpdate(updateLastFireTimeSql, args);
+    }
+
+    @Override
+    public Optional<TaskDefinition> findById(String taskId) {
+        return jdbcTemplate.query(findByIdSql, ROW_MAPPER, taskId).stream().findFirst();
+    }
+
+    @Override
+    public List<TaskDefinition> findAll() {
+        return jdbcTemplate.query(findAllSql, ROW_MAPPER);
+    }
+
+    @Override
+    public void deleteById(String taskId) {
+        jdbcTemplate.update(deleteByIdSql, taskId);
+    }
+
+    @Override
+    public void saveAll(Collection<TaskDefinition> definitions) {
+        if (!definitions.isEmpty()) {
+            jdbcTemplate.batchUpdate(saveSql, definitions, definitions.size(), JdbcTaskStore::setInsertParameters);
+        }
+    }
+
+    @Override
+    public void updateAll(Collection<TaskDefinition> definitions) {
+        if (!definitions.isEmpty()) {
+            jdbcTemplate.batchUpdate(updateSql, definitions, definitions.size(), JdbcTaskStore::setUpdateParameters);
+        }
+    }
+
+    /**
+     * 参数顺序与默认 save 模板一致：id, description, source_type, bean_name, method_name,
+     * trigger_type, trigger_value, status, lock_at_most_for_string, max_concurrency, shards, timeout,
+     * misfire_policy, jitter, last_fire_time。
+     */
+    static void setInsertParameters(PreparedStatement ps, TaskDefinition definition) throws SQLException {
+        ps.setString(1, definition.getId());
+        int next = setColumns(ps, 2, definition);
+        LocalDateTime lastFireTime = definition.getLastFireTime();
+        ps.setTimestamp(next, lastFireTime != null ? Timestamp.valueOf(lastFireTime) : null);
+    }
+
+    /**
+     * 参数顺序与默认 update 模板一致：除 id 和 last_fire_time 以外的所有列，最后是 WHERE 条件中的 id。
+     * last_fire_time 由调度器通过 {@link #updateLastFireTime} 单独维护，更新定义时不覆盖。
+     */
+    static void setUpdateParameters(PreparedStatement ps, TaskDefinition definition) throws SQLException {
+        int next = setColumns(ps, 1, definition);
+        ps.setString(next, definition.getId());
+    }
+
+    private static int setColumns(PreparedStatement ps, int index, TaskDefinition definition) throws SQLException {
+        ps.setString(index++, definition.getDescription());
+        ps.setString(index++, nameOf(definition.getSourceType()));
+        ps.setString(index++, definition.getBeanName());
+        ps.setString(index++, definition.getMethodName());
+        ps.setString(index++, nameOf(definition.getTriggerType()));
+        ps.setString(index++, definition.getTriggerValue());
+        ps.setString(index++, nameOf(definition.getStatus()));
+        ps.setString(index++, definition.getLockAtMostForString());
+        setNullableInt(ps, index++, definition.getMaxConcurrency());
+        setNullableInt(ps, index++, definition.getShards());
+        ps.setString(index++, definition.getTimeout());
+        ps.setString(index++, nameOf(definition.getMisfirePolicy()));
+        ps.setString(index++, definition.getJitter());
+        return index;
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static TaskDefinition mapRow(ResultSet rs, int rowNum) throws SQLException {
+        int maxConcurrencyValue = rs.getInt("max_concurrency");
+        Integer maxConcurrency = rs.wasNull() ? null : maxConcurrencyValue;
+        int shardsValue = rs.getInt("shards");
+        Integer shards = rs.wasNull() ? null : shardsValue;
+        Timestamp lastFireTime = rs.getTimestamp("last_fire_time");
+        return TaskDefinition.builder()
+                .id(rs.getString("id"))
+                .description(rs.getString("description"))
+                .sourceType(enumOf(TaskSourceType.class, rs.getString("source_type")))
+                .beanName(rs.getString("bean_name"))
+                .methodName(rs.getString("method_name"))
+                .triggerType(enumOf(TriggerType.class, rs.getString("trigger_type")))
+                .triggerValue(rs.getString("trigger_value"))
+                .status(enumOf(TaskStatus.class, rs.getString("status")))
+                .lockAtMostForString(rs.getString("lock_at_most_for_string"))
+                .maxConcurrency(maxConcurrency)
+                .shards(shards)
+                .timeout(rs.getString("timeout"))
+                .misfirePolicy(enumOf(MisfirePolicy.class, rs.getString("misfire_policy")))
+                .jitter(rs.getString("jitter"))
+                .lastFireTime(lastFireTime != null ? lastFireTime.toLocalDateTime() : null)
+                .build();
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static <E extends Enum<E>> E enumOf(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * jdbc 存储实现，基于 JdbcTemplate，无需引入 MyBatis
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/9 09:30
+ */
+package com.hadoken.framework.scheduler.store.jdbc;
@@ -3,38 +3,150 @@ package com.hadoken.framework.scheduler.store.memory;
 import com.hadoken.framework.scheduler.model.TaskExecutionLog;
 import com.hadoken.framework.scheduler.store.TaskLogStore;
 
-import java.util.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
 
 /**
+ * 执行日志的内存存储。
+ * <p>
+ * 每个任务一个预分配的定长环形缓冲区，容量为 hadoken.scheduler.log-retention-size，
+ * 写入只需一次原子递增和几次数组写入（O(1)、不分配对象），写满后覆盖最旧的日志；
+ * findRecent 从最新写入的槽位倒序遍历，取满 size 条即停止，只对这 size 条排序；
+ * findBefore 需要按 (开始时间, 日志ID) 游标过滤，才遍历整个缓冲区并对命中的日志排序。
+ * 返回结果均按 (开始时间, 日志ID) 倒序，与其他存储的排序一致。
+ *
  * @author yanggj
  * @version 1.0.0
  * Created on 2025/8/22 10:16
  */
 public class InMemoryTaskLogStore implements TaskLogStore {
 
-    private final ConcurrentMap<String, Queue<TaskExecutionLog>> logRegistry = new ConcurrentHashMap<>();
+    private static final int DEFAULT_RETENTION_SIZE = 100;
+
+    private final ConcurrentMap<String, LogRing> logRegistry = new ConcurrentHashMap<>();
+    private final int retentionSize;
+
+    public InMemoryTaskLogStore() {
+        this(DEFAULT_RETENTION_SIZE);
+    }
+
+    /**
+     * @param retentionSize 每个任务保留的日志条数
+     */
+    public InMemoryTaskLogStore(int retentionSize) {
+        this.retentionSize = retentionSize > 0 ? retentionSize : DEFAULT_RETENTION_SIZE;
+    }
 
     @Override
     public void save(String taskId, TaskExecutionLog log) {
-        Queue<TaskExecutionLog> logs = logRegistry.computeIfAbsent(taskId, k -> new ConcurrentLinkedQueue<>());
-        if (logs.size() >= 100) {
-            logs.poll();
-        }
-        logs.offer(log);
+        logRegistry.computeIfAbsent(taskId, k -> new LogRing(retentionSize)).add(log);
     }
 
     @Override
     public List<TaskExecutionLog> findRecent(String taskId, int size) {
-        Queue<TaskExecutionLog> logs = logRegistry.get(taskId);
-        if (logs == null) {
+        LogRing ring = logRegistry.get(taskId);
+        if (ring == null || size <= 0) {
             return Collections.emptyList();
         }
-        List<TaskExecutionLog> logList = new ArrayList<>(logs);
-        logList.sort(Comparator.comparing(TaskExecutionLog::startTime).reversed());
-        return logList.stream().limit(size).toList();
+        // 槽位按写入（执行结束）顺序排列，长耗时的执行会晚于之后开始的执行写入，只需对取出的 size 条重新排序
+        List<TaskExecutionLog> recent = ring.collectNewest(size, null);
+        recent.sort(TaskExecutionLog.NEWEST_FIRST);
+        return recent;
     }
-}
 
+    @Override
+    public List<TaskExecutionLog> findBefore(String taskId, LocalDateTime before, String beforeLogId, int size) {
+        if (before == null) {
+            return findRecent(taskId, size);
+        }
+        LogRing ring = logRegistry.get(taskId);
+        if (ring == null || size <= 0) {
+            return Collections.emptyList();
+        }
+        // 游标按 (开始时间, 日志ID) 比较，与写入顺序无关，需要遍历整个缓冲区并对命中的日志整体排序后再截取
+        List<TaskExecutionLog> matched = ring.collectNewest(Integer.MAX_VALUE, log -> log.isBefore(before, beforeLogId));
+        matched.sort(TaskExecutionLog.NEWEST_FIRST);
+        return matched.size() > size ? new ArrayList<>(matched.subList(0, size)) : matched;
+    }
+
+    /**
+     * 单个任务的定长环形缓冲区。
+     * <p>
+     * 写游标单调递增，第 n 条日志写入槽位 n % capacity。序号与日志分别保存在两个并行数组中，写入不产生额外对象：
+     * 序号数组中 0 表示槽位为空，n + 1 表示槽位保存第 n 条日志，-(n + 1) 表示第 n 条日志正在写入。
+     * 写者先把序号置为写入中，再写日志，最后发布序号；读者在读取日志前后各读一次序号，两次一致才采用，
+     * 否则说明槽位已被更新一圈的日志覆盖。并发写入同一槽位时只保留序号更大的一条，保证槽位内容单调前进。
+     */
+    private static final class LogRing {
+        private final int capacity;
+        private final AtomicLongArray sequences;
+        private final AtomicReferenceArray<TaskExecutionLog> logs;
+        private final AtomicLong cursor = new AtomicLong();
+
+        private LogRing(int capacity) {
+            this.capacity = capacity;
+            this.sequences = new AtomicLongArray(capacity);
+            this.logs = new AtomicReferenceArray<>(capacity);
+        }
+
+        void add(TaskExecutionLog log) {
+            long sequence = cursor.getAndIncrement();
+            int index = (int) (sequence % capacity);
+            long published = sequence + 1;
+            for (; ; ) {
+                long current = sequences.get(index);
+                if (Math.abs(current) > published) {
+                    // 更新一圈的日志已经写入，本条已过期
+                    return;
+                }
+                if (current < 0) {
+                    // 更早一圈的日志正在写入，只需等待两次数组写入
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (sequences.compareAndSet(index, current, -published)) {
+                    logs.set(index, log);
+                    sequences.set(index, published);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 从最新写入的槽位开始倒序遍历，按写入顺序收集满足条件的日志，取满 limit 条即停止。
+         * 尚未完成写入的槽位被跳过，遇到已被覆盖的槽位即停止。
+         */
+        List<TaskExecutionLog> collectNewest(int limit, Predicate<TaskExecutionLog> filter) {
+            long end = cursor.get();
+            long start = Math.max(0, end - capacity);
+            List<TaskExecutionLog> result = new ArrayList<>((int) Math.min(limit, end - start));
+            for (long sequence = end - 1; sequence >= start && result.size() < limit; sequence--) {
+                int index = (int) (sequence % capacity);
+                long published = sequence + 1;
+                long before = sequences.get(index);
+                if (Math.abs(before) > published) {
+                    break;
+                }
+                if (before != published) {
+                    continue;
+                }
+                TaskExecutionLog log = logs.get(index);
+                if (sequences.get(index) != published) {
+                    break;
+                }
+                if (filter == null || filter.test(log)) {
+                    result.add(log);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hadoken.framework.scheduler.store.memory;
+
+import com.hadoken.framework.scheduler.model.TaskStatsRollup;
+import com.hadoken.framework.scheduler.store.TaskStatsStore;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 执行统计的内存存储，每个任务一个按分钟排序的跳表，范围查询只遍历命中的分钟。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/18 10:15
+ */
+public class InMemoryTaskStatsStore implements TaskStatsStore {
+
+    private final ConcurrentMap<String, NavigableMap<LocalDateTime, TaskStatsRollup>> statsRegistry = new ConcurrentHashMap<>();
+
+    @Override
+    public void merge(Map<String, List<TaskStatsRollup>> rollupsByTask) {
+        rollupsByTask.forEach((taskId, rollups) -> {
+            NavigableMap<LocalDateTime, TaskStatsRollup> minutes =
+                    statsRegistry.computeIfAbsent(taskId, k -> new ConcurrentSkipListMap<>());
+            rollups.forEach(rollup -> minutes.merge(rollup.minute(), rollup, TaskStatsRollup::merge));
+        });
+    }
+
+    @Override
+    public List<TaskStatsRollup> find(String taskId, LocalDateTime from, LocalDateTime to) {
+        NavigableMap<LocalDateTime, TaskStatsRollup> minutes = statsRegistry.get(taskId);
+        if (minutes == null || !from.isBefore(to)) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(minutes.subMap(from, true, to, false).values());
+    }
+
+    @Override
+    public int purgeBefore(LocalDateTime cutoff) {
+        int purged = 0;
+        for (NavigableMap<LocalDateTime, TaskStatsRollup> minutes : statsRegistry.values()) {
+            NavigableMap<LocalDateTime, TaskStatsRollup> expired = minutes.headMap(cutoff, false);
+            purged += expired.size();
+            expired.clear();
+        }
+        return purged;
+    }
+}
@@ -5,6 +5,7 @@ import com.hadoken.framework.scheduler.model.TaskDefinition;
 import com.hadoken.framework.scheduler.store.TaskStore;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,6 +45,14 @@ public class InMemoryTaskStore implements TaskStore {
         });
     }
 
+    @Override
+    public void updateLastFireTime(String taskId, LocalDateTime lastFireTime) {
+        taskRegistry.computeIfPresent(taskId, (key, definition) -> {
+            definition.setLastFireTime(lastFireTime);
+            return definition;
+        });
+    }
+
     @Override
     public Optional<TaskDefinition> findById(String taskId) {
         return Optional.ofNullable(taskRegistry.get(taskId));
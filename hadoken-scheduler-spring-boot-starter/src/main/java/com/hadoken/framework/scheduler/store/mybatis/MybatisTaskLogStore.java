@@ -4,10 +4,18 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.hadoken.framework.scheduler.model.TaskExecutionLog;
 import com.hadoken.framework.scheduler.store.TaskLogStore;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
+ * 基于 MyBatis-Plus 的任务执行日志存储。
+ * 查询与清理都依赖 start_time 上的索引，需要建立 (task_id, start_time, log_id) 联合索引（见 sql/upgrade-mysql.sql）和 start_time 单列索引。
+ * 分页读取使用 (start_time, log_id) 复合游标，开始时间相同的日志翻页时不会重复或遗漏。
+ *
  * @author yanggj
  * @version 1.0.0
  * Created on 2025/8/22 11:02
@@ -25,16 +33,61 @@ public class MybatisTaskLogStore implements TaskLogStore {
         mapper.insert(TaskLogEntity.from(taskId, log));
     }
 
+    @Override
+    public void saveBatch(Map<String, List<TaskExecutionLog>> logsByTask) {
+        List<TaskLogEntity> entities = new ArrayList<>();
+        logsByTask.forEach((taskId, logs) -> logs.forEach(log -> entities.add(TaskLogEntity.from(taskId, log))));
+        if (!entities.isEmpty()) {
+            // MyBatis-Plus 的批量插入，基于 BATCH 执行器一次提交
+            mapper.insert(entities);
+        }
+    }
+
     @Override
     public List<TaskExecutionLog> findRecent(String taskId, int size) {
         QueryWrapper<TaskLogEntity> wrapper = new QueryWrapper<>();
         wrapper.eq("task_id", taskId)
-                .orderByDesc("start_time")
+                .orderByDesc("start_time", "log_id")
                 .last("LIMIT " + size);
 
         return mapper.selectList(wrapper).stream()
                 .map(TaskLogEntity::toTaskExecutionLog)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public List<TaskExecutionLog> findBefore(String taskId, LocalDateTime before, String beforeLogId, int size) {
+        if (before == null) {
+            return findRecent(taskId, size);
+        }
+        // 没有日志ID时用空串：log_id < '' 恒不成立，退化为只比较开始时间
+        String logId = beforeLogId != null ? beforeLogId : "";
+        QueryWrapper<TaskLogEntity> wrapper = new QueryWrapper<>();
+        wrapper.eq("task_id", taskId)
+                .and(w -> w.lt("start_time", before)
+                        .or(inner -> inner.eq("start_time", before).lt("log_id", logId)))
+                .orderByDesc("start_time", "log_id")
+                .last("LIMIT " + size);
+
+        return mapper.selectList(wrapper).stream()
+                .map(TaskLogEntity::toTaskExecutionLog)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 先沿 start_time 索引取出一批主键，再按主键删除，不依赖 MySQL 特有的 DELETE ... LIMIT。
+     */
+    @Override
+    public int purgeBefore(LocalDateTime cutoff, int batchSize) {
+        QueryWrapper<TaskLogEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("log_id")
+                .lt("start_time", cutoff)
+                .last("LIMIT " + batchSize);
+        List<Object> ids = mapper.selectObjs(wrapper).stream().filter(Objects::nonNull).toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return mapper.deleteByIds(ids);
+    }
 }
 
@@ -4,6 +4,8 @@ import com.hadoken.framework.scheduler.enums.TaskStatus;
 import com.hadoken.framework.scheduler.model.TaskDefinition;
 import com.hadoken.framework.scheduler.store.TaskStore;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -44,6 +46,14 @@ public class MybatisTaskStore implements TaskStore {
         mapper.updateById(entity);
     }
 
+    @Override
+    public void updateLastFireTime(String taskId, LocalDateTime lastFireTime) {
+        TaskDefinitionEntity entity = new TaskDefinitionEntity();
+        entity.setId(taskId);
+        entity.setLastFireTime(lastFireTime);
+        mapper.updateById(entity);
+    }
+
     @Override
     public Optional<TaskDefinition> findById(String taskId) {
         return Optional.ofNullable(mapper.selectById(taskId))
@@ -61,4 +71,19 @@ public class MybatisTaskStore implements TaskStore {
     public void deleteById(String taskId) {
         mapper.deleteById(taskId);
     }
+
+    @Override
+    public void saveAll(Collection<TaskDefinition> definitions) {
+        if (!definitions.isEmpty()) {
+            // MyBatis-Plus 的批量插入，基于 BATCH 执行器一次提交
+            mapper.insert(definitions.stream().map(TaskDefinitionEntity::from).toList());
+        }
+    }
+
+    @Override
+    public void updateAll(Collection<TaskDefinition> definitions) {
+        if (!definitions.isEmpty()) {
+            mapper.updateById(definitions.stream().map(TaskDefinitionEntity::from).toList());
+        }
+    }
 }
\ No newline at end of file
@@ -2,15 +2,19 @@ package com.hadoken.framework.scheduler.store.mybatis;
 
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.hadoken.framework.scheduler.enums.MisfirePolicy;
 import com.hadoken.framework.scheduler.enums.TaskSourceType;
 import com.hadoken.framework.scheduler.enums.TaskStatus;
 import com.hadoken.framework.scheduler.enums.TriggerType;
 import com.hadoken.framework.scheduler.model.TaskDefinition;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 /**
  * MyBatis-Plus的实体类，用于映射任务定义表。
  * 表名可通过 application.yml 进行自定义。
+ * 从旧版本升级时，新增列的 DDL 见 classpath:sql/upgrade-mysql.sql。
  *
  * @author yanggj
  * @version 1.0.0
@@ -39,6 +43,21 @@ public class TaskDefinitionEntity {
 
     private String lockAtMostForString;
 
+    private Integer maxConcurrency;
+
+    private Integer shards;
+
+    private String timeout;
+
+    private MisfirePolicy misfirePolicy;
+
+    private String jitter;
+
+    /**
+     * 为 null 时 updateById 不会覆盖该列，因此更新定义不会清掉已记录的触发时间
+     */
+    private LocalDateTime lastFireTime;
+
     /**
      * 从框架内部模型转换为持久化实体
      */
@@ -54,6 +73,12 @@ public class TaskDefinitionEntity {
         entity.setTriggerValue(definition.getTriggerValue());
         entity.setStatus(definition.getStatus());
         entity.setLockAtMostForString(definition.getLockAtMostForString());
+        entity.setMaxConcurrency(definition.getMaxConcurrency());
+        entity.setShards(definition.getShards());
+        entity.setTimeout(definition.getTimeout());
+        entity.setMisfirePolicy(definition.getMisfirePolicy());
+        entity.setJitter(definition.getJitter());
+        entity.setLastFireTime(definition.getLastFireTime());
         return entity;
     }
 
@@ -71,6 +96,12 @@ public class TaskDefinitionEntity {
                 .triggerValue(this.triggerValue)
                 .status(this.status)
                 .lockAtMostForString(this.lockAtMostForString)
+                .maxConcurrency(this.maxConcurrency)
+                .shards(this.shards)
+                .timeout(this.timeout)
+                .misfirePolicy(this.misfirePolicy)
+                .jitter(this.jitter)
+                .lastFireTime(this.lastFireTime)
                 .build();
     }
 }
\ No newline at end of file
@@ -39,7 +39,7 @@ public class TaskLogEntity {
     public static TaskLogEntity from(String taskId, TaskExecutionLog log) {
         if (log == null) return null;
         TaskLogEntity entity = new TaskLogEntity();
-        entity.setLogId(java.util.UUID.randomUUID().toString());
+        entity.setLogId(log.logId() != null ? log.logId() : java.util.UUID.randomUUID().toString());
         entity.setTaskId(taskId);
         entity.setStartTime(log.startTime());
         entity.setDurationMillis(log.duration().toMillis());
@@ -55,7 +55,8 @@ public class TaskLogEntity {
                 Duration.ofMillis(this.durationMillis),
                 this.success,
                 this.errorMessage,
-                this.instanceId
+                this.instanceId,
+                this.logId
         );
     }
 }
\ No newline at end of file
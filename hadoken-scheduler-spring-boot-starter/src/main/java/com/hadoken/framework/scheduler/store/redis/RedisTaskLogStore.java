@@ -6,14 +6,20 @@ import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
 import com.hadoken.framework.scheduler.model.TaskExecutionLog;
 import com.hadoken.framework.scheduler.store.TaskLogStore;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
+ * 基于 Redis List 的任务执行日志存储。
+ * 单条写入通过 Lua 脚本把 LPUSH 与 LTRIM 合并为一次原子往返，批量读写均通过管道提交。
+ *
  * @author yanggj
  * @version 1.0.0
  * Created on 2025/8/22 11:20
@@ -21,6 +27,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RedisTaskLogStore implements TaskLogStore {
 
+    /**
+     * 写入日志并修剪列表。KEYS[1]=日志Key, ARGV[1]=日志JSON, ARGV[2]=保留条数。
+     */
+    private static final RedisScript<Long> PUSH_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('LPUSH', KEYS[1], ARGV[1]) " +
+                    "redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1) " +
+                    "return 1", Long.class);
+
     private final StringRedisTemplate redisTemplate;
     private final HadokenSchedulerProperties.RedisStoreProperties properties;
     private final ObjectMapper objectMapper;
@@ -37,16 +51,41 @@ public class RedisTaskLogStore implements TaskLogStore {
         try {
             String logKey = getLogKey(taskId);
             String logJson = objectMapper.writeValueAsString(taskExecutionLog);
-            // LPUSH: 将新日志插入到列表的头部
-            redisTemplate.opsForList().leftPush(logKey, logJson);
-            // LTRIM: 修剪列表，只保留最新的N条记录
-            redisTemplate.opsForList().trim(logKey, 0, properties.getLogRetentionSize() - 1);
+            // LPUSH + LTRIM: 将新日志插入到列表头部并只保留最新的N条记录，一次往返完成
+            redisTemplate.execute(PUSH_SCRIPT, List.of(logKey), logJson, String.valueOf(properties.getLogRetentionSize()));
         } catch (JsonProcessingException e) {
             log.error("序列化任务执行日志到Redis时失败: {}", taskId, e);
             throw new RuntimeException("任务日志序列化失败", e);
         }
     }
 
+    @Override
+    public void saveBatch(Map<String, List<TaskExecutionLog>> logsByTask) {
+        // 先在本地完成序列化，再通过一次管道提交所有 LPUSH/LTRIM
+        Map<String, String[]> serialized = new LinkedHashMap<>();
+        logsByTask.forEach((taskId, logs) -> {
+            String[] values = new String[logs.size()];
+            for (int i = 0; i < values.length; i++) {
+                try {
+                    values[i] = objectMapper.writeValueAsString(logs.get(i));
+                } catch (JsonProcessingException e) {
+                    log.error("序列化任务执行日志到Redis时失败: {}", taskId, e);
+                    throw new RuntimeException("任务日志序列化失败", e);
+                }
+            }
+            serialized.put(getLogKey(taskId), values);
+        });
+        long retention = properties.getLogRetentionSize();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            serialized.forEach((logKey, values) -> {
+                stringConnection.lPush(logKey, values);
+                stringConnection.lTrim(logKey, 0, retention - 1);
+            });
+            return null;
+        });
+    }
+
     @Override
     public List<TaskExecutionLog> findRecent(String taskId, int size) {
         String logKey = getLogKey(taskId);
@@ -57,6 +96,34 @@ public class RedisTaskLogStore implements TaskLogStore {
             return Collections.emptyList();
         }
 
+        return deserialize(taskId, logJsons);
+    }
+
+    @Override
+    public Map<String, List<TaskExecutionLog>> findRecent(Collection<String> taskIds, int size) {
+        if (taskIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> orderedIds = new ArrayList<>(taskIds);
+        // 通过管道一次提交所有 LRANGE，而不是逐个任务往返
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            orderedIds.forEach(taskId -> stringConnection.lRange(getLogKey(taskId), 0, size - 1));
+            return null;
+        });
+        Map<String, List<TaskExecutionLog>> logsByTask = new LinkedHashMap<>();
+        for (int i = 0; i < orderedIds.size(); i++) {
+            Object result = i < results.size() ? results.get(i) : null;
+            List<String> logJsons = new ArrayList<>();
+            if (result instanceof List<?> values) {
+                values.forEach(value -> logJsons.add(String.valueOf(value)));
+            }
+            logsByTask.put(orderedIds.get(i), deserialize(orderedIds.get(i), logJsons));
+        }
+        return logsByTask;
+    }
+
+    private List<TaskExecutionLog> deserialize(String taskId, List<String> logJsons) {
         return logJsons.stream()
                 .map(json -> {
                     try {
@@ -66,7 +133,7 @@ public class RedisTaskLogStore implements TaskLogStore {
                         return null;
                     }
                 })
-                .filter(java.util.Objects::nonNull)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
@@ -1,23 +1,36 @@
 package com.hadoken.framework.scheduler.store.redis;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.enums.MisfirePolicy;
+import com.hadoken.framework.scheduler.enums.TaskSourceType;
 import com.hadoken.framework.scheduler.enums.TaskStatus;
+import com.hadoken.framework.scheduler.enums.TriggerType;
 import com.hadoken.framework.scheduler.model.TaskDefinition;
 import com.hadoken.framework.scheduler.store.TaskStore;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.util.CollectionUtils;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
 
 /**
+ * 基于 Redis 的任务定义存储。
+ * <p>
+ * 每个任务定义以 Hash 结构存储（字段与 {@link TaskDefinition} 属性一一对应），
+ * 所有写操作都通过 Lua 脚本（EVALSHA，脚本首次执行后由 Redis 缓存）在一次往返中原子完成，
+ * 状态变更只需对单个字段执行 HSET，批量读取则通过管道一次提交。
+ * <p>
+ * 旧版本以 JSON 字符串保存定义，首次访问时会自动迁移为 Hash 结构。
+ *
  * @author yanggj
  * @version 1.0.0
  * Created on 2025/8/22 11:20
@@ -25,9 +38,48 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RedisTaskStore implements TaskStore {
 
+    /**
+     * 覆盖写入任务定义并登记到任务集合。KEYS[1]=定义Key, KEYS[2]=任务集合Key, ARGV[1]=任务ID, ARGV[2..]=字段/值。
+     */
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) " +
+                    "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) " +
+                    "redis.call('SADD', KEYS[2], ARGV[1]) " +
+                    "return 1", Long.class);
+
+    /**
+     * 仅当任务定义存在时更新单个字段，避免生成残缺的 Hash。KEYS[1]=定义Key, ARGV[1]=字段, ARGV[2]=值。
+     */
+    private static final RedisScript<Long> UPDATE_FIELD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+                    "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) " +
+                    "return 1 " +
+                    "end " +
+                    "return 0", Long.class);
+
+    /**
+     * 删除任务定义并从任务集合中移除。KEYS[1]=定义Key, KEYS[2]=任务集合Key, ARGV[1]=任务ID。
+     */
+    private static final RedisScript<Long> DELETE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) " +
+                    "redis.call('SREM', KEYS[2], ARGV[1]) " +
+                    "return 1", Long.class);
+
+    /**
+     * 找出仍以字符串（旧版 JSON）形式存储的定义 Key。
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FIND_LEGACY_SCRIPT = new DefaultRedisScript<>(
+            "local legacy = {} " +
+                    "for _, key in ipairs(KEYS) do " +
+                    "if redis.call('TYPE', key)['ok'] == 'string' then table.insert(legacy, key) end " +
+                    "end " +
+                    "return legacy", List.class);
+
     private final StringRedisTemplate redisTemplate;
     private final HadokenSchedulerProperties.RedisStoreProperties properties;
     private final ObjectMapper objectMapper;
+    private volatile boolean legacyChecked = false;
 
     public RedisTaskStore(StringRedisTemplate redisTemplate, HadokenSchedulerProperties.RedisStoreProperties properties, ObjectMapper objectMapper) {
         this.redisTemplate = redisTemplate;
@@ -38,75 +90,249 @@ public class RedisTaskStore implements TaskStore {
 
     @Override
     public void save(TaskDefinition definition) {
-        try {
-            String json = objectMapper.writeValueAsString(definition);
-            // 存储任务定义详情
-            redisTemplate.opsForValue().set(getDefinitionKey(definition.getId()), json);
-            // 将任务ID添加到总集合中
-            redisTemplate.opsForSet().add(properties.getAllTasksKey(), definition.getId());
-        } catch (JsonProcessingException e) {
-            log.error("序列化任务定义到Redis时失败: {}", definition.getId(), e);
-            throw new RuntimeException("任务序列化失败", e);
-        }
+        ensureLegacyMigrated();
+        doSave(definition);
     }
 
     @Override
     public void update(TaskDefinition definition) {
-        // 对于Redis的set操作来说，它本身就是覆盖/更新
+        // 对于Redis来说，覆盖写入本身就是更新
         save(definition);
     }
 
     @Override
     public void updateStatus(String taskId, TaskStatus status) {
-        findById(taskId).ifPresent(definition -> {
-            definition.setStatus(status);
-            save(definition);
-        });
+        ensureLegacyMigrated();
+        redisTemplate.execute(UPDATE_FIELD_SCRIPT, List.of(getDefinitionKey(taskId)), "status", status.name());
     }
 
     @Override
-    public Optional<TaskDefinition> findById(String taskId) {
-        String json = redisTemplate.opsForValue().get(getDefinitionKey(taskId));
-        if (json == null) {
-            return Optional.empty();
+    public void updateLastFireTime(String taskId, LocalDateTime lastFireTime) {
+        ensureLegacyMigrated();
+        if (lastFireTime == null) {
+            redisTemplate.opsForHash().delete(getDefinitionKey(taskId), "lastFireTime");
+            return;
         }
-        try {
-            return Optional.of(objectMapper.readValue(json, TaskDefinition.class));
-        } catch (IOException e) {
-            log.error("从Redis反序列化任务定义时失败: {}", taskId, e);
-            return Optional.empty();
+        redisTemplate.execute(UPDATE_FIELD_SCRIPT, List.of(getDefinitionKey(taskId)), "lastFireTime", lastFireTime.toString());
+    }
+
+    @Override
+    public void updateLastFireTimes(Map<String, LocalDateTime> lastFireTimes) {
+        if (lastFireTimes.isEmpty()) {
+            return;
         }
+        ensureLegacyMigrated();
+        String script = UPDATE_FIELD_SCRIPT.getScriptAsString();
+        // 与 saveAll 相同，管道中使用 EVAL，避免脚本未缓存时整批失败
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            lastFireTimes.forEach((taskId, lastFireTime) -> {
+                if (lastFireTime == null) {
+                    stringConnection.hDel(getDefinitionKey(taskId), "lastFireTime");
+                } else {
+                    stringConnection.eval(script, ReturnType.INTEGER, 1, getDefinitionKey(taskId),
+                            "lastFireTime", lastFireTime.toString());
+                }
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<TaskDefinition> findById(String taskId) {
+        ensureLegacyMigrated();
+        Map<Object, Object> hash = redisTemplate.opsForHash().entries(getDefinitionKey(taskId));
+        return Optional.ofNullable(fromHash(hash));
     }
 
     @Override
     public List<TaskDefinition> findAll() {
+        ensureLegacyMigrated();
         Set<String> taskIds = redisTemplate.opsForSet().members(properties.getAllTasksKey());
         if (CollectionUtils.isEmpty(taskIds)) {
             return Collections.emptyList();
         }
         List<String> definitionKeys = taskIds.stream().map(this::getDefinitionKey).toList();
-        List<String> results = redisTemplate.opsForValue().multiGet(definitionKeys);
-        if (results == null) {
-            return Collections.emptyList();
+        // 通过管道一次性获取所有任务定义
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            definitionKeys.forEach(stringConnection::hGetAll);
+            return null;
+        });
+        List<TaskDefinition> definitions = new ArrayList<>(results.size());
+        for (Object result : results) {
+            if (result instanceof Map<?, ?> hash) {
+                TaskDefinition definition = fromHash(hash);
+                if (definition != null) {
+                    definitions.add(definition);
+                }
+            }
+        }
+        return definitions;
+    }
+
+    @Override
+    public void saveAll(Collection<TaskDefinition> definitions) {
+        if (definitions.isEmpty()) {
+            return;
         }
-        return results.stream()
-                .filter(java.util.Objects::nonNull)
-                .map(json -> {
-                    try {
-                        return objectMapper.readValue(json, TaskDefinition.class);
-                    } catch (IOException e) {
-                        log.error("在findAll期间反序列化某个任务时失败", e);
-                        return null;
-                    }
-                })
-                .filter(java.util.Objects::nonNull)
-                .collect(Collectors.toList());
+        ensureLegacyMigrated();
+        String script = SAVE_SCRIPT.getScriptAsString();
+        // 通过管道一次性提交所有写入；管道中使用 EVAL 而非 EVALSHA，避免脚本未缓存时整批失败
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (TaskDefinition definition : definitions) {
+                String[] args = buildSaveArgs(definition);
+                String[] keysAndArgs = new String[args.length + 2];
+                keysAndArgs[0] = getDefinitionKey(definition.getId());
+                keysAndArgs[1] = properties.getAllTasksKey();
+                System.arraycopy(args, 0, keysAndArgs, 2, args.length);
+                stringConnection.eval(script, ReturnType.INTEGER, 2, keysAndArgs);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void updateAll(Collection<TaskDefinition> definitions) {
+        // 对于Redis来说，覆盖写入本身就是更新
+        saveAll(definitions);
     }
 
     @Override
     public void deleteById(String taskId) {
-        redisTemplate.delete(getDefinitionKey(taskId));
-        redisTemplate.opsForSet().remove(properties.getAllTasksKey(), taskId);
+        redisTemplate.execute(DELETE_SCRIPT, List.of(getDefinitionKey(taskId), properties.getAllTasksKey()), taskId);
+    }
+
+    private void doSave(TaskDefinition definition) {
+        redisTemplate.execute(SAVE_SCRIPT, List.of(getDefinitionKey(definition.getId()), properties.getAllTasksKey()),
+                (Object[]) buildSaveArgs(definition));
+    }
+
+    /**
+     * SAVE_SCRIPT 的参数：任务ID，随后是 Hash 的字段/值。
+     */
+    private String[] buildSaveArgs(TaskDefinition definition) {
+        Map<String, String> hash = toHash(definition);
+        String[] args = new String[hash.size() * 2 + 1];
+        int i = 0;
+        args[i++] = definition.getId();
+        for (Map.Entry<String, String> entry : hash.entrySet()) {
+            args[i++] = entry.getKey();
+            args[i++] = entry.getValue();
+        }
+        return args;
+    }
+
+    /**
+     * 将旧版以 JSON 字符串存储的任务定义迁移为 Hash 结构，每个实例只检查一次。
+     */
+    @SuppressWarnings("unchecked")
+    private void ensureLegacyMigrated() {
+        if (legacyChecked) {
+            return;
+        }
+        synchronized (this) {
+            if (legacyChecked) {
+                return;
+            }
+            Set<String> taskIds = redisTemplate.opsForSet().members(properties.getAllTasksKey());
+            if (!CollectionUtils.isEmpty(taskIds)) {
+                List<String> keys = taskIds.stream().map(this::getDefinitionKey).toList();
+                List<String> legacyKeys = redisTemplate.execute(FIND_LEGACY_SCRIPT, keys);
+                if (!CollectionUtils.isEmpty(legacyKeys)) {
+                    log.info("检测到 {} 个旧版 JSON 格式的任务定义，正在迁移为 Hash 结构。", legacyKeys.size());
+                    legacyKeys.forEach(this::migrateLegacyDefinition);
+                }
+            }
+            legacyChecked = true;
+        }
+    }
+
+    private void migrateLegacyDefinition(String definitionKey) {
+        String json = redisTemplate.opsForValue().get(definitionKey);
+        if (json == null) {
+            return;
+        }
+        try {
+            doSave(objectMapper.readValue(json, TaskDefinition.class));
+        } catch (IOException e) {
+            log.error("迁移旧版任务定义失败: {}", definitionKey, e);
+        }
+    }
+
+    private Map<String, String> toHash(TaskDefinition definition) {
+        Map<String, String> hash = new LinkedHashMap<>();
+        putIfNotNull(hash, "id", definition.getId());
+        putIfNotNull(hash, "description", definition.getDescription());
+        putIfNotNull(hash, "sourceType", definition.getSourceType());
+        putIfNotNull(hash, "beanName", definition.getBeanName());
+        putIfNotNull(hash, "methodName", definition.getMethodName());
+        putIfNotNull(hash, "triggerType", definition.getTriggerType());
+        putIfNotNull(hash, "triggerValue", definition.getTriggerValue());
+        putIfNotNull(hash, "status", definition.getStatus());
+        putIfNotNull(hash, "lockAtMostForString", definition.getLockAtMostForString());
+        putIfNotNull(hash, "maxConcurrency", definition.getMaxConcurrency());
+        putIfNotNull(hash, "shards", definition.getShards());
+        putIfNotNull(hash, "timeout", definition.getTimeout());
+        putIfNotNull(hash, "misfirePolicy", definition.getMisfirePolicy());
+        putIfNotNull(hash, "jitter", definition.getJitter());
+        putIfNotNull(hash, "lastFireTime", definition.getLastFireTime());
+        return hash;
+    }
+
+    private TaskDefinition fromHash(Map<?, ?> hash) {
+        if (hash == null || hash.isEmpty()) {
+            return null;
+        }
+        try {
+            return TaskDefinition.builder()
+                    .id(getString(hash, "id"))
+                    .description(getString(hash, "description"))
+                    .sourceType(getEnum(hash, "sourceType", TaskSourceType.class))
+                    .beanName(getString(hash, "beanName"))
+                    .methodName(getString(hash, "methodName"))
+                    .triggerType(getEnum(hash, "triggerType", TriggerType.class))
+                    .triggerValue(getString(hash, "triggerValue"))
+                    .status(getEnum(hash, "status", TaskStatus.class))
+                    .lockAtMostForString(getString(hash, "lockAtMostForString"))
+                    .maxConcurrency(getInteger(hash, "maxConcurrency"))
+                    .shards(getInteger(hash, "shards"))
+                    .timeout(getString(hash, "timeout"))
+                    .misfirePolicy(getEnum(hash, "misfirePolicy", MisfirePolicy.class))
+                    .jitter(getString(hash, "jitter"))
+                    .lastFireTime(getDateTime(hash, "lastFireTime"))
+                    .build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.error("从Redis解析任务定义时失败: {}", hash.get("id"), e);
+            return null;
+        }
+    }
+
+    private static void putIfNotNull(Map<String, String> hash, String field, Object value) {
+        if (value != null) {
+            hash.put(field, value instanceof Enum<?> e ? e.name() : value.toString());
+        }
+    }
+
+    private static String getString(Map<?, ?> hash, String field) {
+        Object value = hash.get(field);
+        return value != null ? value.toString() : null;
+    }
+
+    private static Integer getInteger(Map<?, ?> hash, String field) {
+        String value = getString(hash, field);
+        return value != null ? Integer.valueOf(value) : null;
+    }
+
+    private static LocalDateTime getDateTime(Map<?, ?> hash, String field) {
+        String value = getString(hash, field);
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+
+    private static <E extends Enum<E>> E getEnum(Map<?, ?> hash, String field, Class<E> enumType) {
+        String value = getString(hash, field);
+        return value != null ? Enum.valueOf(enumType, value) : null;
     }
 
     private String getDefinitionKey(String taskId) {
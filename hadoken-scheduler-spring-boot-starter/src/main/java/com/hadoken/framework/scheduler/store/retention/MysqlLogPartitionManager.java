@@ -0,0 +1,119 @@
+package com.hadoken.framework.scheduler.store.retention;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MySQL 执行日志表的按天分区维护。
+ * <p>
+ * 日志表需预先按天做 RANGE 分区，且包含一个兜底分区 {@value #FUTURE_PARTITION}，例如：
+ * <pre>
+ * CREATE TABLE t_schedule_task_log (
+ *     log_id          VARCHAR(64)  NOT NULL,
+ *     task_id         VARCHAR(255) NOT NULL,
+ *     start_time      DATETIME(3)  NOT NULL,
+ *     duration_millis BIGINT       NOT NULL,
+ *     success         TINYINT(1)   NOT NULL,
+ *     error_message   TEXT,
+ *     instance_id     VARCHAR(255),
+ *     PRIMARY KEY (log_id, start_time),
+ *     KEY idx_task_start_log (task_id, start_time, log_id),
+ *     KEY idx_start (start_time)
+ * ) PARTITION BY RANGE (TO_DAYS(start_time)) (
+ *     PARTITION p_future VALUES LESS THAN MAXVALUE
+ * );
+ * </pre>
+ * 每次维护时从兜底分区中拆出未来若干天的分区（命名为 pyyyyMMdd），
+ * 并直接 DROP 整天都早于保留期的分区，代价与分区中的行数无关。
+ * 表未分区时只打印一次警告，不做任何操作。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/15 10:20
+ */
+@Slf4j
+public class MysqlLogPartitionManager {
+
+    static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+
+    private static final String FIND_PARTITIONS_SQL = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private volatile boolean unpartitionedWarned;
+
+    public MysqlLogPartitionManager(JdbcTemplate jdbcTemplate, String table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+    }
+
+    /**
+     * 预建 [today, today + daysAhead] 的分区，并删除整天早于 cutoff 的分区。
+     *
+     * @param today     当前日期
+     * @param daysAhead 预建未来多少天
+     * @param cutoff    保留期起点，该日期之前的整天分区会被删除
+     */
+    public void maintain(LocalDate today, int daysAhead, LocalDate cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(FIND_PARTITIONS_SQL, String.class, table);
+        if (!partitions.contains(FUTURE_PARTITION)) {
+            if (!unpartitionedWarned) {
+                unpartitionedWarned = true;
+                log.warn("日志表 {} 未按天分区或缺少 {} 分区，跳过分区维护，仅按批次删除过期日志。", table, FUTURE_PARTITION);
+            }
+            return;
+        }
+
+        LocalDate latest = null;
+        List<String> expired = new ArrayList<>();
+        for (String partition : partitions) {
+            LocalDate day = parseDay(partition);
+            if (day == null) {
+                continue;
+            }
+            if (latest == null || day.isAfter(latest)) {
+                latest = day;
+            }
+            // 分区 pD 保存的是 D 当天的日志，D 的次日不晚于 cutoff 时整个分区都已过期
+            if (!day.plusDays(1).isAfter(cutoff)) {
+                expired.add(partition);
+            }
+        }
+
+        LocalDate from = latest != null && !latest.isBefore(today) ? latest.plusDays(1) : today;
+        for (LocalDate day = from; !day.isAfter(today.plusDays(daysAhead)); day = day.plusDays(1)) {
+            addPartition(day);
+        }
+        if (!expired.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + String.join(", ", expired));
+            log.info("已删除日志表 {} 的过期分区: {}", table, expired);
+        }
+    }
+
+    private void addPartition(LocalDate day) {
+        String name = PARTITION_NAME.format(day);
+        jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                "PARTITION " + name + " VALUES LESS THAN (TO_DAYS('" + day.plusDays(1) + "')), " +
+                "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+        log.info("已为日志表 {} 创建分区 {}", table, name);
+    }
+
+    private static LocalDate parseDay(String partition) {
+        if (partition.length() != 9 || partition.charAt(0) != 'p') {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition, PARTITION_NAME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.hadoken.framework.scheduler.store.retention;
+
+import com.hadoken.framework.scheduler.config.HadokenSchedulerProperties;
+import com.hadoken.framework.scheduler.store.TaskLogStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 执行日志保留任务：按固定间隔在后台线程上清理早于保留期的日志。
+ * <p>
+ * 清理通过 {@link TaskLogStore#purgeBefore(LocalDateTime, int)} 分批进行，每批只删除少量行并在批次之间停顿，
+ * 避免长事务和大范围锁影响正常写入；单次清理有批数上限，删不完的留到下一次。
+ * 配置了 {@link MysqlLogPartitionManager} 时先维护分区（预建未来分区、删除整天过期的分区），
+ * 再按批次删除剩余的过期日志。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/15 10:40
+ */
+@Slf4j
+public class TaskLogRetention implements DisposableBean {
+
+    private final TaskLogStore taskLogStore;
+    private final HadokenSchedulerProperties.LogRetention properties;
+    /**
+     * 分区维护，未启用时为 null
+     */
+    private final MysqlLogPartitionManager partitionManager;
+    private final ScheduledExecutorService executor;
+
+    public TaskLogRetention(TaskLogStore taskLogStore, HadokenSchedulerProperties.LogRetention properties,
+                            MysqlLogPartitionManager partitionManager) {
+        this.taskLogStore = taskLogStore;
+        this.properties = properties;
+        this.partitionManager = partitionManager;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("hadoken-task-log-retention-"));
+        long intervalMillis = properties.getPurgeInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::runSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info(">>> 已启用执行日志清理：保留 {}，每 {} 清理一次。", properties.getRetainFor(), properties.getPurgeInterval());
+    }
+
+    /**
+     * 立即执行一次清理。
+     *
+     * @return 本次按批次删除的日志条数（不含整体删除的分区）
+     */
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetainFor());
+        if (partitionManager != null) {
+            try {
+                partitionManager.maintain(LocalDate.now(), properties.getPartitionDaysAhead(), cutoff.toLocalDate());
+            } catch (Exception e) {
+                log.warn("维护执行日志表分区失败，继续按批次删除。", e);
+            }
+        }
+
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long pauseMillis = properties.getBatchPause().toMillis();
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int deleted = taskLogStore.purgeBefore(cutoff, batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+            if (pauseMillis > 0) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        if (total > 0) {
+            log.info("已清理 {} 条早于 {} 的执行日志。", total, cutoff);
+        }
+        return total;
+    }
+
+    private void runSafely() {
+        try {
+            purge();
+        } catch (Exception e) {
+            log.error("清理过期执行日志失败。", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
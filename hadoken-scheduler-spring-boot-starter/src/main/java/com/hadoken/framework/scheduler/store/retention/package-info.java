@@ -0,0 +1,8 @@
+/**
+ * 执行日志保留：定期分批清理过期日志，可选维护 MySQL 按天分区
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/15 10:00
+ */
+package com.hadoken.framework.scheduler.store.retention;
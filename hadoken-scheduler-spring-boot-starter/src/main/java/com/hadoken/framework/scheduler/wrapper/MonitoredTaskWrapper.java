@@ -1,23 +1,35 @@
 package com.hadoken.framework.scheduler.wrapper;
 
+import com.hadoken.framework.scheduler.engine.ExecutionWatchdog;
+import com.hadoken.framework.scheduler.engine.TaskDispatcher;
 import com.hadoken.framework.scheduler.lock.DistributedLockProvider;
+import com.hadoken.framework.scheduler.lock.LockContext;
 import com.hadoken.framework.scheduler.model.ManagedTask;
+import com.hadoken.framework.scheduler.model.ShardContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.convert.DurationStyle;
 import org.springframework.util.StringUtils;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 受监控的任务包装器，是实际被调度器执行的Runnable。
  * 它像一个代理，包装了用户的业务逻辑，并在此基础上实现了：
- * 1. 【并发防护】: 防止同一个任务因执行时间过长而与下一次调度重叠执行。
+ * 1. 【并发防护】: 防止同一个任务因执行时间过长而与下一次调度重叠执行（可通过 maxConcurrency 放宽）。
  * 2. 【生命周期日志】: 自动记录任务开始、成功、失败的日志。
  * 3. 【性能统计】: 精确计时，并在任务执行后更新ManagedTask中的统计数据。
  * 4. 【异常隔离】: 捕获所有运行时异常，防止因业务代码错误导致调度线程中断。
+ * 5. 【执行分发】: 由 {@link TaskDispatcher} 决定业务逻辑在调度线程还是虚拟线程上执行。
+ * 6. 【分片执行】: 分片任务每次触发时并行执行本实例负责的分片，全部成功才记为一次成功执行。
+ * 7. 【超时控制】: 配置了 timeout 的任务由 {@link ExecutionWatchdog} 监视，超时后中断执行线程、提前释放锁并记为失败。
  *
  * @author yanggj
  * @version 1.0.0
@@ -29,36 +41,118 @@ public class MonitoredTaskWrapper implements Runnable {
     private final ManagedTask managedTask;
     // 注入锁提供者
     private final Optional<DistributedLockProvider> lockProviderOpt;
+    private final TaskDispatcher dispatcher;
     /**
-     * 使用原子布尔值作为简单的执行锁。
-     * 当任务开始时，将其设置为true；任务结束时，设置为false。
-     * 如果任务开始时发现其值已为true，则说明上一次执行尚未完成，本次将跳过。
-     * 这对于fixedRate类型的任务尤其重要。
+     * 当前正在执行的次数，作为简单的执行锁。
+     * 任务开始前递增，结束后递减；如果开始时发现已达到 maxConcurrency（默认1），
+     * 则说明上一次执行尚未完成，本次将跳过。这对于fixedRate类型的任务尤其重要。
      */
-    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicInteger running = new AtomicInteger(0);
+    private final Runnable permittedExecution = this::executeWithPermit;
 
-    public MonitoredTaskWrapper(ManagedTask managedTask, Optional<DistributedLockProvider> lockProviderOpt) {
+    public MonitoredTaskWrapper(ManagedTask managedTask, Optional<DistributedLockProvider> lockProviderOpt,
+                                TaskDispatcher dispatcher) {
         this.managedTask = managedTask;
         this.lockProviderOpt = lockProviderOpt;
+        this.dispatcher = dispatcher;
     }
 
     @Override
     public void run() {
+        // 尝试获取执行权，如果已达到并发上限，则直接返回，并打印警告日志。
+        if (!tryAcquirePermit()) {
+            managedTask.recordOverlapSkipped();
+            log.warn("任务 '{}' 仍在运行。为防止重叠，跳过此次执行。",
+                    managedTask.getDefinition().getId());
+            return;
+        }
+        try {
+            // 调度线程只负责分发，加锁、执行、释放都在执行线程上完成
+            dispatcher.dispatch(permittedExecution);
+        } catch (RejectedExecutionException e) {
+            running.decrementAndGet();
+            managedTask.recordRejected();
+            log.warn("任务 '{}' 的执行线程池已满，跳过此次执行。", managedTask.getDefinition().getId());
+        }
+    }
 
-        // [优化] 检查是否需要执行分布式锁逻辑
-        String lockConfig = managedTask.getDefinition().getLockAtMostForString();
-        boolean needsLocking = lockProviderOpt.isPresent() && StringUtils.hasText(lockConfig);
+    /**
+     * 在调用线程上同步执行一次，用于补偿错过的触发，同样受并发上限约束。
+     *
+     * @return false 表示已达到并发上限（上一次执行尚未完成），本次未执行
+     */
+    public boolean runNow() {
+        if (!tryAcquirePermit()) {
+            return false;
+        }
+        executeWithPermit();
+        return true;
+    }
 
-        if (needsLocking) {
-            // 如果配置了分布式锁，则执行锁逻辑
-            executeWithLock(lockConfig);
-        } else {
-            // 未配置分布式锁，执行原始逻辑
-            executeTaskLogic();
+    /**
+     * 当前正在执行的次数。
+     */
+    public int getRunningCount() {
+        return running.get();
+    }
+
+    private boolean tryAcquirePermit() {
+        int limit = managedTask.getMaxConcurrency();
+        for (; ; ) {
+            int current = running.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (running.compareAndSet(current, current + 1)) {
+                return true;
+            }
         }
     }
 
-    private void executeWithLock(String lockConfig) {
+    private void executeWithPermit() {
+        // 全局启动限速：超出速率时在此等待，等待时间不计入超时
+        dispatcher.awaitStartPermit();
+        // 看门狗可能在 markStarted 之前触发（例如等待分布式锁时），超时日志使用这里记录的开始时间
+        LocalDateTime watchStartTime = LocalDateTime.now();
+        long watchStartNanos = System.nanoTime();
+        ExecutionWatchdog.Execution execution = dispatcher.watch(managedTask.getDefinition().getId(),
+                managedTask.getTimeout(), timedOut -> onTimeout(timedOut, watchStartTime, watchStartNanos));
+        execution.attach(Thread.currentThread());
+        try {
+            // [优化] 检查是否需要执行分布式锁逻辑
+            String lockConfig = managedTask.getDefinition().getLockAtMostForString();
+            boolean needsLocking = lockProviderOpt.isPresent() && StringUtils.hasText(lockConfig);
+
+            if (managedTask.getShardCount() > 1) {
+                // 分片任务按分片分别加锁
+                executeSharded(execution, needsLocking ? lockConfig : null);
+            } else if (needsLocking) {
+                // 如果配置了分布式锁，则执行锁逻辑
+                executeWithLock(execution, lockConfig);
+            } else {
+                // 未配置分布式锁，执行原始逻辑
+                executeTaskLogic(execution);
+            }
+        } finally {
+            execution.detach(Thread.currentThread());
+            // 无论成功还是失败，最终都必须释放执行权，以便下一次可以正常调度；已超时的执行由看门狗释放。
+            if (execution.complete()) {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 看门狗判定超时：立即释放执行权并记为失败，挂起的执行线程之后返回时不会再次统计。
+     */
+    private void onTimeout(ExecutionWatchdog.Execution execution, LocalDateTime watchStartTime, long watchStartNanos) {
+        running.decrementAndGet();
+        managedTask.recordTimeout();
+        managedTask.updateOnFailure(watchStartTime, Duration.ofNanos(System.nanoTime() - watchStartNanos),
+                new TimeoutException("任务执行超过 " + execution.getTimeout()));
+    }
+
+    private void executeWithLock(ExecutionWatchdog.Execution execution, String lockConfig) {
         DistributedLockProvider lockProvider = lockProviderOpt.get();
         String taskId = managedTask.getDefinition().getId();
         try {
@@ -67,11 +161,15 @@ public class MonitoredTaskWrapper implements Runnable {
             if (lockOpt.isPresent()) {
                 // 成功获取锁，使用try-with-resources确保锁被释放
                 try (DistributedLockProvider.Lock lock = lockOpt.get()) {
-                    log.debug("已获取任务 '{}' 的锁。正在执行...", taskId);
-                    executeTaskLogic();
+                    // 超时后由看门狗提前释放
+                    execution.register(lock);
+                    log.debug("已获取任务 '{}' 的锁（防护令牌 {}）。正在执行...", taskId, lock.getFencingToken());
+                    // 执行期间业务代码可通过 LockContext 读取防护令牌
+                    LockContext.runWith(lock, () -> executeTaskLogic(execution));
                 }
             } else {
                 // 未获取到锁，说明其他节点正在执行
+                managedTask.recordLockMissed();
                 log.debug("无法获取任务 '{}' 的锁。跳过执行。", taskId);
             }
         } catch (Exception e) {
@@ -80,49 +178,133 @@ public class MonitoredTaskWrapper implements Runnable {
     }
 
     /**
-     * 将原始的任务执行、监控、统计逻辑封装到一个方法中
+     * 并行执行本实例负责的所有分片，并把它们作为一次执行进行统计。
+     * 集群模式下分片按一致性哈希分配给各实例；配置了分布式锁时每个分片单独加锁，
+     * 未获取到锁的分片由其他实例执行。本次没有任何分片实际执行时不计入统计。
+     *
+     * @param lockConfig 分布式锁最长持有时间，为 null 时不加锁
      */
-    private void executeTaskLogic() {
-        // 尝试获取执行权，如果当前已经在运行，则直接返回，并打印警告日志。
-        if (!running.compareAndSet(false, true)) {
-            log.warn("任务 '{}' 仍在运行。为防止重叠，跳过此次执行。",
-                    managedTask.getDefinition().getId());
+    private void executeSharded(ExecutionWatchdog.Execution execution, String lockConfig) {
+        String taskId = managedTask.getDefinition().getId();
+        int total = managedTask.getShardCount();
+        List<Runnable> shardRuns = new ArrayList<>(total);
+        AtomicInteger executed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        for (int index = 0; index < total; index++) {
+            if (managedTask.isShardOwnedLocally(index)) {
+                ShardContext shard = new ShardContext(index, total);
+                shardRuns.add(() -> executeShard(execution, shard, lockConfig, executed, failed, firstFailure));
+            }
+        }
+        if (shardRuns.isEmpty()) {
+            log.debug("任务 '{}' 的 {} 个分片均不由本实例负责，跳过此次执行。", taskId, total);
             return;
         }
 
+        LocalDateTime startTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        managedTask.markStarted(startTime);
+        log.info("任务 '{}' 开始执行，本实例负责 {}/{} 个分片...", taskId, shardRuns.size(), total);
+
+        dispatcher.invokeAll(shardRuns);
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        Throwable failure = firstFailure.get();
+        if ((failure != null || executed.get() > 0) && !execution.complete()) {
+            log.debug("任务 '{}' 已因超时记为失败，忽略分片的迟到结果。", taskId);
+        } else if (failure != null) {
+            log.error("任务 '{}' 执行失败：本实例负责的 {} 个分片中有 {} 个失败。", taskId, shardRuns.size(), failed.get());
+            managedTask.updateOnFailure(startTime, duration, failure);
+        } else if (executed.get() > 0) {
+            log.info("任务 '{}' 的 {} 个分片在 {}ms 内全部成功完成执行。", taskId, executed.get(), duration.toMillis());
+            managedTask.updateOnSuccess(startTime, duration);
+        } else {
+            log.debug("任务 '{}' 的分片均由其他节点执行，本次不计入统计。", taskId);
+        }
+    }
+
+    private void executeShard(ExecutionWatchdog.Execution execution, ShardContext shard, String lockConfig,
+                              AtomicInteger executed, AtomicInteger failed, AtomicReference<Throwable> firstFailure) {
+        String taskId = managedTask.getDefinition().getId();
+        Runnable shardLogic = () -> {
+            executed.incrementAndGet();
+            ShardContext.runWith(shard, managedTask.getOriginalRunnable());
+        };
+        Thread current = Thread.currentThread();
+        execution.attach(current);
+        try {
+            if (lockConfig == null) {
+                shardLogic.run();
+                return;
+            }
+            Duration lockAtMostFor = DurationStyle.detectAndParse(lockConfig);
+            Optional<DistributedLockProvider.Lock> lockOpt =
+                    lockProviderOpt.get().tryLock(ShardContext.key(taskId, shard.index()), lockAtMostFor);
+            if (lockOpt.isEmpty()) {
+                managedTask.recordLockMissed();
+                log.debug("无法获取任务 '{}' 分片 {} 的锁。跳过该分片。", taskId, shard.index());
+                return;
+            }
+            try (DistributedLockProvider.Lock lock = lockOpt.get()) {
+                execution.register(lock);
+                LockContext.runWith(lock, shardLogic);
+            }
+        } catch (Throwable t) {
+            failed.incrementAndGet();
+            firstFailure.compareAndSet(null, t);
+            log.error("任务 '{}' 的分片 {}/{} 执行失败。", taskId, shard.index(), shard.total(), t);
+        } finally {
+            execution.detach(current);
+        }
+    }
+
+    /**
+     * 将原始的任务执行、监控、统计逻辑封装到一个方法中
+     */
+    private void executeTaskLogic(ExecutionWatchdog.Execution execution) {
         LocalDateTime startTime = null;
+        long startNanos = 0L;
         try {
             startTime = LocalDateTime.now();
-            // 在执行前，更新ManagedTask中的“上次执行时间”
-            managedTask.setLastExecutionTime(startTime);
+            startNanos = System.nanoTime();
+            // 在执行前，更新ManagedTask中的“上次执行时间”并通知监听器
+            managedTask.markStarted(startTime);
 
             log.info("任务 '{}' 开始执行...", managedTask.getDefinition().getId());
 
             // 核心：执行用户定义的原始业务逻辑
             managedTask.getOriginalRunnable().run();
 
-            // 任务成功执行
-            Duration duration = Duration.between(startTime, LocalDateTime.now());
+            // 任务成功执行，使用单调时钟计时，精确到纳秒
+            Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+            if (!execution.complete()) {
+                log.warn("任务 '{}' 在超时后才完成（{}ms），本次已记为失败。",
+                        managedTask.getDefinition().getId(), duration.toMillis());
+                return;
+            }
             log.info("任务 '{}' 在 {}ms 内成功完成执行。",
                     managedTask.getDefinition().getId(), duration.toMillis());
 
             // 更新统计信息
-            managedTask.updateOnSuccess(duration);
+            managedTask.updateOnSuccess(startTime, duration);
 
         } catch (Throwable t) {
+            if (execution.isTimedOut()) {
+                // 超时已记为失败，这里通常是业务代码响应中断后抛出的异常
+                log.warn("任务 '{}' 超时后已终止：{}", managedTask.getDefinition().getId(), t.toString());
+                return;
+            }
             // 任务执行失败
             log.error("任务 '{}' 执行失败.", managedTask.getDefinition().getId(), t);
 
-            if (startTime != null) {
-                Duration duration = Duration.between(startTime, LocalDateTime.now());
+            if (startTime != null && execution.complete()) {
+                Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
                 // 更新统计信息
-                managedTask.updateOnFailure(duration, t);
+                managedTask.updateOnFailure(startTime, duration, t);
             }
 
-        } finally {
-            // 无论成功还是失败，最终都必须释放锁，以便下一次可以正常调度。
-            running.set(false);
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+-- ============================================================================
+-- hadoken-scheduler 数据库升级脚本（MySQL）
+--
+-- 使用 JDBC / MYBATIS 存储时，升级到包含对应功能的版本前，按顺序执行尚未执行过的部分。
+-- 表名为默认值，通过 hadoken.scheduler.store.jdbc.* / hadoken.scheduler.store.mybatis.* 自定义过表名时请替换为实际表名。
+-- 新增列均允许为 NULL，为 NULL 时保持升级前的行为。
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- 任务级并发上限：同一任务允许同时执行的最大次数，NULL 视为 1
+-- ----------------------------------------------------------------------------
+ALTER TABLE t_schedule_task_definition
+    ADD COLUMN max_concurrency INT NULL COMMENT '同一任务允许同时执行的最大次数，NULL 视为 1';
+
+-- ----------------------------------------------------------------------------
+-- 集群模式（hadoken.scheduler.cluster.enabled=true）：实例心跳表与任务变更表
+-- 集群模式下总是启用实例间变更通知，因此两张表都需要
+-- ----------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS t_schedule_instance
+(
+    instance_id      VARCHAR(255) NOT NULL COMMENT '实例ID',
+    heartbeat_millis BIGINT       NOT NULL COMMENT '心跳过期时间戳（毫秒）',
+    PRIMARY KEY (instance_id)
+) COMMENT '调度集群实例';
+
+CREATE TABLE IF NOT EXISTS t_schedule_task_change
+(
+    seq            BIGINT       NOT NULL AUTO_INCREMENT,
+    task_id        VARCHAR(255) NOT NULL COMMENT '任务ID',
+    change_type    VARCHAR(32)  NOT NULL COMMENT 'STATUS / DEFINITION / DELETED',
+    status         VARCHAR(32)  NULL COMMENT '变更后的状态，仅 STATUS 类型有值',
+    instance_id    VARCHAR(255) NOT NULL COMMENT '发出变更的实例ID',
+    created_millis BIGINT       NOT NULL COMMENT '创建时间戳（毫秒），用于清理过期记录',
+    PRIMARY KEY (seq),
+    KEY idx_created_millis (created_millis)
+) COMMENT '调度任务变更通知';
+
+-- ----------------------------------------------------------------------------
+-- 分片执行：每次触发拆分的分片数，NULL 或不大于 1 时不分片
+-- ----------------------------------------------------------------------------
+ALTER TABLE t_schedule_task_definition
+    ADD COLUMN shards INT NULL COMMENT '分片数，NULL 或不大于 1 时不分片';
+
+-- ----------------------------------------------------------------------------
+-- 执行超时：单次执行的超时时间（如 30s、PT5M），NULL 时不限制
+-- ----------------------------------------------------------------------------
+ALTER TABLE t_schedule_task_definition
+    ADD COLUMN timeout VARCHAR(64) NULL COMMENT '单次执行超时时间，NULL 时不限制';
+
+-- ----------------------------------------------------------------------------
+-- 错过触发补偿：补偿策略与最近一次计划触发时间
+-- ----------------------------------------------------------------------------
+ALTER TABLE t_schedule_task_definition
+    ADD COLUMN misfire_policy VARCHAR(32) NULL COMMENT '错过触发的补偿策略，NULL 视为 SKIP',
+    ADD COLUMN last_fire_time DATETIME(3) NULL COMMENT '最近一次计划触发时间，用于检测错过的触发';
+
+-- ----------------------------------------------------------------------------
+-- 执行日志分页：按 (start_time, log_id) 复合游标翻页（keyset），需要对应的联合索引
+-- 建好后原有的 (task_id, start_time) 索引可以删除
+-- ----------------------------------------------------------------------------
+CREATE INDEX idx_task_start_log ON t_schedule_task_log (task_id, start_time, log_id);
+
+-- ----------------------------------------------------------------------------
+-- 触发抖动：抖动窗口（如 10s），NULL 时不抖动
+-- ----------------------------------------------------------------------------
+ALTER TABLE t_schedule_task_definition
+    ADD COLUMN jitter VARCHAR(64) NULL COMMENT '触发抖动窗口，NULL 时不抖动';
+
+-- ----------------------------------------------------------------------------
+-- 执行统计（hadoken.scheduler.stats.enabled=true）：每个任务每分钟一行的预聚合统计
+-- JDBC / MYBATIS 存储都使用这张表，bin0 ~ bin7 为耗时分布直方图的各个桶
+-- ----------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS t_schedule_task_stats
+(
+    task_id             VARCHAR(255) NOT NULL COMMENT '任务ID',
+    bucket_time         DATETIME     NOT NULL COMMENT '统计分钟',
+    exec_count          BIGINT       NOT NULL COMMENT '执行次数',
+    failure_count       BIGINT       NOT NULL COMMENT '失败次数',
+    duration_sum_millis BIGINT       NOT NULL COMMENT '耗时总和（毫秒）',
+    duration_min_millis BIGINT       NOT NULL COMMENT '最小耗时（毫秒）',
+    duration_max_millis BIGINT       NOT NULL COMMENT '最大耗时（毫秒）',
+    bin0                BIGINT       NOT NULL,
+    bin1                BIGINT       NOT NULL,
+    bin2                BIGINT       NOT NULL,
+    bin3                BIGINT       NOT NULL,
+    bin4                BIGINT       NOT NULL,
+    bin5                BIGINT       NOT NULL,
+    bin6                BIGINT       NOT NULL,
+    bin7                BIGINT       NOT NULL,
+    PRIMARY KEY (task_id, bucket_time),
+    KEY idx_bucket_time (bucket_time)
+) COMMENT '调度任务执行统计（按分钟）';
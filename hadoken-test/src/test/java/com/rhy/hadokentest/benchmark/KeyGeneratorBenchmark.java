@@ -0,0 +1,124 @@
+package com.rhy.hadokentest.benchmark;
+
+import cn.hutool.core.util.CharUtil;
+import cn.hutool.json.JSONUtil;
+import com.hadoken.framework.redis.cache.HashingKeyGenerator;
+import lombok.Data;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.interceptor.KeyGenerator;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存 key 生成基准测试：对比 murmur3 哈希的 HashingKeyGenerator 与原先 JSON + SHA-256 的实现。
+ * <p>
+ * 分别以简单参数（Long、String）和查询条件对象作为方法参数，测量单次生成 key 的耗时；
+ * 追加 {@code -prof gc} 可观察每次生成 key 的内存分配量。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/23 14:10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyGeneratorBenchmark {
+
+    @Param({"murmur3", "murmur3Readable", "legacy"})
+    private String generatorType;
+
+    @Param({"scalar", "query"})
+    private String argumentType;
+
+    private KeyGenerator keyGenerator;
+    private UserService target;
+    private Method method;
+    private Object[] params;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        keyGenerator = switch (generatorType) {
+            case "murmur3" -> new HashingKeyGenerator(false);
+            case "murmur3Readable" -> new HashingKeyGenerator(true);
+            default -> KeyGeneratorBenchmark::legacyGenerate;
+        };
+        target = new UserService();
+        if ("scalar".equals(argumentType)) {
+            method = UserService.class.getMethod("findUser", Long.class, String.class);
+            params = new Object[]{10086L, "hadoken"};
+        } else {
+            UserQuery query = new UserQuery();
+            query.setDeptId(42L);
+            query.setName("hadoken");
+            query.setCreatedAfter(LocalDate.of(2025, 1, 1));
+            query.setRoles(List.of("admin", "ops"));
+            method = UserService.class.getMethod("search", UserQuery.class, int.class, int.class);
+            params = new Object[]{query, 1, 20};
+        }
+    }
+
+    @Benchmark
+    public Object generate() {
+        return keyGenerator.generate(target, method, params);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(KeyGeneratorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * 改为 HashingKeyGenerator 之前的 key 生成逻辑，仅作为基准对照。
+     */
+    private static Object legacyGenerate(Object target, Method method, Object... params) {
+        Map<String, Object> container = new HashMap<>(3);
+        Class<?> targetClassClass = target.getClass();
+        container.put("class", targetClassClass.toGenericString());
+        container.put("methodName", method.getName());
+        container.put("package", targetClassClass.getPackage());
+        for (int i = 0; i < params.length; i++) {
+            container.put(String.valueOf(i), params[i]);
+        }
+        String jsonString = JSONUtil.toJsonStr(container);
+        return targetClassClass.getSimpleName()
+                + CharUtil.COLON
+                + method.getName()
+                + CharUtil.COLON
+                + DigestUtils.sha256Hex(jsonString);
+    }
+
+    public static class UserService {
+
+        public Object findUser(Long id, String tenant) {
+            return null;
+        }
+
+        public Object search(UserQuery query, int pageNo, int pageSize) {
+            return null;
+        }
+    }
+
+    @Data
+    public static class UserQuery {
+
+        private Long deptId;
+        private String name;
+        private LocalDate createdAfter;
+        private List<String> roles;
+    }
+}
@@ -0,0 +1,120 @@
+package com.rhy.hadokentest.benchmark;
+
+import com.hadoken.framework.scheduler.model.TaskExecutionLog;
+import com.hadoken.framework.scheduler.store.TaskLogStore;
+import com.hadoken.framework.scheduler.store.memory.InMemoryTaskLogStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存日志存储基准测试：对比环形缓冲实现与原先基于 ConcurrentLinkedQueue 的实现。
+ * <p>
+ * 预先为 {@code taskCount} 个任务写满 100 条日志，随后多线程并发写入并读取最近的 20 条日志。
+ * 追加 {@code -prof gc} 可观察每次写入的内存分配（队列实现每次追加都会分配一个链表节点）。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/23 11:20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskLogStoreBenchmark {
+
+    private static final int RETENTION_SIZE = 100;
+    private static final int QUERY_SIZE = 20;
+
+    @Param({"ring", "queue"})
+    private String storeType;
+
+    @Param({"100"})
+    private int taskCount;
+
+    private TaskLogStore store;
+    private String[] taskIds;
+    private TaskExecutionLog[] samples;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = "ring".equals(storeType) ? new InMemoryTaskLogStore(RETENTION_SIZE) : new QueueTaskLogStore();
+        taskIds = new String[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            taskIds[i] = "task-" + i;
+        }
+        // 预生成日志对象，避免把日志构造本身的开销计入结果
+        LocalDateTime now = LocalDateTime.now();
+        samples = new TaskExecutionLog[1024];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = new TaskExecutionLog(now.plusNanos(i * 1000L), Duration.ofMillis(i % 50), i % 10 != 0,
+                    null, "bench-node", UUID.randomUUID().toString());
+        }
+        for (String taskId : taskIds) {
+            for (int i = 0; i < RETENTION_SIZE; i++) {
+                store.save(taskId, samples[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void save() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        store.save(taskIds[random.nextInt(taskIds.length)], samples[random.nextInt(samples.length)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<TaskExecutionLog> findRecent() {
+        return store.findRecent(taskIds[ThreadLocalRandom.current().nextInt(taskIds.length)], QUERY_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TaskLogStoreBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * 改为环形缓冲之前的实现，仅作为基准对照。
+     */
+    static class QueueTaskLogStore implements TaskLogStore {
+
+        private final ConcurrentMap<String, Queue<TaskExecutionLog>> logRegistry = new ConcurrentHashMap<>();
+
+        @Override
+        public void save(String taskId, TaskExecutionLog log) {
+            Queue<TaskExecutionLog> logs = logRegistry.computeIfAbsent(taskId, k -> new ConcurrentLinkedQueue<>());
+            if (logs.size() >= RETENTION_SIZE) {
+                logs.poll();
+            }
+            logs.offer(log);
+        }
+
+        @Override
+        public List<TaskExecutionLog> findRecent(String taskId, int size) {
+            Queue<TaskExecutionLog> logs = logRegistry.get(taskId);
+            if (logs == null) {
+                return Collections.emptyList();
+            }
+            List<TaskExecutionLog> logList = new ArrayList<>(logs);
+            logList.sort(Comparator.comparing(TaskExecutionLog::startTime).reversed());
+            return logList.stream().limit(size).toList();
+        }
+    }
+}
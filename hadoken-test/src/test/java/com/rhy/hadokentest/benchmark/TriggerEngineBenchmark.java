@@ -0,0 +1,96 @@
+package com.rhy.hadokentest.benchmark;
+
+import com.hadoken.framework.scheduler.engine.TaskSchedulerTriggerEngine;
+import com.hadoken.framework.scheduler.engine.TimingWheelTriggerEngine;
+import com.hadoken.framework.scheduler.engine.TriggerEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 触发引擎基准测试：对比时间轮引擎与 ThreadPoolTaskScheduler 引擎批量注册、取消任务的开销。
+ * <p>
+ * 每次调用注册 {@code taskCount} 个 cron 任务后再全部取消，cron 表达式为每年一次，测试期间不会真正触发。
+ * 结果为单次调用的平均耗时，除以 taskCount 即单个任务的注册+取消成本；
+ * 追加 {@code -prof gc} 可同时观察每个任务的内存分配量。
+ *
+ * @author yanggj
+ * @version 1.0.0
+ * Created on 2025/9/23 10:05
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TriggerEngineBenchmark {
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    @Param({"10000", "100000"})
+    private int taskCount;
+
+    @Param({"timingWheel", "taskScheduler"})
+    private String engineType;
+
+    private TriggerEngine engine;
+    private ThreadPoolTaskScheduler taskScheduler;
+    private Trigger trigger;
+    private ScheduledFuture<?>[] futures;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trigger = new CronTrigger("0 0 0 1 1 ?");
+        futures = new ScheduledFuture<?>[taskCount];
+        if ("timingWheel".equals(engineType)) {
+            engine = new TimingWheelTriggerEngine(Duration.ofMillis(100), 512, 4, 2);
+        } else {
+            taskScheduler = new ThreadPoolTaskScheduler();
+            taskScheduler.setPoolSize(2);
+            // 取消后立即从 DelayedWorkQueue 中移除，避免已取消任务在迭代之间堆积
+            taskScheduler.setRemoveOnCancelPolicy(true);
+            taskScheduler.initialize();
+            engine = new TaskSchedulerTriggerEngine(taskScheduler);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (engine instanceof TimingWheelTriggerEngine timingWheel) {
+            timingWheel.destroy();
+        }
+        if (taskScheduler != null) {
+            taskScheduler.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void scheduleAndCancel(Blackhole blackhole) {
+        for (int i = 0; i < taskCount; i++) {
+            futures[i] = engine.schedule(NOOP, trigger);
+        }
+        for (int i = 0; i < taskCount; i++) {
+            blackhole.consume(futures[i].cancel(false));
+            futures[i] = null;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TriggerEngineBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}